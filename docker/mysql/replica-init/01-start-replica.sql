@@ -0,0 +1,10 @@
+-- mysql 서비스를 source 로 GTID 자동 위치 복제 시작
+-- (최초 컨테이너 생성 시에만 실행, 로컬 테스트용 root 계정 사용)
+CHANGE REPLICATION SOURCE TO
+    SOURCE_HOST = 'mysql',
+    SOURCE_PORT = 3306,
+    SOURCE_USER = 'root',
+    SOURCE_PASSWORD = 'password',
+    SOURCE_AUTO_POSITION = 1,
+    GET_SOURCE_PUBLIC_KEY = 1;
+START REPLICA;
@@ -0,0 +1,38 @@
+package com.settlement.batch.dto;
+
+import com.settlement.enums.SellerGrade;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SellerAggregation 생성 벤치마크
+ * 페이징 Reader 의 RowMapper 는 등급 문자열(SellerGrade.valueOf)로, 스트리밍 Reader 는 enum 으로 생성한다
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SellerAggregationBenchmark {
+
+    private static final String[] GRADE_NAMES = {"BRONZE", "SILVER", "GOLD", "PLATINUM"};
+    private static final SellerGrade[] GRADES = SellerGrade.values();
+
+    private long sellerId;
+
+    @Benchmark
+    public SellerAggregation fromGradeName() {
+        long id = ++sellerId;
+        return new SellerAggregation(id, GRADE_NAMES[(int) (id & 3)], id * 123_456L, 12, 34);
+    }
+
+    @Benchmark
+    public SellerAggregation fromGrade() {
+        long id = ++sellerId;
+        return new SellerAggregation(id, GRADES[(int) (id & 3)], id * 123_456L, 12, 34);
+    }
+}
@@ -0,0 +1,45 @@
+package com.settlement.batch.processor;
+
+import com.settlement.batch.dto.SellerAggregation;
+import com.settlement.domain.Settlement.Settlement;
+import com.settlement.enums.SellerGrade;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SettlementProcessor.process 벤치마크
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SettlementProcessorBenchmark {
+
+    private static final int SIZE = 1024;
+
+    private SettlementProcessor processor;
+    private SellerAggregation[] aggregations;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        processor = new SettlementProcessor("2024-01-15");
+        aggregations = new SellerAggregation[SIZE];
+        SellerGrade[] grades = SellerGrade.values();
+        for (int i = 0; i < SIZE; i++) {
+            aggregations[i] = new SellerAggregation(i + 1, grades[i % grades.length],
+                    1_000_00L + i * 7_919L, 1 + i % 50, 1 + i % 120);
+        }
+    }
+
+    @Benchmark
+    public Settlement process() throws Exception {
+        return processor.process(aggregations[index++ & (SIZE - 1)]);
+    }
+}
@@ -0,0 +1,70 @@
+package com.settlement.batch.writer;
+
+import com.settlement.domain.Settlement.Settlement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SettlementWriter 의 INSERT / UPDATE 분류 벤치마크
+ * 합성 chunk 중 updateRatio 비율의 판매자가 이미 정산 데이터를 가지고 있다고 가정한다
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SettlementWriterBenchmark {
+
+    private static final LocalDate SETTLEMENT_DATE = LocalDate.of(2024, 1, 15);
+
+    @Param({"100", "1000"})
+    private int chunkSize;
+
+    @Param({"0.0", "0.5", "1.0"})
+    private double updateRatio;
+
+    private final SettlementWriter writer = new SettlementWriter(null, null);
+    private List<Settlement> chunk;
+    private Map<Long, Settlement> existingMap;
+
+    @Setup
+    public void setUp() {
+        chunk = new ArrayList<>(chunkSize);
+        existingMap = new HashMap<>();
+        int updateCount = (int) (chunkSize * updateRatio);
+        for (int i = 0; i < chunkSize; i++) {
+            long sellerId = i + 1;
+            chunk.add(settlement(sellerId, 2_000_00L + i));
+            if (i < updateCount) {
+                existingMap.put(sellerId, settlement(sellerId, 1_000_00L + i));
+            }
+        }
+    }
+
+    @Benchmark
+    public SettlementWriter.UpsertPlan classify() {
+        return writer.classify(chunk, existingMap);
+    }
+
+    private static Settlement settlement(long sellerId, long totalSales) {
+        return Settlement.builder()
+                .sellerId(sellerId)
+                .settlementDate(SETTLEMENT_DATE)
+                .totalSales(totalSales)
+                .commissionRate(1000)
+                .orderCount(3)
+                .itemCount(7)
+                .build();
+    }
+}
@@ -0,0 +1,46 @@
+package com.settlement.domain.Settlement;
+
+import com.settlement.common.money.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Settlement 빌더 / 수수료 계산 벤치마크
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SettlementBuilderBenchmark {
+
+    private static final LocalDate SETTLEMENT_DATE = LocalDate.of(2024, 1, 15);
+    private static final int[] RATES = {1500, 1200, 1000, 800};
+
+    private long totalSales = 1_000_00L;
+    private int index;
+
+    @Benchmark
+    public Settlement build() {
+        int i = index++;
+        return Settlement.builder()
+                .sellerId((long) i)
+                .settlementDate(SETTLEMENT_DATE)
+                .totalSales(totalSales + i)
+                .commissionRate(RATES[i & 3])
+                .orderCount(12)
+                .itemCount(34)
+                .build();
+    }
+
+    @Benchmark
+    public long applyRate() {
+        int i = index++;
+        return Money.applyRate(totalSales + i, RATES[i & 3]);
+    }
+}
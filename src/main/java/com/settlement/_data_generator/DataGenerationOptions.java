@@ -0,0 +1,72 @@
+package com.settlement._data_generator;
+
+import org.springframework.boot.ApplicationArguments;
+
+/**
+ * 테스트 데이터 생성 옵션
+ *
+ * @param sellers       판매자 수
+ * @param items         생성할 주문상품 수
+ * @param days          주문일 분포 기간 (어제부터 과거로 days 일)
+ * @param itemsPerOrder 주문당 주문상품 수
+ * @param workers       주문 생성 워커 수 (워커마다 커넥션 1개 사용, 기본값은 CPU 수와 커넥션 풀 크기 중 작은 쪽)
+ * @param seed          난수 시드 (같은 시드와 워커 수면 같은 데이터)
+ */
+public record DataGenerationOptions(int sellers, long items, int days, int itemsPerOrder,
+                                    int workers, long seed) {
+
+    public static final int DEFAULT_SELLERS = 1_000;
+    public static final long DEFAULT_ITEMS = 10_000_000L;
+    public static final int DEFAULT_DAYS = 1;
+    public static final int DEFAULT_ITEMS_PER_ORDER = 4;
+    public static final long DEFAULT_SEED = 42L;
+
+    public DataGenerationOptions {
+        if (sellers < 1 || items < 1 || days < 1 || itemsPerOrder < 1 || workers < 1) {
+            throw new IllegalArgumentException("데이터 생성 옵션은 1 이상이어야 합니다: " + this);
+        }
+    }
+
+    public static DataGenerationOptions defaults() {
+        return new DataGenerationOptions(DEFAULT_SELLERS, DEFAULT_ITEMS, DEFAULT_DAYS,
+                DEFAULT_ITEMS_PER_ORDER, Runtime.getRuntime().availableProcessors(), DEFAULT_SEED);
+    }
+
+    /**
+     * 명령행 옵션으로 생성 (--sellers, --items, --days, --items-per-order, --workers, --seed)
+     *
+     * @param maxWorkers 동시에 쓸 수 있는 커넥션 수 (이보다 많은 워커는 커넥션을 기다리다 실패하므로 거부한다)
+     */
+    public static DataGenerationOptions from(ApplicationArguments args, int maxWorkers) {
+        DataGenerationOptions defaults = defaults();
+        int workers = intOption(args, "workers", Math.min(defaults.workers(), maxWorkers));
+        if (workers > maxWorkers) {
+            throw new IllegalArgumentException("--workers 는 커넥션 풀 크기(" + maxWorkers + ") 이하여야 합니다: " + workers);
+        }
+        return new DataGenerationOptions(
+                intOption(args, "sellers", defaults.sellers()),
+                longOption(args, "items", defaults.items()),
+                intOption(args, "days", defaults.days()),
+                intOption(args, "items-per-order", defaults.itemsPerOrder()),
+                workers,
+                longOption(args, "seed", defaults.seed()));
+    }
+
+    public long orders() {
+        return (items + itemsPerOrder - 1) / itemsPerOrder;
+    }
+
+    private static int intOption(ApplicationArguments args, String name, int defaultValue) {
+        long value = longOption(args, name, defaultValue);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("--" + name + " 값이 int 범위를 넘습니다: " + value);
+        }
+        return (int) value;
+    }
+
+    private static long longOption(ApplicationArguments args, String name, long defaultValue) {
+        return args.containsOption(name)
+                ? Long.parseLong(args.getOptionValues(name).get(0))
+                : defaultValue;
+    }
+}
@@ -6,6 +6,13 @@ import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.stereotype.Component;
 
+/**
+ * 테스트 데이터 생성 실행기
+ *
+ * 옵션:
+ * --generate-data [--clear] [--mode=sellers|products|orders|all]
+ * --sellers=1000 --items=10000000 --days=1 --items-per-order=4 --workers=CPU 수(커넥션 풀 크기 이하) --seed=42
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
@@ -32,11 +39,14 @@ public class DataGeneratorRunner implements ApplicationRunner {
                     ? args.getOptionValues("mode").get(0)
                     : "all";
 
+            DataGenerationOptions options = DataGenerationOptions.from(args, testDataGenerator.maxWorkers());
+            log.info("데이터 생성 옵션: {}", options);
+
             switch (mode) {
-                case "sellers" -> testDataGenerator.generateSellers();
-                case "products" -> testDataGenerator.generateProducts();
-                case "orders" -> testDataGenerator.generateOrdersAndItems();
-                case "all" -> testDataGenerator.generateAll();
+                case "sellers" -> testDataGenerator.generateSellers(options);
+                case "products" -> testDataGenerator.generateProducts(options);
+                case "orders" -> testDataGenerator.generateOrdersAndItems(options);
+                case "all" -> testDataGenerator.generateAll(options);
                 default -> log.warn("알 수 없는 모드: {}. 사용 가능: sellers, products, orders, all", mode);
             }
 
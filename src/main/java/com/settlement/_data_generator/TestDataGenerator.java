@@ -1,8 +1,10 @@
 package com.settlement._data_generator;
 
+import com.settlement.common.money.Money;
 import com.settlement.enums.OrderStatus;
 import com.settlement.enums.ProductStatus;
 import com.settlement.enums.SellerGrade;
+import com.zaxxer.hikari.HikariDataSource;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -13,13 +15,27 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.sql.Statement;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
-
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 테스트 데이터 생성기
+ *
+ * 주문/주문상품은 워커마다 독립 커넥션과 SplittableRandom 에서 분할한 난수 스트림으로 생성한다.
+ * 각 워커는 MAX(orders.id) + 1 부터 이어지는 주문 ID 블록을 명시적으로 할당받으므로
+ * auto increment 값에 의존하지 않고, 같은 시드와 워커 수면 같은 데이터가 생성된다.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
@@ -28,33 +44,75 @@ public class TestDataGenerator {
     private final DataSource dataSource;
     private final JdbcTemplate jdbcTemplate;
 
-    private static final int SELLER_COUNT = 1_000;
     private static final int PRODUCTS_PER_SELLER = 50;
-    private static final int TOTAL_PRODUCTS = SELLER_COUNT * PRODUCTS_PER_SELLER; // 50,000
-    private static final int TOTAL_ORDER_ITEMS = 10_000_000;
-    private static final int ITEMS_PER_ORDER = 4; // 평균
-    private static final int TOTAL_ORDERS = TOTAL_ORDER_ITEMS / ITEMS_PER_ORDER; // 2,500,000
 
     private static final int BATCH_SIZE = 5_000;
+    private static final long PROGRESS_LOG_INTERVAL = 500_000;
     private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
-    private final Random random = new Random(42); // 재현 가능한 시드
+    /**
+     * 생성한 주문 ID 범위의 정산 대상 주문을 하루치씩 seller_daily_sales 에 더한다
+     * (직접 INSERT 한 주문은 상태 변경 이벤트를 거치지 않아 롤업 증분 갱신이 일어나지 않는다)
+     */
+    private static final String ROLLUP_SQL = """
+            INSERT INTO seller_daily_sales (seller_id, sales_date, total_sales, order_count, item_count)
+            SELECT oi.seller_id, ?, SUM(oi.total_price), COUNT(DISTINCT oi.order_id), COUNT(oi.id)
+            FROM orders o
+            JOIN order_items oi ON oi.order_id = o.id
+            WHERE o.ordered_at >= ?
+              AND o.ordered_at < ?
+              AND o.id BETWEEN ? AND ?
+              AND o.status IN ('DELIVERED', 'SHIPPED', 'PAID')
+            GROUP BY oi.seller_id
+            ON DUPLICATE KEY UPDATE
+                total_sales = seller_daily_sales.total_sales + VALUES(total_sales),
+                order_count = seller_daily_sales.order_count + VALUES(order_count),
+                item_count = seller_daily_sales.item_count + VALUES(item_count)
+            """;
+
+    private static final long FREE_SHIPPING_THRESHOLD = Money.toMinor(BigDecimal.valueOf(50000));
+    private static final long SHIPPING_FEE = Money.toMinor(BigDecimal.valueOf(3000));
+    private static final int COUPON_RATE_BASIS_POINTS = 1_000; // 10%
+
+    // 주문 상태 분포: DELIVERED 60%, SHIPPED 15%, PAID 10%, REFUNDED 10%, CANCELLED 5%
+    private static final OrderStatus[] STATUSES = {
+            OrderStatus.DELIVERED, OrderStatus.DELIVERED, OrderStatus.DELIVERED,
+            OrderStatus.DELIVERED, OrderStatus.DELIVERED, OrderStatus.DELIVERED,
+            OrderStatus.SHIPPED, OrderStatus.SHIPPED,
+            OrderStatus.PAID,
+            OrderStatus.REFUNDED,
+            OrderStatus.CANCELLED
+    };
+
+    /**
+     * 동시에 실행할 수 있는 주문 생성 워커 수 (워커마다 커넥션 1개, Hikari 가 아니면 제한하지 않는다)
+     */
+    public int maxWorkers() {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class)
+                    ? dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize()
+                    : Integer.MAX_VALUE;
+        } catch (SQLException e) {
+            return Integer.MAX_VALUE;
+        }
+    }
 
-    public void generateAll() {
+    public void generateAll(DataGenerationOptions options) {
         log.info("========== 테스트 데이터 생성 시작 ==========");
         long startTime = System.currentTimeMillis();
 
-        generateSellers();
-        generateProducts();
-        generateOrdersAndItems();
+        generateSellers(options);
+        generateProducts(options);
+        generateOrdersAndItems(options);
 
         long endTime = System.currentTimeMillis();
         log.info("========== 테스트 데이터 생성 완료 (소요시간: {}초) ==========",
                 (endTime - startTime) / 1000);
     }
 
-    public void generateSellers() {
-        log.info("판매자 데이터 생성 시작: {} 건", SELLER_COUNT);
+    public void generateSellers(DataGenerationOptions options) {
+        int sellerCount = options.sellers();
+        log.info("판매자 데이터 생성 시작: {} 건", sellerCount);
         long startTime = System.currentTimeMillis();
 
         String sql = "INSERT INTO sellers (name, email, grade, business_number, created_at, updated_at) " +
@@ -71,7 +129,7 @@ public class TestDataGenerator {
             LocalDateTime now = LocalDateTime.now();
             String nowStr = now.format(DATETIME_FORMATTER);
 
-            for (int i = 1; i <= SELLER_COUNT; i++) {
+            for (int i = 1; i <= sellerCount; i++) {
                 ps.setString(1, "판매자_" + i);
                 ps.setString(2, "seller" + i + "@example.com");
                 ps.setString(3, getRandomGrade(grades, gradeDistribution, i).name());
@@ -97,8 +155,11 @@ public class TestDataGenerator {
         log.info("판매자 데이터 생성 완료 (소요시간: {}ms)", System.currentTimeMillis() - startTime);
     }
 
-    public void generateProducts() {
-        log.info("상품 데이터 생성 시작: {} 건", TOTAL_PRODUCTS);
+    public void generateProducts(DataGenerationOptions options) {
+        int sellerCount = options.sellers();
+        // 상품 ID 는 int 로 다루므로 넘치면 생성 전에 실패한다
+        int productCount = Math.multiplyExact(sellerCount, PRODUCTS_PER_SELLER);
+        log.info("상품 데이터 생성 시작: {} 건", productCount);
         long startTime = System.currentTimeMillis();
 
         String sql = "INSERT INTO products (seller_id, name, price, stock, status, created_at, updated_at) " +
@@ -111,8 +172,9 @@ public class TestDataGenerator {
             LocalDateTime now = LocalDateTime.now();
             String nowStr = now.format(DATETIME_FORMATTER);
 
+            SplittableRandom random = new SplittableRandom(options.seed());
             int productId = 0;
-            for (int sellerId = 1; sellerId <= SELLER_COUNT; sellerId++) {
+            for (int sellerId = 1; sellerId <= sellerCount; sellerId++) {
                 for (int p = 1; p <= PRODUCTS_PER_SELLER; p++) {
                     productId++;
                     BigDecimal price = BigDecimal.valueOf(1000 + random.nextInt(99000))
@@ -144,124 +206,187 @@ public class TestDataGenerator {
         log.info("상품 데이터 생성 완료 (소요시간: {}ms)", System.currentTimeMillis() - startTime);
     }
 
-    public void generateOrdersAndItems() {
-        log.info("주문/주문상품 데이터 생성 시작: 주문 {} 건, 주문상품 {} 건",
-                TOTAL_ORDERS, TOTAL_ORDER_ITEMS);
+    public void generateOrdersAndItems(DataGenerationOptions options) {
+        long totalOrders = options.orders();
+        int workers = (int) Math.min(options.workers(), totalOrders);
+        log.info("주문/주문상품 데이터 생성 시작: 주문 {} 건, 주문상품 {} 건, 기간 {}일, 워커 {} 개",
+                totalOrders, options.items(), options.days(), workers);
         long startTime = System.currentTimeMillis();
 
         // 상품 정보 로드 (product_id -> {seller_id, price})
-        List<ProductInfo> products = loadProductInfo();
+        ProductTable products = loadProductTable();
+        if (products.size() == 0) {
+            throw new IllegalStateException("상품 데이터가 없습니다. 판매자/상품을 먼저 생성하세요");
+        }
         log.info("상품 정보 로드 완료: {} 건", products.size());
 
-        String orderSql = "INSERT INTO orders (buyer_id, status, shipping_fee, coupon_discount, " +
-                "total_amount, ordered_at, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-        String itemSql = "INSERT INTO order_items (order_id, product_id, seller_id, quantity, " +
-                "unit_price, total_price, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        long firstOrderId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM orders", Long.class);
+        long blockSize = (totalOrders + workers - 1) / workers;
+
+        // 정산 대상 날짜: 어제부터 과거로 days 일
+        LocalDateTime lastDay = LocalDateTime.now().minusDays(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
+        String nowStr = LocalDateTime.now().format(DATETIME_FORMATTER);
+
+        SplittableRandom root = new SplittableRandom(options.seed());
+        AtomicLong progress = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<Long>> futures = new ArrayList<>(workers);
+            for (int w = 0; w < workers; w++) {
+                long fromIndex = w * blockSize;
+                long toIndex = Math.min(totalOrders, fromIndex + blockSize);
+                SplittableRandom random = root.split();
+                futures.add(executor.submit(() -> generateOrderBlock(options, products, random,
+                        firstOrderId, fromIndex, toIndex, lastDay, nowStr, progress)));
+            }
+
+            long totalItemCount = 0;
+            for (Future<Long> future : futures) {
+                totalItemCount += future.get();
+            }
+
+            log.info("주문/주문상품 데이터 생성 완료 - 주문: {} 건 (ID {} ~ {}), 주문상품: {} 건 (소요시간: {}초)",
+                    totalOrders, firstOrderId, firstOrderId + totalOrders - 1, totalItemCount,
+                    (System.currentTimeMillis() - startTime) / 1000);
+
+            accumulateRollup(firstOrderId, firstOrderId + totalOrders - 1, lastDay.toLocalDate(), options.days());
+        } catch (ExecutionException e) {
+            throw new RuntimeException("주문 데이터 생성 실패", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("주문 데이터 생성 중단", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 
-        // 주문 상태 분포: DELIVERED 60%, SHIPPED 15%, PAID 10%, REFUNDED 10%, CANCELLED 5%
-        OrderStatus[] statuses = {
-                OrderStatus.DELIVERED, OrderStatus.DELIVERED, OrderStatus.DELIVERED,
-                OrderStatus.DELIVERED, OrderStatus.DELIVERED, OrderStatus.DELIVERED,
-                OrderStatus.SHIPPED, OrderStatus.SHIPPED,
-                OrderStatus.PAID,
-                OrderStatus.REFUNDED,
-                OrderStatus.CANCELLED
-        };
+    /**
+     * 생성한 주문을 seller_daily_sales 롤업에 반영 (하루 단위 커밋)
+     */
+    private void accumulateRollup(long fromOrderId, long toOrderId, LocalDate lastDay, int days) {
+        long startTime = System.currentTimeMillis();
+        long rows = 0;
+        for (int i = 0; i < days; i++) {
+            LocalDate date = lastDay.minusDays(i);
+            rows += jdbcTemplate.update(ROLLUP_SQL, date, date.atStartOfDay(), date.plusDays(1).atStartOfDay(),
+                    fromOrderId, toOrderId);
+        }
+        log.info("롤업 반영 완료 - 기간: {} ~ {}, 변경 행: {} (소요시간: {}ms)",
+                lastDay.minusDays(days - 1), lastDay, rows, System.currentTimeMillis() - startTime);
+    }
 
-        // 정산 대상 날짜: 어제
-        LocalDateTime yesterday = LocalDateTime.now().minusDays(1).withHour(0).withMinute(0).withSecond(0);
+    /**
+     * 워커 하나의 주문 블록 생성
+     * 주문 인덱스 [fromIndex, toIndex) 를 주문 ID firstOrderId + index 로 저장한다
+     *
+     * @return 생성한 주문상품 수
+     */
+    private long generateOrderBlock(DataGenerationOptions options, ProductTable products, SplittableRandom random,
+                                    long firstOrderId, long fromIndex, long toIndex,
+                                    LocalDateTime lastDay, String nowStr, AtomicLong progress) throws Exception {
+        String orderSql = "INSERT INTO orders (id, buyer_id, status, shipping_fee, coupon_discount, " +
+                "total_amount, ordered_at, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        String itemSql = "INSERT INTO order_items (order_id, product_id, seller_id, quantity, " +
+                "unit_price, total_price, ordered_at, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+        int itemsPerOrder = options.itemsPerOrder();
+        int[] itemProducts = new int[itemsPerOrder];
+        int[] itemQuantities = new int[itemsPerOrder];
+        long itemCountTotal = 0;
 
         try (Connection conn = dataSource.getConnection();
-             PreparedStatement orderPs = conn.prepareStatement(orderSql, Statement.RETURN_GENERATED_KEYS);
+             PreparedStatement orderPs = conn.prepareStatement(orderSql);
              PreparedStatement itemPs = conn.prepareStatement(itemSql)) {
 
             conn.setAutoCommit(false);
-            LocalDateTime now = LocalDateTime.now();
-            String nowStr = now.format(DATETIME_FORMATTER);
 
-            int totalItemCount = 0;
-            List<Long> orderIds = new ArrayList<>(BATCH_SIZE);
+            for (long index = fromIndex; index < toIndex; index++) {
+                long orderId = firstOrderId + index;
 
-            for (int orderId = 1; orderId <= TOTAL_ORDERS; orderId++) {
-                // 주문 시간: 어제 00:00 ~ 23:59:59 랜덤
-                LocalDateTime orderedAt = yesterday.plusSeconds(random.nextInt(86400));
-                String orderedAtStr = orderedAt.format(DATETIME_FORMATTER);
+                // 주문 시간: 기간 내 임의 날짜의 00:00 ~ 23:59:59 랜덤
+                LocalDateTime orderedAt = lastDay.minusDays(random.nextInt(options.days()))
+                        .plusSeconds(random.nextInt(86400));
 
-                // 주문당 아이템 수: 정확히 4개
-                int itemCount = 4;
-
-                // 주문 아이템 생성 준비
-                BigDecimal totalAmount = BigDecimal.ZERO;
-                List<OrderItemData> items = new ArrayList<>(itemCount);
+                // 주문당 아이템 수: itemsPerOrder (마지막 주문은 남은 수량)
+                int itemCount = (int) Math.min(itemsPerOrder, options.items() - index * itemsPerOrder);
 
+                long totalAmount = 0;
                 for (int i = 0; i < itemCount; i++) {
-                    ProductInfo product = products.get(random.nextInt(products.size()));
-                    int quantity = 1 + random.nextInt(3);
-                    BigDecimal itemTotal = product.price.multiply(BigDecimal.valueOf(quantity));
-                    totalAmount = totalAmount.add(itemTotal);
-
-                    items.add(new OrderItemData(product.productId, product.sellerId,
-                            quantity, product.price, itemTotal));
+                    itemProducts[i] = random.nextInt(products.size());
+                    itemQuantities[i] = 1 + random.nextInt(3);
+                    totalAmount += products.price(itemProducts[i]) * itemQuantities[i];
                 }
 
                 // 배송비, 쿠폰
-                BigDecimal shippingFee = totalAmount.compareTo(BigDecimal.valueOf(50000)) >= 0
-                        ? BigDecimal.ZERO
-                        : BigDecimal.valueOf(3000);
-                BigDecimal couponDiscount = random.nextInt(10) == 0
-                        ? totalAmount.multiply(BigDecimal.valueOf(0.1)).setScale(2, RoundingMode.HALF_UP)
-                        : BigDecimal.ZERO;
+                long shippingFee = totalAmount >= FREE_SHIPPING_THRESHOLD ? 0 : SHIPPING_FEE;
+                long couponDiscount = random.nextInt(10) == 0
+                        ? Money.applyRate(totalAmount, COUPON_RATE_BASIS_POINTS)
+                        : 0;
 
-                OrderStatus status = statuses[random.nextInt(statuses.length)];
+                OrderStatus status = STATUSES[random.nextInt(STATUSES.length)];
 
                 // 주문 저장
-                orderPs.setLong(1, 1000000 + random.nextInt(9000000)); // buyer_id
-                orderPs.setString(2, status.name());
-                orderPs.setBigDecimal(3, shippingFee);
-                orderPs.setBigDecimal(4, couponDiscount);
-                orderPs.setBigDecimal(5, totalAmount.add(shippingFee).subtract(couponDiscount));
-                orderPs.setString(6, orderedAtStr);
-                orderPs.setString(7, nowStr);
+                orderPs.setLong(1, orderId);
+                orderPs.setLong(2, 1000000 + random.nextInt(9000000)); // buyer_id
+                orderPs.setString(3, status.name());
+                orderPs.setBigDecimal(4, Money.toDecimal(shippingFee));
+                orderPs.setBigDecimal(5, Money.toDecimal(couponDiscount));
+                orderPs.setBigDecimal(6, Money.toDecimal(totalAmount + shippingFee - couponDiscount));
+                orderPs.setString(7, orderedAt.format(DATETIME_FORMATTER));
                 orderPs.setString(8, nowStr);
+                orderPs.setString(9, nowStr);
                 orderPs.addBatch();
 
-                // 주문상품 저장 (order_id는 나중에 설정)
-                for (OrderItemData item : items) {
-                    itemPs.setLong(1, orderId); // order_id
-                    itemPs.setLong(2, item.productId);
-                    itemPs.setLong(3, item.sellerId);
-                    itemPs.setInt(4, item.quantity);
-                    itemPs.setBigDecimal(5, item.unitPrice);
-                    itemPs.setBigDecimal(6, item.totalPrice);
-                    itemPs.setString(7, nowStr);
+                // 주문상품 저장
+                for (int i = 0; i < itemCount; i++) {
+                    int product = itemProducts[i];
+                    long unitPrice = products.price(product);
+                    itemPs.setLong(1, orderId);
+                    itemPs.setLong(2, products.productId(product));
+                    itemPs.setLong(3, products.sellerId(product));
+                    itemPs.setInt(4, itemQuantities[i]);
+                    itemPs.setBigDecimal(5, Money.toDecimal(unitPrice));
+                    itemPs.setBigDecimal(6, Money.toDecimal(unitPrice * itemQuantities[i]));
+                    itemPs.setString(7, orderedAt.format(DATETIME_FORMATTER));
+                    itemPs.setString(8, nowStr);
                     itemPs.addBatch();
-                    totalItemCount++;
                 }
+                itemCountTotal += itemCount;
 
-                if (orderId % BATCH_SIZE == 0) {
+                if ((index - fromIndex + 1) % BATCH_SIZE == 0) {
                     orderPs.executeBatch();
                     itemPs.executeBatch();
                     conn.commit();
-                    log.info("주문 {} 건, 주문상품 {} 건 저장 완료", orderId, totalItemCount);
+                    logProgress(progress.addAndGet(BATCH_SIZE), options.orders());
                 }
             }
 
             orderPs.executeBatch();
             itemPs.executeBatch();
             conn.commit();
+        }
+        return itemCountTotal;
+    }
 
-            log.info("주문/주문상품 데이터 생성 완료 - 주문: {} 건, 주문상품: {} 건 (소요시간: {}초)",
-                    TOTAL_ORDERS, totalItemCount, (System.currentTimeMillis() - startTime) / 1000);
-
-        } catch (Exception e) {
-            throw new RuntimeException("주문 데이터 생성 실패", e);
+    private void logProgress(long done, long total) {
+        if (done % PROGRESS_LOG_INTERVAL < BATCH_SIZE) {
+            log.info("주문 {} / {} 건 저장 완료", done, total);
         }
     }
 
-    private List<ProductInfo> loadProductInfo() {
-        String sql = "SELECT id, seller_id, price FROM products";
-        return jdbcTemplate.query(sql, (rs, rowNum) ->
-                new ProductInfo(rs.getLong("id"), rs.getLong("seller_id"), rs.getBigDecimal("price")));
+    private ProductTable loadProductTable() {
+        List<ProductInfo> products = jdbcTemplate.query("SELECT id, seller_id, price FROM products",
+                (rs, rowNum) -> new ProductInfo(rs.getLong("id"), rs.getLong("seller_id"), rs.getBigDecimal("price")));
+
+        ProductTable table = new ProductTable(new long[products.size()], new long[products.size()],
+                new long[products.size()]);
+        for (int i = 0; i < products.size(); i++) {
+            ProductInfo product = products.get(i);
+            table.productIds[i] = product.productId();
+            table.sellerIds[i] = product.sellerId();
+            table.prices[i] = Money.toMinor(product.price());
+        }
+        return table;
     }
 
     private SellerGrade getRandomGrade(SellerGrade[] grades, int[] distribution, int index) {
@@ -280,6 +405,8 @@ public class TestDataGenerator {
         log.info("모든 데이터 삭제 시작...");
         jdbcTemplate.execute("SET FOREIGN_KEY_CHECKS = 0");
         jdbcTemplate.execute("TRUNCATE TABLE settlements");
+        jdbcTemplate.execute("TRUNCATE TABLE settlements_staging");
+        jdbcTemplate.execute("TRUNCATE TABLE seller_daily_sales");
         jdbcTemplate.execute("TRUNCATE TABLE order_items");
         jdbcTemplate.execute("TRUNCATE TABLE orders");
         jdbcTemplate.execute("TRUNCATE TABLE products");
@@ -289,6 +416,26 @@ public class TestDataGenerator {
     }
 
     private record ProductInfo(Long productId, Long sellerId, BigDecimal price) {}
-    private record OrderItemData(Long productId, Long sellerId, int quantity,
-                                  BigDecimal unitPrice, BigDecimal totalPrice) {}
+
+    /**
+     * 워커 간 공유하는 읽기 전용 상품 정보 (가격은 최소 화폐 단위)
+     */
+    private record ProductTable(long[] productIds, long[] sellerIds, long[] prices) {
+
+        int size() {
+            return productIds.length;
+        }
+
+        long productId(int index) {
+            return productIds[index];
+        }
+
+        long sellerId(int index) {
+            return sellerIds[index];
+        }
+
+        long price(int index) {
+            return prices[index];
+        }
+    }
 }
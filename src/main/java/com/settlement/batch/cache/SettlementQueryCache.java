@@ -0,0 +1,199 @@
+package com.settlement.batch.cache;
+
+import com.settlement.batch.dto.SettlementPage;
+import com.settlement.batch.dto.SettlementQuery;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 정산 조회 결과 캐시
+ *
+ * 크기(LRU)와 TTL 로 제한되는 프로세스 내 캐시이다.
+ * 무효화는 정산일별 세대(generation) 번호로 한다. 캐시 키에 조회 구간 날짜들의 세대 합(stamp)을 넣어 두고,
+ * 정산일이 커밋되면 그 날짜의 세대만 올려 해당 날짜를 포함하는 키를 더 이상 찾지 않게 한다.
+ * 지난 항목은 지우지 않고 LRU / TTL 로 밀려나며, 조회 시작 전에 stamp 를 잡아 두므로
+ * 조회 도중 커밋된 날짜의 결과가 새 세대로 저장되는 일이 없다.
+ *
+ * 배치 Step 에서 쓴 정산일은 Job 실행별로 모아 두었다가 Job 이 끝날 때 날짜마다 한 번만 무효화한다
+ * (chunk 커밋마다 세대를 올리면 Job 동안 같은 날짜의 캐시를 계속 버리게 된다).
+ *
+ * 무효화는 같은 프로세스의 정산 Writer 커밋만 반영한다. 다른 프로세스나 도구가 settlements 를 바꾸면
+ * TTL 이 지날 때까지 이전 결과가 보일 수 있다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SettlementQueryCache {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${settlement.query.cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${settlement.query.cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    private final Map<LocalDate, Long> generations = new ConcurrentHashMap<>();
+    // Job 종료 시 무효화할 정산일 (key: JobExecution id)
+    private final Map<Long, Set<LocalDate>> pendingJobDates = new ConcurrentHashMap<>();
+    private Map<CacheKey, CacheEntry> entries;
+    private long ttlNanos;
+
+    private Counter hitCounter;
+    private Counter missCounter;
+    private Counter invalidationCounter;
+
+    @PostConstruct
+    void init() {
+        ttlNanos = ttlSeconds * 1_000_000_000L;
+        entries = new LinkedHashMap<>(Math.min(maxSize, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, CacheEntry> eldest) {
+                return size() > maxSize;
+            }
+        };
+        hitCounter = resultCounter("hit");
+        missCounter = resultCounter("miss");
+        invalidationCounter = Counter.builder("settlement.query.cache.invalidations")
+                .description("정산일 커밋으로 인한 조회 캐시 무효화 횟수")
+                .register(meterRegistry);
+        Gauge.builder("settlement.query.cache.size", this, SettlementQueryCache::size)
+                .description("조회 캐시 항목 수 (무효화된 세대 포함)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 조회 구간 날짜들의 세대 합
+     * DB 조회 전에 잡아 두고 get / put 에 같은 값을 넘긴다
+     */
+    public long stamp(LocalDate startDate, LocalDate endDate) {
+        long stamp = 0;
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            stamp += generations.getOrDefault(date, 0L);
+        }
+        return stamp;
+    }
+
+    public SettlementPage get(SettlementQuery query, long stamp) {
+        CacheKey key = new CacheKey(query, stamp);
+        CacheEntry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && System.nanoTime() - entry.createdAtNanos() > ttlNanos) {
+                entries.remove(key);
+                entry = null;
+            }
+        }
+        (entry != null ? hitCounter : missCounter).increment();
+        return entry != null ? entry.page() : null;
+    }
+
+    public void put(SettlementQuery query, long stamp, SettlementPage page) {
+        CacheEntry entry = new CacheEntry(page, System.nanoTime());
+        synchronized (entries) {
+            entries.put(new CacheKey(query, stamp), entry);
+        }
+    }
+
+    /**
+     * 정산일 무효화
+     * 이 날짜를 포함하는 조회는 다음 요청부터 DB 에서 다시 읽는다
+     */
+    public void invalidate(LocalDate settlementDate) {
+        generations.merge(settlementDate, 1L, Long::sum);
+        invalidationCounter.increment();
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋된 뒤 정산일들을 무효화한다
+     * 커밋 전에 무효화하면 커밋 전 값을 다시 캐시할 수 있으므로 커밋 이후에 실행한다.
+     * 트랜잭션 동기화가 없으면 즉시 무효화한다.
+     */
+    public void invalidateAfterCommit(Collection<LocalDate> settlementDates) {
+        List<LocalDate> dates = List.copyOf(settlementDates);
+        afterCommit(() -> {
+            dates.forEach(this::invalidate);
+            log.debug("정산 조회 캐시 무효화 - settlementDates: {}", dates);
+        });
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋되면 정산일들을 현재 Job 실행의 무효화 대상으로 모은다
+     * 실제 무효화는 Job 종료 시 invalidateJobDates 에서 날짜마다 한 번 한다.
+     * Step 실행 중이 아니면 invalidateAfterCommit 과 같다.
+     */
+    public void invalidateAfterJob(Collection<LocalDate> settlementDates) {
+        StepContext stepContext = StepSynchronizationManager.getContext();
+        if (stepContext == null) {
+            invalidateAfterCommit(settlementDates);
+            return;
+        }
+        Long jobExecutionId = stepContext.getStepExecution().getJobExecutionId();
+        List<LocalDate> dates = List.copyOf(settlementDates);
+        afterCommit(() -> pendingJobDates
+                .computeIfAbsent(jobExecutionId, id -> ConcurrentHashMap.newKeySet())
+                .addAll(dates));
+    }
+
+    /**
+     * Job 실행 동안 모은 정산일 무효화 (Job 성공 / 실패와 관계없이 커밋된 변경은 반영한다)
+     */
+    public void invalidateJobDates(long jobExecutionId) {
+        Set<LocalDate> dates = pendingJobDates.remove(jobExecutionId);
+        if (dates == null) {
+            return;
+        }
+        dates.forEach(this::invalidate);
+        log.info("정산 조회 캐시 무효화 - jobExecutionId: {}, settlementDates: {}", jobExecutionId, dates);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private Counter resultCounter(String result) {
+        return Counter.builder("settlement.query.cache")
+                .description("정산 조회 캐시 조회 결과")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record CacheKey(SettlementQuery query, long stamp) {
+    }
+
+    private record CacheEntry(SettlementPage page, long createdAtNanos) {
+    }
+}
@@ -1,16 +1,28 @@
 package com.settlement.batch.controller;
 
+import com.settlement.batch.dto.SettlementBackfill;
+import com.settlement.batch.dto.SettlementPage;
+import com.settlement.batch.dto.SettlementQuery;
+import com.settlement.batch.service.SettlementBackfillService;
 import com.settlement.batch.service.SettlementJobService;
+import com.settlement.batch.service.SettlementQueryService;
+import com.settlement.batch.tasklet.SettlementPayoutExportTasklet;
+import com.settlement.enums.BackfillDayStatus;
+import com.settlement.enums.SettlementStatus;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.ExecutionContext;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -19,6 +31,15 @@ import java.util.Map;
  * API:
  * - POST /api/settlements/run?targetDate=2024-01-15 : 특정 날짜 정산 실행
  * - POST /api/settlements/run                        : 전날 정산 실행
+ * - POST /api/settlements/run/range?startDate=&endDate= : 기간 정산 비동기 실행 (backfillId 반환)
+ * - POST /api/settlements/run/incremental             : 주문 상태가 바뀐 판매자만 증분 재정산
+ * - POST /api/settlements/export?startDate=&endDate=&status= : 기간 정산 지급 파일(고정폭 / CSV) 내보내기
+ * - GET  /api/settlements/backfills/{backfillId}       : 기간 정산 진행 상태 조회
+ * - POST /api/settlements/backfills/{backfillId}/retry : 기간 정산 실패 날짜 재시도
+ * - GET  /api/settlements?startDate=&endDate=&status=&cursor=&size= : 기간(상태) 정산 조회
+ * - GET  /api/settlements/sellers/{sellerId}?startDate=&endDate=&cursor=&size= : 판매자 정산 조회
+ *
+ * 조회 API 는 (settlement_date, seller_id) keyset 페이지네이션이다. 응답의 nextCursor 를 다음 요청의 cursor 로 넘긴다.
  */
 @Slf4j
 @RestController
@@ -27,6 +48,8 @@ import java.util.Map;
 public class SettlementController {
 
     private final SettlementJobService settlementJobService;
+    private final SettlementBackfillService settlementBackfillService;
+    private final SettlementQueryService settlementQueryService;
 
     /**
      * 정산 배치 수동 실행
@@ -57,10 +80,11 @@ public class SettlementController {
 
     /**
      * 기간 정산 배치 실행 (시작일 ~ 종료일)
+     * 날짜별 정산을 백그라운드에서 실행하고 즉시 backfillId 를 반환한다
      *
      * @param startDate 시작 날짜
      * @param endDate 종료 날짜
-     * @return 배치 실행 결과
+     * @return 백필 ID 와 진행 상태
      */
     @PostMapping("/run/range")
     public ResponseEntity<Map<String, Object>> runSettlementRange(
@@ -74,31 +98,197 @@ public class SettlementController {
                     .body(buildErrorResponse("시작일이 종료일보다 클 수 없습니다", null));
         }
 
-        Map<String, Object> results = new HashMap<>();
-        int successCount = 0;
-        int failCount = 0;
-
-        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
-            try {
-                JobExecution execution = settlementJobService.runSettlementJob(date);
-                if (execution.getStatus() == BatchStatus.COMPLETED) {
-                    successCount++;
-                } else {
-                    failCount++;
-                }
-            } catch (Exception e) {
-                log.warn("날짜 {} 정산 실패: {}", date, e.getMessage());
-                failCount++;
-            }
+        SettlementBackfill backfill = settlementBackfillService.start(startDate, endDate);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(buildBackfillResponse(backfill, false));
+    }
+
+    /**
+     * 증분 정산 실행
+     * 주문 상태 변경으로 재정산 대상이 된 (판매자, 매출일) 만 재집계한다
+     *
+     * @return 배치 실행 결과
+     */
+    @PostMapping("/run/incremental")
+    public ResponseEntity<Map<String, Object>> runIncrementalSettlement() {
+        log.info("증분 정산 배치 API 호출");
+
+        try {
+            JobExecution execution = settlementJobService.runIncrementalSettlementJob();
+            Map<String, Object> response = buildSuccessResponse(execution, null);
+            response.put("writeCount", execution.getStepExecutions().stream()
+                    .mapToLong(StepExecution::getWriteCount).sum());
+            return ResponseEntity.ok(response);
+        } catch (IllegalStateException e) {
+            log.warn("증분 정산 배치 실행 불가 - {}", e.getMessage());
+            return ResponseEntity.badRequest().body(buildErrorResponse(e.getMessage(), null));
+        } catch (Exception e) {
+            log.error("증분 정산 배치 실행 중 오류 발생", e);
+            return ResponseEntity.internalServerError()
+                    .body(buildErrorResponse("증분 정산 배치 실행 중 오류가 발생했습니다", null));
+        }
+    }
+
+    /**
+     * 정산 지급 파일 내보내기
+     *
+     * @param startDate 시작 정산일 (기본값: endDate)
+     * @param endDate   종료 정산일 (기본값: 전날)
+     * @param status    CSV 에 내보낼 정산 상태 (선택, 고정폭 이체 파일은 항상 CONFIRMED 만)
+     * @return 생성한 고정폭 / CSV 파일 경로와 건수
+     */
+    @PostMapping("/export")
+    public ResponseEntity<Map<String, Object>> exportPayouts(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) SettlementStatus status) {
+
+        LocalDate end = endDate != null ? endDate : LocalDate.now().minusDays(1);
+        LocalDate start = startDate != null ? startDate : end;
+        log.info("정산 지급 파일 내보내기 API 호출 - {} ~ {}, status: {}", start, end, status);
+
+        try {
+            JobExecution execution = settlementJobService.runPayoutExportJob(start, end, status);
+            Map<String, Object> response = buildSuccessResponse(execution, null);
+            response.put("startDate", start.toString());
+            response.put("endDate", end.toString());
+            ExecutionContext context = execution.getExecutionContext();
+            response.put("payoutFile", context.getString(SettlementPayoutExportTasklet.PAYOUT_FILE_KEY, null));
+            response.put("csvFile", context.getString(SettlementPayoutExportTasklet.CSV_FILE_KEY, null));
+            response.put("rowCount", context.getLong(SettlementPayoutExportTasklet.ROW_COUNT_KEY, 0L));
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            log.warn("정산 지급 파일 내보내기 실행 불가 - {}", e.getMessage());
+            return ResponseEntity.badRequest().body(buildErrorResponse(e.getMessage(), null));
+        } catch (Exception e) {
+            log.error("정산 지급 파일 내보내기 중 오류 발생", e);
+            return ResponseEntity.internalServerError()
+                    .body(buildErrorResponse("정산 지급 파일 내보내기 중 오류가 발생했습니다", null));
         }
+    }
 
-        results.put("startDate", startDate.toString());
-        results.put("endDate", endDate.toString());
-        results.put("totalDays", startDate.until(endDate).getDays() + 1);
-        results.put("successCount", successCount);
-        results.put("failCount", failCount);
+    /**
+     * 기간 정산 진행 상태 조회
+     *
+     * @param backfillId 기간 정산 실행 시 반환된 ID
+     * @return 전체 진행률과 날짜별 상태
+     */
+    @GetMapping("/backfills/{backfillId}")
+    public ResponseEntity<Map<String, Object>> getBackfill(@PathVariable String backfillId) {
+        return settlementBackfillService.find(backfillId)
+                .map(backfill -> ResponseEntity.ok(buildBackfillResponse(backfill, true)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(buildErrorResponse("존재하지 않는 backfillId 입니다: " + backfillId, null)));
+    }
 
-        return ResponseEntity.ok(results);
+    /**
+     * 기간 정산 실패 날짜 재시도 (실패한 JobInstance 를 같은 파라미터로 재시작)
+     *
+     * @param backfillId 기간 정산 실행 시 반환된 ID
+     * @return 재시도한 날짜 수와 진행 상태
+     */
+    @PostMapping("/backfills/{backfillId}/retry")
+    public ResponseEntity<Map<String, Object>> retryBackfill(@PathVariable String backfillId) {
+        return settlementBackfillService.find(backfillId)
+                .map(backfill -> {
+                    int retried = settlementBackfillService.retryFailed(backfill);
+                    Map<String, Object> response = buildBackfillResponse(backfill, false);
+                    response.put("retriedDays", retried);
+                    return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+                })
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(buildErrorResponse("존재하지 않는 backfillId 입니다: " + backfillId, null)));
+    }
+
+    /**
+     * 기간 정산 조회
+     *
+     * @param startDate 시작 날짜
+     * @param endDate 종료 날짜
+     * @param status 정산 상태 (선택)
+     * @param cursor 이전 응답의 nextCursor (첫 페이지는 생략)
+     * @param size 페이지 크기
+     * @return 정산 목록과 다음 페이지 커서
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> findSettlements(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) SettlementStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+
+        return query(new SettlementQuery(null, startDate, endDate, status, cursor, size));
+    }
+
+    /**
+     * 판매자 정산 조회
+     *
+     * @param sellerId 판매자 ID
+     * @param startDate 시작 날짜
+     * @param endDate 종료 날짜
+     * @param status 정산 상태 (선택)
+     * @param cursor 이전 응답의 nextCursor (첫 페이지는 생략)
+     * @param size 페이지 크기
+     * @return 정산 목록과 다음 페이지 커서
+     */
+    @GetMapping("/sellers/{sellerId}")
+    public ResponseEntity<Map<String, Object>> findSellerSettlements(
+            @PathVariable Long sellerId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) SettlementStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+
+        return query(new SettlementQuery(sellerId, startDate, endDate, status, cursor, size));
+    }
+
+    private ResponseEntity<Map<String, Object>> query(SettlementQuery query) {
+        try {
+            SettlementPage page = settlementQueryService.find(query);
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("items", page.items());
+            response.put("count", page.items().size());
+            response.put("nextCursor", page.nextCursor());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(buildErrorResponse(e.getMessage(), null));
+        }
+    }
+
+    private Map<String, Object> buildBackfillResponse(SettlementBackfill backfill, boolean includeDays) {
+        long completed = backfill.count(BackfillDayStatus.COMPLETED);
+        long failed = backfill.count(BackfillDayStatus.FAILED);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("backfillId", backfill.getId());
+        response.put("startDate", backfill.getStartDate().toString());
+        response.put("endDate", backfill.getEndDate().toString());
+        response.put("totalDays", backfill.getTotalDays());
+        response.put("pendingCount", backfill.count(BackfillDayStatus.PENDING));
+        response.put("runningCount", backfill.count(BackfillDayStatus.RUNNING));
+        response.put("successCount", completed);
+        response.put("failCount", failed);
+        response.put("progress", (completed + failed) * 100 / backfill.getTotalDays());
+        response.put("done", backfill.isDone());
+
+        if (includeDays) {
+            List<Map<String, Object>> days = backfill.getDayList().stream()
+                    .map(day -> {
+                        Map<String, Object> dayResponse = new LinkedHashMap<>();
+                        dayResponse.put("date", day.getDate().toString());
+                        dayResponse.put("status", day.getStatus().toString());
+                        dayResponse.put("attempts", day.getAttempts());
+                        dayResponse.put("jobExecutionId", day.getJobExecutionId());
+                        dayResponse.put("startTime", day.getStartedAt() != null ? day.getStartedAt().toString() : null);
+                        dayResponse.put("endTime", day.getFinishedAt() != null ? day.getFinishedAt().toString() : null);
+                        dayResponse.put("message", day.getMessage());
+                        return dayResponse;
+                    })
+                    .toList();
+            response.put("days", days);
+        }
+        return response;
     }
 
     private Map<String, Object> buildSuccessResponse(JobExecution execution, LocalDate targetDate) {
@@ -106,7 +296,9 @@ public class SettlementController {
         response.put("status", "SUCCESS");
         response.put("jobExecutionId", execution.getId());
         response.put("batchStatus", execution.getStatus().toString());
-        response.put("targetDate", targetDate.toString());
+        if (targetDate != null) {
+            response.put("targetDate", targetDate.toString());
+        }
         response.put("startTime", execution.getStartTime() != null ? execution.getStartTime().toString() : null);
         response.put("endTime", execution.getEndTime() != null ? execution.getEndTime().toString() : null);
         return response;
@@ -0,0 +1,12 @@
+package com.settlement.batch.dto;
+
+import java.time.LocalDate;
+
+/**
+ * 재정산 대상 (판매자, 매출일) 의 재집계 결과
+ *
+ * @param version     읽었을 때의 settlement_dirty_sellers.version (이 값일 때만 outbox 에서 삭제)
+ * @param aggregation 매출일 기준 판매자 집계 (정산 대상 주문이 모두 빠졌으면 0)
+ */
+public record DirtySellerAggregation(LocalDate salesDate, long version, SellerAggregation aggregation) {
+}
@@ -3,25 +3,30 @@ package com.settlement.batch.dto;
 import com.settlement.enums.SellerGrade;
 import lombok.Getter;
 
-import java.math.BigDecimal;
-
 /**
  * 판매자별 주문 집계 결과 DTO
- * DB에서 GROUP BY로 집계된 결과를 담는다
+ * DB에서 GROUP BY로 집계된 결과 또는 스트리밍 집계 결과를 담는다
+ *
+ * 금액은 최소 화폐 단위(1/100) long 으로 보관한다 (Money 참고)
  */
 @Getter
 public class SellerAggregation {
 
-    private final Long sellerId;
+    private final long sellerId;
     private final SellerGrade sellerGrade;
-    private final BigDecimal totalSales;
-    private final Long orderCount;
-    private final Long itemCount;
+    private final long totalSales;
+    private final long orderCount;
+    private final long itemCount;
+
+    public SellerAggregation(long sellerId, String sellerGrade, long totalSales,
+                             long orderCount, long itemCount) {
+        this(sellerId, SellerGrade.of(sellerGrade), totalSales, orderCount, itemCount);
+    }
 
-    public SellerAggregation(Long sellerId, String sellerGrade, BigDecimal totalSales,
-                             Long orderCount, Long itemCount) {
+    public SellerAggregation(long sellerId, SellerGrade sellerGrade, long totalSales,
+                             long orderCount, long itemCount) {
         this.sellerId = sellerId;
-        this.sellerGrade = SellerGrade.valueOf(sellerGrade);
+        this.sellerGrade = sellerGrade;
         this.totalSales = totalSales;
         this.orderCount = orderCount;
         this.itemCount = itemCount;
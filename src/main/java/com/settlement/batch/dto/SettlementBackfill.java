@@ -0,0 +1,122 @@
+package com.settlement.batch.dto;
+
+import com.settlement.enums.BackfillDayStatus;
+import lombok.Getter;
+import org.springframework.batch.core.JobParameters;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+
+/**
+ * 기간 정산(백필) 진행 상태
+ * 날짜별 정산 Job 실행 상태를 메모리에 보관한다
+ */
+@Getter
+public class SettlementBackfill {
+
+    private final String id;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private final Map<LocalDate, Day> days = new ConcurrentSkipListMap<>();
+
+    public SettlementBackfill(String id, LocalDate startDate, LocalDate endDate) {
+        this.id = id;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            days.put(date, new Day(date));
+        }
+    }
+
+    public Collection<Day> getDayList() {
+        return days.values();
+    }
+
+    public Day getDay(LocalDate date) {
+        return days.get(date);
+    }
+
+    public int getTotalDays() {
+        return days.size();
+    }
+
+    public long count(BackfillDayStatus status) {
+        return days.values().stream().filter(day -> day.getStatus() == status).count();
+    }
+
+    public boolean isDone() {
+        return count(BackfillDayStatus.PENDING) == 0 && count(BackfillDayStatus.RUNNING) == 0;
+    }
+
+    /**
+     * 모든 날짜가 끝났고 마지막 날짜가 cutoff 이전에 끝났는지 (보관 기간 만료 판단)
+     */
+    public boolean isFinishedBefore(LocalDateTime cutoff) {
+        return isDone() && days.values().stream()
+                .allMatch(day -> day.getFinishedAt() != null && day.getFinishedAt().isBefore(cutoff));
+    }
+
+    /**
+     * 날짜별 정산 실행 상태
+     */
+    @Getter
+    public static class Day {
+
+        private final LocalDate date;
+        private volatile BackfillDayStatus status = BackfillDayStatus.PENDING;
+        private volatile Long jobExecutionId;
+        private volatile String message;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile int attempts;
+        /** 첫 실행의 Job 파라미터 (재시도 시 같은 JobInstance 를 재시작하기 위해 보관) */
+        private volatile JobParameters jobParameters;
+
+        private Day(LocalDate date) {
+            this.date = date;
+        }
+
+        /**
+         * 첫 실행이면 파라미터를 만들어 보관하고, 재시도면 보관한 파라미터를 돌려준다
+         */
+        public synchronized JobParameters jobParameters(Function<LocalDate, JobParameters> factory) {
+            if (jobParameters == null) {
+                jobParameters = factory.apply(date);
+            }
+            return jobParameters;
+        }
+
+        public synchronized void start() {
+            this.status = BackfillDayStatus.RUNNING;
+            this.attempts++;
+            this.message = null;
+            this.startedAt = LocalDateTime.now();
+            this.finishedAt = null;
+        }
+
+        public synchronized void finish(Long jobExecutionId, BackfillDayStatus status, String message) {
+            this.jobExecutionId = jobExecutionId;
+            this.status = status;
+            this.message = message;
+            this.finishedAt = LocalDateTime.now();
+        }
+
+        /**
+         * 실패한 날짜만 재시도 대기 상태로 되돌린다
+         *
+         * @return 재시도 대상 여부
+         */
+        public synchronized boolean resetIfFailed() {
+            if (status != BackfillDayStatus.FAILED) {
+                return false;
+            }
+            this.status = BackfillDayStatus.PENDING;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.settlement.batch.dto;
+
+import com.settlement.domain.Settlement.Settlement;
+import lombok.Getter;
+import org.springframework.batch.item.ExecutionContext;
+
+/**
+ * 정산 컨트롤 합계
+ *
+ * 정산 Step 이 저장한 판매자 수, 금액/건수 합계와 판매자별 체크섬을 누적한다.
+ * 체크섬은 판매자별 값의 64bit 해시를 더한 값이므로 누적 순서와 무관하며,
+ * 검증 단계에서 settlements 테이블을 같은 방식으로 누적하여 비교한다.
+ * 금액은 최소 화폐 단위(1/100) long 이다.
+ */
+@Getter
+public class SettlementControlTotals {
+
+    private static final String SELLER_COUNT_KEY = "control.sellerCount";
+    private static final String TOTAL_SALES_KEY = "control.totalSales";
+    private static final String TOTAL_NET_AMOUNT_KEY = "control.totalNetAmount";
+    private static final String ORDER_COUNT_KEY = "control.orderCount";
+    private static final String ITEM_COUNT_KEY = "control.itemCount";
+    private static final String CHECKSUM_KEY = "control.checksum";
+
+    private long sellerCount;
+    private long totalSales;
+    private long totalNetAmount;
+    private long orderCount;
+    private long itemCount;
+    private long checksum;
+
+    public void add(Settlement settlement) {
+        add(settlement.getSellerId(), settlement.getTotalSales(), settlement.getCommission(),
+                settlement.getNetAmount(), settlement.getOrderCount(), settlement.getItemCount());
+    }
+
+    public void add(long sellerId, long totalSales, long commission, long netAmount,
+                    long orderCount, long itemCount) {
+        this.sellerCount++;
+        this.totalSales += totalSales;
+        this.totalNetAmount += netAmount;
+        this.orderCount += orderCount;
+        this.itemCount += itemCount;
+        this.checksum += sellerHash(sellerId, totalSales, commission, netAmount, orderCount, itemCount);
+    }
+
+    public SettlementControlTotals merge(SettlementControlTotals other) {
+        this.sellerCount += other.sellerCount;
+        this.totalSales += other.totalSales;
+        this.totalNetAmount += other.totalNetAmount;
+        this.orderCount += other.orderCount;
+        this.itemCount += other.itemCount;
+        this.checksum += other.checksum;
+        return this;
+    }
+
+    public boolean matches(SettlementControlTotals other) {
+        return sellerCount == other.sellerCount
+                && totalSales == other.totalSales
+                && totalNetAmount == other.totalNetAmount
+                && orderCount == other.orderCount
+                && itemCount == other.itemCount
+                && checksum == other.checksum;
+    }
+
+    public static boolean isPresentIn(ExecutionContext executionContext) {
+        return executionContext.containsKey(CHECKSUM_KEY);
+    }
+
+    public static SettlementControlTotals from(ExecutionContext executionContext) {
+        SettlementControlTotals totals = new SettlementControlTotals();
+        totals.sellerCount = executionContext.getLong(SELLER_COUNT_KEY, 0L);
+        totals.totalSales = executionContext.getLong(TOTAL_SALES_KEY, 0L);
+        totals.totalNetAmount = executionContext.getLong(TOTAL_NET_AMOUNT_KEY, 0L);
+        totals.orderCount = executionContext.getLong(ORDER_COUNT_KEY, 0L);
+        totals.itemCount = executionContext.getLong(ITEM_COUNT_KEY, 0L);
+        totals.checksum = executionContext.getLong(CHECKSUM_KEY, 0L);
+        return totals;
+    }
+
+    public void writeTo(ExecutionContext executionContext) {
+        executionContext.putLong(SELLER_COUNT_KEY, sellerCount);
+        executionContext.putLong(TOTAL_SALES_KEY, totalSales);
+        executionContext.putLong(TOTAL_NET_AMOUNT_KEY, totalNetAmount);
+        executionContext.putLong(ORDER_COUNT_KEY, orderCount);
+        executionContext.putLong(ITEM_COUNT_KEY, itemCount);
+        executionContext.putLong(CHECKSUM_KEY, checksum);
+    }
+
+    @Override
+    public String toString() {
+        return "sellers=" + sellerCount + ", totalSales=" + totalSales + ", totalNetAmount=" + totalNetAmount
+                + ", orders=" + orderCount + ", items=" + itemCount + ", checksum=" + Long.toHexString(checksum);
+    }
+
+    private static long sellerHash(long sellerId, long totalSales, long commission, long netAmount,
+                                   long orderCount, long itemCount) {
+        long h = mix(sellerId);
+        h = mix(h ^ totalSales);
+        h = mix(h ^ commission);
+        h = mix(h ^ netAmount);
+        h = mix(h ^ orderCount);
+        return mix(h ^ itemCount);
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
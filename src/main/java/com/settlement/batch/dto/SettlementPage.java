@@ -0,0 +1,12 @@
+package com.settlement.batch.dto;
+
+import java.util.List;
+
+/**
+ * 정산 조회 API 페이지
+ *
+ * @param items      (settlement_date, seller_id) 순으로 정렬된 행
+ * @param nextCursor 다음 페이지 커서, 마지막 페이지면 null
+ */
+public record SettlementPage(List<SettlementView> items, String nextCursor) {
+}
@@ -0,0 +1,15 @@
+package com.settlement.batch.dto;
+
+import com.settlement.enums.SettlementStatus;
+
+import java.time.LocalDate;
+
+/**
+ * 정산 조회 조건
+ *
+ * sellerId / status 는 선택 조건이고, cursor 는 이전 페이지의 nextCursor (첫 페이지는 null) 이다.
+ * 조회 결과 캐시의 키로도 사용한다.
+ */
+public record SettlementQuery(Long sellerId, LocalDate startDate, LocalDate endDate,
+                              SettlementStatus status, String cursor, int size) {
+}
@@ -0,0 +1,12 @@
+package com.settlement.batch.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 정산 조회 API 응답 행
+ */
+public record SettlementView(Long sellerId, LocalDate settlementDate, BigDecimal totalSales,
+                             BigDecimal commissionRate, BigDecimal commission, BigDecimal netAmount,
+                             int orderCount, int itemCount, String status) {
+}
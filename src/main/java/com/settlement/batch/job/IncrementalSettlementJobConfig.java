@@ -0,0 +1,182 @@
+package com.settlement.batch.job;
+
+import com.settlement.batch.dto.DirtySellerAggregation;
+import com.settlement.batch.dto.SellerAggregation;
+import com.settlement.batch.listener.SettlementCacheInvalidationListener;
+import com.settlement.batch.listener.SqlSourceListener;
+import com.settlement.batch.writer.IncrementalSettlementWriter;
+import com.settlement.common.money.Money;
+import com.settlement.common.shard.ShardDataSources;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ItemReadListener;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.database.JdbcPagingItemReader;
+import org.springframework.batch.item.database.Order;
+import org.springframework.batch.item.database.builder.JdbcPagingItemReaderBuilder;
+import org.springframework.batch.item.database.support.MySqlPagingQueryProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 증분 정산 Job 설정
+ *
+ * settlement_dirty_sellers 에 기록된 (판매자, 매출일) 쌍만 재집계하여 settlements 에 UPSERT 하고 outbox 에서 지운다.
+ * 늦게 들어온 환불 / 취소를 반영할 때 해당 판매자만 다시 읽으므로 전체 재정산 대비 변경된 판매자 비율만큼의 비용이 든다.
+ *
+ * Job 파라미터: cutoffDate (yyyy-MM-dd, 이 날짜 이전 매출일만 처리, 기본값: 오늘)
+ *
+ * 재집계 원천은 settlement.reader.mode 를 따른다:
+ * - rollup : seller_daily_sales 의 (매출일, 판매자) 행 (outbox 와 같은 트랜잭션에서 갱신됨)
+ * - 그 외  : order_items 를 판매자별로 LATERAL 집계 (idx_seller_ordered 로 판매자의 그 날 주문상품만 읽음)
+ *           settlement.reader.ordered-at-backfilled=false 이면 order_items.ordered_at 이 아직 비어 있을 수 있으므로
+ *           orders.ordered_at 으로 날짜를 거른다
+ *
+ * outbox 는 주문 상태 변경과 같은 primary 에 기록되므로 replica / 샤딩 설정과 관계없이 primary 에서 읽고 쓴다.
+ * 샤딩 환경에서는 판매자 주문이 샤드에 있으므로 지원하지 않는다.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class IncrementalSettlementJobConfig {
+
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final DataSource dataSource;
+    private final ShardDataSources shardDataSources;
+    private final IncrementalSettlementWriter incrementalSettlementWriter;
+    private final SqlSourceListener sqlSourceListener;
+    private final SettlementCacheInvalidationListener cacheInvalidationListener;
+
+    @Value("${settlement.chunk.size:100}")
+    private int chunkSize;
+
+    @Value("${settlement.reader.mode:paging}")
+    private String readerMode;
+
+    @Value("${settlement.reader.ordered-at-backfilled:false}")
+    private boolean orderedAtBackfilled;
+
+    @Bean
+    public Job incrementalSettlementJob() {
+        return new JobBuilder("incrementalSettlementJob", jobRepository)
+                .listener(cacheInvalidationListener)
+                .start(incrementalSettlementStep())
+                .build();
+    }
+
+    @Bean
+    public Step incrementalSettlementStep() {
+        return new StepBuilder("incrementalSettlementStep", jobRepository)
+                .<DirtySellerAggregation, DirtySellerAggregation>chunk(chunkSize, transactionManager)
+                .reader(dirtySellerAggregationReader(null))
+                .writer(incrementalSettlementWriter)
+                .listener((ItemReadListener<Object>) sqlSourceListener)
+                .listener((ItemWriteListener<Object>) sqlSourceListener)
+                .listener((ChunkListener) sqlSourceListener)
+                .build();
+    }
+
+    /**
+     * (매출일, 판매자) keyset 순으로 outbox 를 읽으며 쌍마다 재집계한다
+     * 처리한 행은 Writer 가 지우므로 OFFSET 이 아닌 keyset 페이징이어야 한다
+     */
+    @Bean
+    @StepScope
+    public JdbcPagingItemReader<DirtySellerAggregation> dirtySellerAggregationReader(
+            @Value("#{jobParameters['cutoffDate']}") String cutoffDate) {
+
+        if (shardDataSources.isEnabled()) {
+            throw new IllegalStateException("incrementalSettlementJob 은 settlement.sharding 과 함께 사용할 수 없습니다");
+        }
+
+        LocalDate cutoff = cutoffDate != null ? LocalDate.parse(cutoffDate) : LocalDate.now();
+
+        MySqlPagingQueryProvider queryProvider = "rollup".equals(readerMode)
+                ? rollupQueryProvider()
+                : orderItemsQueryProvider();
+        queryProvider.setWhereClause("sales_date < :cutoffDate");
+        // USING / LATERAL 로 sales_date, seller_id 가 한 테이블에만 있으므로 별칭 없이 정렬 키로 사용한다
+        Map<String, Order> sortKeys = new LinkedHashMap<>();
+        sortKeys.put("sales_date", Order.ASCENDING);
+        sortKeys.put("seller_id", Order.ASCENDING);
+        queryProvider.setSortKeys(sortKeys);
+
+        return new JdbcPagingItemReaderBuilder<DirtySellerAggregation>()
+                .name("dirtySellerAggregationReader")
+                .dataSource(dataSource)
+                .queryProvider(queryProvider)
+                .parameterValues(Map.of("cutoffDate", cutoff))
+                .pageSize(chunkSize)
+                .rowMapper((rs, rowNum) -> new DirtySellerAggregation(
+                        rs.getObject("sales_date", LocalDate.class),
+                        rs.getLong("version"),
+                        new SellerAggregation(
+                                rs.getLong("seller_id"),
+                                rs.getString("seller_grade"),
+                                Money.toMinor(rs.getBigDecimal("total_sales")),
+                                rs.getLong("order_count"),
+                                rs.getLong("item_count"))))
+                .build();
+    }
+
+    private MySqlPagingQueryProvider orderItemsQueryProvider() {
+        MySqlPagingQueryProvider queryProvider = new MySqlPagingQueryProvider();
+        queryProvider.setSelectClause("""
+                seller_id,
+                sales_date,
+                d.version,
+                s.grade as seller_grade,
+                COALESCE(a.total_sales, 0) as total_sales,
+                a.order_count,
+                a.item_count
+                """);
+        queryProvider.setFromClause("""
+                settlement_dirty_sellers d
+                JOIN sellers s ON d.seller_id = s.id
+                CROSS JOIN LATERAL (
+                    SELECT SUM(oi.total_price) as total_sales,
+                           COUNT(DISTINCT oi.order_id) as order_count,
+                           COUNT(oi.id) as item_count
+                    FROM order_items oi
+                    JOIN orders o ON oi.order_id = o.id
+                    WHERE oi.seller_id = d.seller_id
+                    AND %1$s >= d.sales_date
+                    AND %1$s < d.sales_date + INTERVAL 1 DAY
+                    AND o.status IN ('DELIVERED', 'SHIPPED', 'PAID')
+                ) a
+                """.formatted(orderedAtBackfilled ? "oi.ordered_at" : "o.ordered_at"));
+        return queryProvider;
+    }
+
+    private MySqlPagingQueryProvider rollupQueryProvider() {
+        MySqlPagingQueryProvider queryProvider = new MySqlPagingQueryProvider();
+        queryProvider.setSelectClause("""
+                seller_id,
+                sales_date,
+                d.version,
+                s.grade as seller_grade,
+                COALESCE(r.total_sales, 0) as total_sales,
+                COALESCE(r.order_count, 0) as order_count,
+                COALESCE(r.item_count, 0) as item_count
+                """);
+        queryProvider.setFromClause("""
+                settlement_dirty_sellers d
+                JOIN sellers s ON d.seller_id = s.id
+                LEFT JOIN seller_daily_sales r USING (sales_date, seller_id)
+                """);
+        return queryProvider;
+    }
+}
@@ -0,0 +1,40 @@
+package com.settlement.batch.job;
+
+import com.settlement.batch.tasklet.OrderItemsOrderedAtBackfillTasklet;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * order_items.ordered_at 백필 Job 설정
+ *
+ * V8 마이그레이션 이후 한 번 실행하는 작업으로, Flyway 밖에서 id 범위 배치로 기존 주문상품의 주문 시각을 채운다
+ */
+@Configuration
+@RequiredArgsConstructor
+public class OrderItemsOrderedAtBackfillJobConfig {
+
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final OrderItemsOrderedAtBackfillTasklet backfillTasklet;
+
+    @Bean
+    public Job orderItemsOrderedAtBackfillJob() {
+        return new JobBuilder("orderItemsOrderedAtBackfillJob", jobRepository)
+                .start(orderItemsOrderedAtBackfillStep())
+                .build();
+    }
+
+    @Bean
+    public Step orderItemsOrderedAtBackfillStep() {
+        return new StepBuilder("orderItemsOrderedAtBackfillStep", jobRepository)
+                .tasklet(backfillTasklet, transactionManager)
+                .build();
+    }
+}
@@ -0,0 +1,41 @@
+package com.settlement.batch.job;
+
+import com.settlement.batch.tasklet.SellerDailySalesRebuildTasklet;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * seller_daily_sales 롤업 재구축 Job 설정
+ *
+ * Job 파라미터: startDate, endDate (yyyy-MM-dd)
+ * 증분 갱신 이전의 과거 데이터 백필 또는 롤업 보정에 사용한다
+ */
+@Configuration
+@RequiredArgsConstructor
+public class SellerDailySalesRebuildJobConfig {
+
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final SellerDailySalesRebuildTasklet rebuildTasklet;
+
+    @Bean
+    public Job sellerDailySalesRebuildJob() {
+        return new JobBuilder("sellerDailySalesRebuildJob", jobRepository)
+                .start(sellerDailySalesRebuildStep())
+                .build();
+    }
+
+    @Bean
+    public Step sellerDailySalesRebuildStep() {
+        return new StepBuilder("sellerDailySalesRebuildStep", jobRepository)
+                .tasklet(rebuildTasklet, transactionManager)
+                .build();
+    }
+}
@@ -0,0 +1,41 @@
+package com.settlement.batch.job;
+
+import com.settlement.batch.tasklet.SettlementAdjustmentCompactionTasklet;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * 정산 조정 원장 압축 Job 설정
+ *
+ * settlement_adjustments 중 아직 접지 않은 행을 판매자 / 월별 settlement_adjustment_balances 에 누적한다.
+ * Job 파라미터 없음 (재실행 시 남은 원장만 처리)
+ */
+@Configuration
+@RequiredArgsConstructor
+public class SettlementAdjustmentCompactionJobConfig {
+
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final SettlementAdjustmentCompactionTasklet compactionTasklet;
+
+    @Bean
+    public Job settlementAdjustmentCompactionJob() {
+        return new JobBuilder("settlementAdjustmentCompactionJob", jobRepository)
+                .start(settlementAdjustmentCompactionStep())
+                .build();
+    }
+
+    @Bean
+    public Step settlementAdjustmentCompactionStep() {
+        return new StepBuilder("settlementAdjustmentCompactionStep", jobRepository)
+                .tasklet(compactionTasklet, transactionManager)
+                .build();
+    }
+}
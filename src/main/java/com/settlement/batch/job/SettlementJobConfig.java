@@ -1,39 +1,120 @@
 package com.settlement.batch.job;
 
 import com.settlement.batch.dto.SellerAggregation;
+import com.settlement.batch.listener.SettlementCacheInvalidationListener;
+import com.settlement.batch.listener.SettlementControlTotalsListener;
+import com.settlement.batch.listener.ConsistentSnapshotListener;
 import com.settlement.batch.listener.SettlementJobListener;
+import com.settlement.batch.listener.SqlSourceListener;
+import com.settlement.batch.listener.SettlementMetricsListener;
+import com.settlement.batch.partitioner.SellerRangePartitioner;
+import com.settlement.batch.policy.AdaptiveChunkSizeController;
 import com.settlement.batch.processor.SettlementProcessor;
+import com.settlement.batch.reader.KeysetSellerAggregationReader;
+import com.settlement.batch.reader.PipelinedItemStreamReader;
+import com.settlement.batch.reader.SpillingSellerAggregationReader;
+import com.settlement.batch.reader.StreamingSellerAggregationReader;
+import com.settlement.batch.tasklet.SettlementStagingMergeTasklet;
+import com.settlement.batch.tasklet.SettlementVanishedSellerTasklet;
 import com.settlement.batch.tasklet.SettlementVerificationTasklet;
+import com.settlement.batch.writer.BulkLoadSettlementWriter;
+import com.settlement.batch.writer.JdbcUpsertSettlementWriter;
 import com.settlement.batch.writer.SettlementWriter;
+import com.settlement.common.jdbc.ReadDataSourceRouter;
+import com.settlement.common.money.Money;
+import com.settlement.common.shard.ShardDataSources;
+import com.settlement.common.shard.ShardDataSources.ShardTarget;
 import com.settlement.domain.Settlement.Settlement;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ItemProcessListener;
+import org.springframework.batch.core.ItemReadListener;
+import org.springframework.batch.core.ItemWriteListener;
 import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecutionListener;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.FlowBuilder;
 import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.job.builder.SimpleJobBuilder;
+import org.springframework.batch.core.job.flow.Flow;
+import org.springframework.batch.core.job.flow.support.SimpleFlow;
 import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
 import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.ItemWriter;
 import org.springframework.batch.item.database.JdbcPagingItemReader;
 import org.springframework.batch.item.database.Order;
 import org.springframework.batch.item.database.builder.JdbcPagingItemReaderBuilder;
 import org.springframework.batch.item.database.support.MySqlPagingQueryProvider;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
 
 import javax.sql.DataSource;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.IntSupplier;
 
 /**
  * 정산 배치 Job 설정
  *
  * 처리 흐름:
  * Step 1. 정산 처리: Reader → Processor → Writer
- * Step 2. 검증: OrderItem 합계와 Settlement 합계 비교
+ * (bulk 모드) 스테이징 병합: settlements_staging → settlements
+ * 집계에서 사라진 판매자 정리: 주문이 모두 빠진 CONFIRMED / PAID 판매자는 원장으로 0 으로 맞추고 PENDING 정산은 삭제
+ * Step 2. 검증: Step 1 에서 누적한 컨트롤 합계와 Settlement 합계 비교
+ *
+ * settlement.step.mode:
+ * - simple      : 단일 스레드 chunk Step (기본값)
+ * - partitioned : seller_id 범위로 파티셔닝하여 워커 Step 을 병렬 실행
+ * - multithreaded : 하나의 keyset Reader 를 여러 chunk 스레드가 공유 (paging, rollup Reader 만 지원)
+ *
+ * settlement.reader.mode:
+ * - paging    : GROUP BY 집계 쿼리를 페이지 단위로 실행 (기본값)
+ * - streaming : order_items 를 한 번만 스트리밍하여 JVM 에서 판매자별 집계
+ * - rollup    : seller_daily_sales 롤업 테이블만 조회
+ * - spill     : order_items 를 seller_id 해시 파티션 spill 파일로 나눈 뒤 파티션별로 집계 (판매자 수와 무관한 메모리)
+ *
+ * settlement.pipeline.enabled:
+ * - true 이면 Reader / Processor 를 전용 스레드에서 미리 실행하여 Writer 커밋과 겹친다
+ *   (multithreaded 모드와 함께 사용할 수 없다)
+ *
+ * settlement.chunk.adaptive.enabled:
+ * - true 이면 chunk 크기를 AdaptiveChunkSizeController 가 실행 중에 조정한다
+ *   (paging / rollup Reader 는 keyset Reader 로 바꿔 페이지 크기도 chunk 크기를 따라가게 한다)
+ *
+ * settlement.replica.enabled:
+ * - true 이면 Reader 는 복제 지연을 확인한 뒤 replica 에서 조회한다 (ReadDataSourceRouter)
+ *   Writer 와 Spring Batch 메타데이터는 항상 primary 를 사용한다
+ *
+ * settlement.sharding.enabled:
+ * - true 이면 settlement.step.mode 대신 샤드별 정산 Step(settlementStep-{shardId})을 split Flow 로 병렬 실행한다
+ *   샤드 Step 은 샤드 DataSource 에서 집계하고 샤드 settlements 에 JDBC UPSERT 한다
+ *   (step.mode 는 simple, writer.mode 는 jpa(기본값) / jdbc 만 허용하고 나머지는 시작 시 거부한다)
+ *   검증 Step 은 모든 샤드의 합계를 모아 비교한다
+ *
+ * settlement.snapshot.enabled:
+ * - true 이면 Reader 와 검증 Tasklet 이 Job 시작 시 고정한 일관된 읽기 스냅샷(ConsistentSnapshotListener)으로 조회한다
+ *   (커넥션 하나를 공유하므로 partitioned 모드에서는 사용할 수 없다)
+ *
+ * settlement.writer.mode:
+ * - jpa  : 기존 데이터 조회 후 JPA saveAll (기본값)
+ * - jdbc : chunk 당 INSERT ... ON DUPLICATE KEY UPDATE 1회
+ * - bulk : chunk 당 LOAD DATA LOCAL INFILE 로 스테이징 적재, Step 종료 후 INSERT ... SELECT 로 병합
  */
 @Slf4j
 @Configuration
@@ -42,24 +123,156 @@ public class SettlementJobConfig {
 
     private final JobRepository jobRepository;
     private final PlatformTransactionManager transactionManager;
-    private final DataSource dataSource;
+    private final ReadDataSourceRouter readDataSourceRouter;
+    private final ShardDataSources shardDataSources;
     private final SettlementJobListener jobListener;
+    private final ConsistentSnapshotListener snapshotListener;
+    private final SqlSourceListener sqlSourceListener;
     private final SettlementProcessor processor;
     private final SettlementWriter writer;
+    private final JdbcUpsertSettlementWriter jdbcUpsertWriter;
+    private final BulkLoadSettlementWriter bulkLoadWriter;
+    private final SettlementStagingMergeTasklet stagingMergeTasklet;
+    private final SettlementControlTotalsListener controlTotalsListener;
+    private final SettlementMetricsListener metricsListener;
+    private final SettlementCacheInvalidationListener cacheInvalidationListener;
+    private final SettlementVanishedSellerTasklet vanishedSellerTasklet;
     private final SettlementVerificationTasklet verificationTasklet;
+    private final SellerRangePartitioner sellerRangePartitioner;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${settlement.chunk.size:100}")
+    private int chunkSize;
+
+    @Value("${settlement.chunk.adaptive.enabled:false}")
+    private boolean adaptiveChunkEnabled;
+
+    @Value("${settlement.chunk.adaptive.min-size:50}")
+    private int adaptiveMinSize;
+
+    @Value("${settlement.chunk.adaptive.max-size:1000}")
+    private int adaptiveMaxSize;
+
+    @Value("${settlement.chunk.adaptive.target-chunk-ms:1000}")
+    private long adaptiveTargetChunkMillis;
+
+    @Value("${settlement.chunk.adaptive.min-heap-headroom:0.2}")
+    private double adaptiveMinHeapHeadroom;
 
-    private static final int CHUNK_SIZE = 100;
-    private static final int PAGE_SIZE = 100;
+    @Value("${settlement.reader.page-size:100}")
+    private int pageSize;
+
+    @Value("${settlement.step.mode:simple}")
+    private String stepMode;
+
+    @Value("${settlement.reader.mode:paging}")
+    private String readerMode;
+
+    @Value("${settlement.reader.spill.directory:}")
+    private String spillDirectory;
+
+    @Value("${settlement.reader.spill.memory-budget-mb:256}")
+    private long spillMemoryBudgetMb;
+
+    @Value("${settlement.reader.spill.partitions:64}")
+    private int spillPartitions;
+
+    @Value("${settlement.writer.mode:jpa}")
+    private String writerMode;
+
+    @Value("${settlement.pipeline.enabled:false}")
+    private boolean pipelineEnabled;
+
+    @Value("${settlement.pipeline.queue-size:200}")
+    private int pipelineQueueSize;
+
+    @Value("${settlement.step.threads:4}")
+    private int stepThreads;
+
+    @Value("${settlement.partition.grid-size:4}")
+    private int gridSize;
+
+    @Value("${settlement.partition.pool-size:4}")
+    private int partitionPoolSize;
+
+    @Value("${settlement.snapshot.enabled:false}")
+    private boolean snapshotEnabled;
 
     @Bean
     public Job settlementJob() {
-        return new JobBuilder("settlementJob", jobRepository)
+        JobBuilder jobBuilder = new JobBuilder("settlementJob", jobRepository)
                 .listener(jobListener)
-                .start(settlementStep())
+                .listener((JobExecutionListener) cacheInvalidationListener);
+        if (snapshotEnabled) {
+            jobBuilder.listener(snapshotListener);
+        }
+        if (shardDataSources.isEnabled()) {
+            if (snapshotEnabled) {
+                throw new IllegalStateException("settlement.snapshot.enabled 는 settlement.sharding 과 함께 사용할 수 없습니다");
+            }
+            if (!"simple".equals(stepMode)) {
+                throw new IllegalStateException("settlement.sharding 은 settlement.step.mode=simple 에서만 사용할 수 있습니다: "
+                        + stepMode);
+            }
+            if (!"jpa".equals(writerMode) && !"jdbc".equals(writerMode)) {
+                throw new IllegalStateException("settlement.sharding 은 샤드 JDBC UPSERT Writer 를 사용하므로 "
+                        + "settlement.writer.mode=" + writerMode + " 와 함께 사용할 수 없습니다");
+            }
+            return jobBuilder.start(shardedSettlementFlow())
+                    .next(vanishedSellerStep())
+                    .next(verificationStep())
+                    .end()
+                    .build();
+        }
+        SimpleJobBuilder builder = jobBuilder.start(settlementStep());
+        if ("bulk".equals(writerMode)) {
+            builder = builder.next(stagingMergeStep());
+        }
+        return builder
+                .next(vanishedSellerStep())
                 .next(verificationStep())
                 .build();
     }
 
+    /**
+     * 샤드별 정산 Step 을 병렬 실행하는 split Flow
+     * 샤드 Step 은 settlementStep-{shardId} 이름으로 자기 샤드에서 집계하고 자기 샤드 settlements 에 UPSERT 한다
+     */
+    private Flow shardedSettlementFlow() {
+        Flow[] shardFlows = shardDataSources.all().stream()
+                .map(shard -> new FlowBuilder<SimpleFlow>("settlementShardFlow-" + shard.id())
+                        .start(settlementChunkStep("settlementStep-" + shard.id(), shard))
+                        .build())
+                .toArray(Flow[]::new);
+
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("settlement-shard-");
+        executor.setConcurrencyLimit(shardFlows.length);
+        return new FlowBuilder<SimpleFlow>("settlementShardSplit")
+                .split(executor)
+                .add(shardFlows)
+                .build();
+    }
+
+    /**
+     * bulk 모드 스테이징 병합 Step
+     * 병합이 실패해도 settlementStep 은 완료 상태이므로 재시작 시 이 Step 부터 다시 실행된다
+     */
+    private Step stagingMergeStep() {
+        return new StepBuilder("settlementStagingMergeStep", jobRepository)
+                .tasklet(stagingMergeTasklet, transactionManager)
+                .build();
+    }
+
+    /**
+     * 집계 결과에 나오지 않은 판매자를 정리하는 Step (검증 전에 확정 정산은 0 으로 조정하고 PENDING 정산은 삭제한다)
+     */
+    @Bean
+    public Step vanishedSellerStep() {
+        return new StepBuilder("settlementVanishedSellerStep", jobRepository)
+                .tasklet(vanishedSellerTasklet, transactionManager)
+                .build();
+    }
+
     @Bean
     public Step verificationStep() {
         return new StepBuilder("verificationStep", jobRepository)
@@ -69,27 +282,274 @@ public class SettlementJobConfig {
 
     @Bean
     public Step settlementStep() {
+        if (snapshotEnabled && "partitioned".equals(stepMode)) {
+            throw new IllegalStateException("settlement.snapshot.enabled 는 partitioned 모드에서 사용할 수 없습니다 "
+                    + "(읽기 스냅샷 커넥션을 여러 워커가 동시에 사용할 수 없음)");
+        }
+        if (pipelineEnabled && "multithreaded".equals(stepMode)) {
+            throw new IllegalStateException("settlement.pipeline.enabled 는 multithreaded 모드에서 사용할 수 없습니다 "
+                    + "(파이프라인 Reader 는 chunk 스레드 하나만 소비한다)");
+        }
+        return switch (stepMode) {
+            case "partitioned" -> partitionedSettlementStep();
+            case "simple" -> settlementChunkStep("settlementStep", null);
+            case "multithreaded" -> multiThreadedSettlementStep();
+            default -> throw new IllegalStateException("알 수 없는 settlement.step.mode: " + stepMode);
+        };
+    }
+
+    /**
+     * 파티셔닝 Manager Step
+     * 각 파티션은 settlementWorkerStep:partitionN 이름의 독립 StepExecution 으로 실행된다
+     */
+    private Step partitionedSettlementStep() {
         return new StepBuilder("settlementStep", jobRepository)
-                .<SellerAggregation, Settlement>chunk(CHUNK_SIZE, transactionManager)
-                .reader(sellerAggregationReader(null))
+                .partitioner("settlementWorkerStep", sellerRangePartitioner)
+                .step(settlementChunkStep("settlementWorkerStep", null))
+                .gridSize(gridSize)
+                .taskExecutor(settlementPartitionTaskExecutor())
+                .build();
+    }
+
+    /**
+     * 멀티 스레드 chunk Step
+     * chunk 스레드들이 KeysetSellerAggregationReader 하나를 공유하고, Reader 가 완료 범위로 재시작 위치를 기록한다
+     * (Reader 는 ItemWriteListener / ChunkListener 를 구현하므로 Step 빌더가 리스너로 자동 등록한다)
+     */
+    @SuppressWarnings("removal")
+    private Step multiThreadedSettlementStep() {
+        return withSettlementListeners(this.<SellerAggregation>chunkStepBuilder("settlementStep", null)
+                .reader(keysetSellerAggregationReader(null, null, null, null))
                 .processor(processor)
-                .writer(writer)
+                .writer(settlementItemWriter())
+                .listener((ItemReadListener<SellerAggregation>) metricsListener)
+                .listener((ItemProcessListener<SellerAggregation, Settlement>) metricsListener))
+                .taskExecutor(settlementChunkTaskExecutor())
+                // TaskExecutorRepeatTemplate 기본 동시 실행 수(4)를 스레드 수에 맞춘다
+                .throttleLimit(stepThreads)
                 .build();
     }
 
+    /**
+     * 정산 chunk Step
+     * shard 가 있으면 샤드 트랜잭션 매니저와 샤드 UPSERT Writer 를 사용하고,
+     * Reader 는 Step ExecutionContext 의 shardId 로 샤드 DataSource 를 고른다
+     */
+    private Step settlementChunkStep(String stepName, ShardTarget shard) {
+        ItemWriter<Settlement> stepWriter = shard != null
+                ? new JdbcUpsertSettlementWriter(shard.jdbcTemplate())
+                : settlementItemWriter();
+
+        if (pipelineEnabled) {
+            // Reader / Processor 는 파이프라인 스레드에서 실행되므로 read / process 리스너는 등록하지 않는다
+            return withSettlementListeners(this.<Settlement>chunkStepBuilder(stepName, shard)
+                    .reader(pipelinedSettlementReader())
+                    .writer(stepWriter))
+                    .build();
+        }
+
+        // 적응형 chunk 에서는 페이지 크기를 바꿀 수 있는 keyset Reader 를 사용한다
+        boolean keysetReader = adaptiveChunkEnabled
+                && !"streaming".equals(readerMode) && !"spill".equals(readerMode);
+        return withSettlementListeners(this.<SellerAggregation>chunkStepBuilder(stepName, shard)
+                .reader(keysetReader
+                        ? keysetSellerAggregationReader(null, null, null, null)
+                        : sellerAggregationReader(null, null, null, null))
+                .processor(processor)
+                .writer(stepWriter)
+                .listener((ItemReadListener<SellerAggregation>) metricsListener)
+                .listener((ItemProcessListener<SellerAggregation, Settlement>) metricsListener))
+                .build();
+    }
+
+    /**
+     * 샤드 Step 시작 시 shardId (range 매핑이면 판매자 구간도)를 Step ExecutionContext 에 넣는다
+     */
+    private StepExecutionListener shardContextListener(ShardTarget shard) {
+        return new StepExecutionListener() {
+            @Override
+            public void beforeStep(StepExecution stepExecution) {
+                ExecutionContext context = stepExecution.getExecutionContext();
+                context.putString(ShardDataSources.SHARD_ID, shard.id());
+                if (shard.minSellerId() != null) {
+                    context.putLong(SellerRangePartitioner.MIN_SELLER_ID, shard.minSellerId());
+                    context.putLong(SellerRangePartitioner.MAX_SELLER_ID, shard.maxSellerId());
+                }
+            }
+        };
+    }
+
+    /**
+     * 고정 크기(settlement.chunk.size) 또는 적응형 크기 chunk Step 빌더
+     * shard 가 있으면 샤드 트랜잭션 매니저로 chunk 를 커밋하고 샤드 정보를 Step ExecutionContext 에 넣는다
+     */
+    private <I> SimpleStepBuilder<I, Settlement> chunkStepBuilder(String stepName, ShardTarget shard) {
+        StepBuilder builder = new StepBuilder(stepName, jobRepository);
+        if (shard != null) {
+            builder.listener(shardContextListener(shard));
+        }
+        PlatformTransactionManager stepTransactionManager = shard != null
+                ? shard.transactionManager()
+                : transactionManager;
+        if (!adaptiveChunkEnabled) {
+            return builder.chunk(chunkSize, stepTransactionManager);
+        }
+
+        AdaptiveChunkSizeController controller = adaptiveChunkSizeController();
+        return builder.<I, Settlement>chunk(controller, stepTransactionManager)
+                .listener((StepExecutionListener) controller)
+                .listener((ChunkListener) controller)
+                .listener((ItemWriteListener<Settlement>) controller);
+    }
+
+    /**
+     * 적응형 chunk 크기 컨트롤러
+     * 파티션 워커마다 독립적으로 크기를 조정하도록 Step scope 로 생성한다
+     */
+    @Bean
+    @StepScope
+    public AdaptiveChunkSizeController adaptiveChunkSizeController() {
+        return new AdaptiveChunkSizeController(meterRegistry, chunkSize, adaptiveMinSize, adaptiveMaxSize,
+                adaptiveTargetChunkMillis, adaptiveMinHeapHeadroom);
+    }
+
+    private <I> SimpleStepBuilder<I, Settlement> withSettlementListeners(SimpleStepBuilder<I, Settlement> builder) {
+        return builder
+                .listener((ItemWriteListener<Settlement>) controlTotalsListener)
+                .listener((StepExecutionListener) controlTotalsListener)
+                .listener((StepExecutionListener) metricsListener)
+                .listener((ChunkListener) metricsListener)
+                .listener((ItemWriteListener<Settlement>) metricsListener)
+                .listener((ChunkListener) jobListener)
+                .listener((ItemWriteListener<Settlement>) cacheInvalidationListener)
+                .listener((ItemReadListener<Object>) sqlSourceListener)
+                .listener((ItemWriteListener<Object>) sqlSourceListener)
+                .listener((ChunkListener) sqlSourceListener);
+    }
+
+    /**
+     * 파이프라인 Reader
+     * 파티션 워커마다 독립된 큐와 스레드를 가져야 하므로 Step scope 로 생성한다
+     */
+    @Bean
+    @StepScope
+    public ItemStreamReader<Settlement> pipelinedSettlementReader() {
+        // 고정 chunk 이면 chunk 경계마다만 delegate 상태를 스냅샷한다 (적응형은 경계가 바뀌므로 항목마다)
+        return new PipelinedItemStreamReader<>(sellerAggregationReader(null, null, null, null), processor,
+                pipelineQueueSize, adaptiveChunkEnabled ? 1 : chunkSize);
+    }
+
+    private ItemWriter<Settlement> settlementItemWriter() {
+        return switch (writerMode) {
+            case "jpa" -> writer;
+            case "jdbc" -> jdbcUpsertWriter;
+            case "bulk" -> bulkLoadWriter;
+            default -> throw new IllegalStateException("알 수 없는 settlement.writer.mode: " + writerMode);
+        };
+    }
+
+    /**
+     * 파티션 워커 실행용 TaskExecutor
+     * 워커 1개당 커넥션을 1개 이상 점유하므로 pool-size 는 Hikari maximum-pool-size 보다 작게 유지한다
+     */
+    @Bean
+    public TaskExecutor settlementPartitionTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(partitionPoolSize);
+        executor.setMaxPoolSize(partitionPoolSize);
+        executor.setQueueCapacity(Integer.MAX_VALUE);
+        executor.setThreadNamePrefix("settlement-partition-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 멀티 스레드 chunk Step 실행용 TaskExecutor
+     */
+    @Bean
+    public TaskExecutor settlementChunkTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(stepThreads);
+        executor.setMaxPoolSize(stepThreads);
+        executor.setThreadNamePrefix("settlement-chunk-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    @StepScope
+    public KeysetSellerAggregationReader keysetSellerAggregationReader(
+            @Value("#{jobParameters['targetDate']}") String targetDate,
+            @Value("#{stepExecutionContext['minSellerId']}") Long minSellerId,
+            @Value("#{stepExecutionContext['maxSellerId']}") Long maxSellerId,
+            @Value("#{stepExecutionContext['shardId']}") String shardId) {
+
+        LocalDate date = targetDate != null
+                ? LocalDate.parse(targetDate)
+                : LocalDate.now().minusDays(1);
+
+        AggregationQuery query = switch (readerMode) {
+            case "paging" -> pagingAggregationQuery(date, minSellerId, maxSellerId);
+            case "rollup" -> rollupAggregationQuery(date, minSellerId, maxSellerId);
+            default -> throw new IllegalStateException(
+                    "multithreaded 모드에서 지원하지 않는 settlement.reader.mode: " + readerMode);
+        };
+        IntSupplier pageSizeSupplier = adaptiveChunkEnabled
+                ? adaptiveChunkSizeController()::getPageSize
+                : () -> pageSize;
+        return new KeysetSellerAggregationReader(readerDataSource(date, shardId), query.queryProvider(),
+                query.parameterValues(), sellerAggregationRowMapper(), pageSizeSupplier);
+    }
+
     @Bean
     @StepScope
-    public JdbcPagingItemReader<SellerAggregation> sellerAggregationReader(
-            @Value("#{jobParameters['targetDate']}") String targetDate) {
+    public ItemStreamReader<SellerAggregation> sellerAggregationReader(
+            @Value("#{jobParameters['targetDate']}") String targetDate,
+            @Value("#{stepExecutionContext['minSellerId']}") Long minSellerId,
+            @Value("#{stepExecutionContext['maxSellerId']}") Long maxSellerId,
+            @Value("#{stepExecutionContext['shardId']}") String shardId) {
 
         LocalDate date = targetDate != null
                 ? LocalDate.parse(targetDate)
                 : LocalDate.now().minusDays(1);
 
+        return switch (readerMode) {
+            case "paging" -> buildPagingReader(readerDataSource(date, shardId),
+                    pagingAggregationQuery(date, minSellerId, maxSellerId));
+            case "streaming" -> new StreamingSellerAggregationReader(readerDataSource(date, shardId), date,
+                    minSellerId, maxSellerId);
+            case "spill" -> new SpillingSellerAggregationReader(readerDataSource(date, shardId), date,
+                    minSellerId, maxSellerId, spillRoot(), spillMemoryBudgetMb * 1024 * 1024, spillPartitions);
+            case "rollup" -> buildPagingReader(readerDataSource(date, shardId),
+                    rollupAggregationQuery(date, minSellerId, maxSellerId));
+            default -> throw new IllegalStateException("알 수 없는 settlement.reader.mode: " + readerMode);
+        };
+    }
+
+    /**
+     * spill 파일 위치 (설정이 없으면 java.io.tmpdir)
+     */
+    private Path spillRoot() {
+        return Path.of(spillDirectory.isBlank() ? System.getProperty("java.io.tmpdir") : spillDirectory);
+    }
+
+    private AggregationQuery pagingAggregationQuery(
+            LocalDate date, Long minSellerId, Long maxSellerId) {
+
         Map<String, Object> parameterValues = new HashMap<>();
         parameterValues.put("startDate", date.atStartOfDay());
         parameterValues.put("endDate", date.plusDays(1).atStartOfDay());
 
+        // 파티션 워커로 실행되는 경우 seller_id 범위로 제한
+        String sellerRangeClause = "";
+        if (minSellerId != null && maxSellerId != null) {
+            parameterValues.put("minSellerId", minSellerId);
+            parameterValues.put("maxSellerId", maxSellerId);
+            sellerRangeClause = "AND oi.seller_id BETWEEN :minSellerId AND :maxSellerId";
+        }
+
         MySqlPagingQueryProvider queryProvider = new MySqlPagingQueryProvider();
         queryProvider.setSelectClause("""
                 s.id as seller_id,
@@ -107,23 +567,89 @@ public class SettlementJobConfig {
                 o.ordered_at >= :startDate
                 AND o.ordered_at < :endDate
                 AND o.status IN ('DELIVERED', 'SHIPPED', 'PAID')
-                """);
+                """ + sellerRangeClause);
         queryProvider.setGroupClause("s.id, s.grade");
         queryProvider.setSortKeys(Map.of("seller_id", Order.ASCENDING));
 
+        return new AggregationQuery(queryProvider, parameterValues);
+    }
+
+    /**
+     * seller_daily_sales 롤업 테이블만 읽는 Reader
+     * GROUP BY 없이 판매자 수만큼만 읽으므로 주문상품 수와 무관하다
+     */
+    private AggregationQuery rollupAggregationQuery(
+            LocalDate date, Long minSellerId, Long maxSellerId) {
+
+        Map<String, Object> parameterValues = new HashMap<>();
+        parameterValues.put("salesDate", date);
+
+        String sellerRangeClause = "";
+        if (minSellerId != null && maxSellerId != null) {
+            parameterValues.put("minSellerId", minSellerId);
+            parameterValues.put("maxSellerId", maxSellerId);
+            sellerRangeClause = "AND r.seller_id BETWEEN :minSellerId AND :maxSellerId";
+        }
+
+        MySqlPagingQueryProvider queryProvider = new MySqlPagingQueryProvider();
+        queryProvider.setSelectClause("""
+                r.seller_id,
+                s.grade as seller_grade,
+                r.total_sales,
+                r.order_count,
+                r.item_count
+                """);
+        queryProvider.setFromClause("""
+                seller_daily_sales r
+                JOIN sellers s ON r.seller_id = s.id
+                """);
+        queryProvider.setWhereClause("""
+                r.sales_date = :salesDate
+                AND r.item_count > 0
+                """ + sellerRangeClause);
+        // sellers 에는 seller_id 컬럼이 없으므로 별칭 없이 정렬 키로 사용한다
+        queryProvider.setSortKeys(Map.of("seller_id", Order.ASCENDING));
+
+        return new AggregationQuery(queryProvider, parameterValues);
+    }
+
+    /**
+     * Reader 가 사용할 DataSource (Step scope 빈 생성 시점에 호출)
+     * 샤드 Step 이면 샤드 DataSource, 스냅샷 모드면 현재 Job 의 읽기 스냅샷 커넥션,
+     * 아니면 ReadDataSourceRouter 가 고른 replica / primary
+     */
+    private DataSource readerDataSource(LocalDate date, String shardId) {
+        if (shardId != null) {
+            return shardDataSources.get(shardId).dataSource();
+        }
+        return snapshotEnabled ? snapshotListener.currentDataSource() : readDataSourceRouter.forRead(date);
+    }
+
+    private JdbcPagingItemReader<SellerAggregation> buildPagingReader(DataSource readerDataSource,
+                                                                       AggregationQuery query) {
         return new JdbcPagingItemReaderBuilder<SellerAggregation>()
                 .name("sellerAggregationReader")
-                .dataSource(dataSource)
-                .queryProvider(queryProvider)
-                .parameterValues(parameterValues)
-                .pageSize(PAGE_SIZE)
-                .rowMapper((rs, rowNum) -> new SellerAggregation(
-                        rs.getLong("seller_id"),
-                        rs.getString("seller_grade"),
-                        rs.getBigDecimal("total_sales"),
-                        rs.getLong("order_count"),
-                        rs.getLong("item_count")
-                ))
+                .dataSource(readerDataSource)
+                .queryProvider(query.queryProvider())
+                .parameterValues(query.parameterValues())
+                .pageSize(pageSize)
+                .rowMapper(sellerAggregationRowMapper())
                 .build();
     }
+
+    private RowMapper<SellerAggregation> sellerAggregationRowMapper() {
+        return (rs, rowNum) -> new SellerAggregation(
+                rs.getLong("seller_id"),
+                rs.getString("seller_grade"),
+                Money.toMinor(rs.getBigDecimal("total_sales")),
+                rs.getLong("order_count"),
+                rs.getLong("item_count")
+        );
+    }
+
+    /**
+     * 판매자 집계 쿼리 (paging / keyset Reader 공용)
+     */
+    private record AggregationQuery(MySqlPagingQueryProvider queryProvider, Map<String, Object> parameterValues) {
+    }
 }
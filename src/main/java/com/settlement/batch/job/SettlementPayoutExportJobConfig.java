@@ -0,0 +1,42 @@
+package com.settlement.batch.job;
+
+import com.settlement.batch.tasklet.SettlementPayoutExportTasklet;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * 정산 지급 파일 내보내기 Job 설정
+ *
+ * 기간 settlements 를 은행 이체용 고정폭 파일과 CSV 로 내보낸다 (SettlementPayoutExportTasklet 참고).
+ * Job 파라미터: startDate, endDate (yyyy-MM-dd), status (선택, CSV 필터. 고정폭 이체 파일은 항상 CONFIRMED 만)
+ * 생성한 파일 경로는 JobExecution ExecutionContext 의 export.payoutFile / export.csvFile 에 남긴다.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class SettlementPayoutExportJobConfig {
+
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final SettlementPayoutExportTasklet payoutExportTasklet;
+
+    @Bean
+    public Job settlementPayoutExportJob() {
+        return new JobBuilder("settlementPayoutExportJob", jobRepository)
+                .start(settlementPayoutExportStep())
+                .build();
+    }
+
+    @Bean
+    public Step settlementPayoutExportStep() {
+        return new StepBuilder("settlementPayoutExportStep", jobRepository)
+                .tasklet(payoutExportTasklet, transactionManager)
+                .build();
+    }
+}
@@ -0,0 +1,122 @@
+package com.settlement.batch.listener;
+
+import com.settlement.common.jdbc.ReadDataSourceRouter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Job 단위 일관된 읽기 스냅샷
+ *
+ * settlement.snapshot.enabled=true 일 때 Job 시작 시 커넥션 하나를 고정하여
+ * START TRANSACTION READ ONLY, WITH CONSISTENT SNAPSHOT 으로 InnoDB 읽기 뷰를 만들고,
+ * 정산 Reader 와 검증 Tasklet 의 order_items 조회가 모두 이 커넥션을 사용하게 한다.
+ * 두 조회 사이에 들어온 주문 상태 변경(REFUNDED 등)이나 늦은 INSERT 가 한쪽에만 보이는 거짓 불일치를 막는다.
+ *
+ * 커넥션은 ReadDataSourceRouter 가 고른 DataSource(replica 사용 시 replica)에서 가져온다.
+ * 고정 커넥션은 스레드 하나만 사용할 수 있으므로 settlement.step.mode=simple 에서만 허용한다.
+ * Job 이 끝날 때까지 읽기 뷰가 유지되어 InnoDB purge 가 지연되므로 Job 시간이 긴 환경에서는 주의한다.
+ * 스냅샷은 JobExecution 마다 새로 만들어지므로 재시작 전후 실행은 서로 다른 스냅샷을 본다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ConsistentSnapshotListener implements JobExecutionListener {
+
+    private final ReadDataSourceRouter readDataSourceRouter;
+
+    private final Map<Long, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    @Override
+    public void beforeJob(JobExecution jobExecution) {
+        String targetDate = jobExecution.getJobParameters().getString("targetDate");
+        LocalDate date = targetDate != null
+                ? LocalDate.parse(targetDate)
+                : LocalDate.now().minusDays(1);
+        try {
+            Connection connection = readDataSourceRouter.forRead(date).getConnection();
+            try {
+                connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+                connection.setAutoCommit(false);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("START TRANSACTION READ ONLY, WITH CONSISTENT SNAPSHOT");
+                }
+            } catch (SQLException e) {
+                connection.close();
+                throw e;
+            }
+            snapshots.put(jobExecution.getId(), new Snapshot(connection));
+            log.info("일관된 읽기 스냅샷 시작 - jobExecutionId: {}", jobExecution.getId());
+        } catch (SQLException e) {
+            throw new IllegalStateException("일관된 읽기 스냅샷 시작 실패", e);
+        }
+    }
+
+    @Override
+    public void afterJob(JobExecution jobExecution) {
+        Snapshot snapshot = snapshots.remove(jobExecution.getId());
+        if (snapshot == null) {
+            return;
+        }
+        try (Connection connection = snapshot.connection()) {
+            connection.rollback();
+            connection.setAutoCommit(true);
+        } catch (SQLException e) {
+            log.warn("일관된 읽기 스냅샷 종료 실패 - jobExecutionId: {}", jobExecution.getId(), e);
+        }
+        log.info("일관된 읽기 스냅샷 종료 - jobExecutionId: {}", jobExecution.getId());
+    }
+
+    /**
+     * 현재 Step 이 속한 Job 의 스냅샷 DataSource
+     * Step scope 빈 생성 시점이나 Step 실행 스레드(StepSynchronizationManager 등록)에서 호출해야 한다
+     */
+    public DataSource currentDataSource() {
+        return currentSnapshot().dataSource();
+    }
+
+    public JdbcTemplate currentJdbcTemplate() {
+        return currentSnapshot().jdbcTemplate();
+    }
+
+    private Snapshot currentSnapshot() {
+        StepContext context = StepSynchronizationManager.getContext();
+        if (context == null) {
+            throw new IllegalStateException("Step 실행 범위 밖에서는 읽기 스냅샷을 사용할 수 없습니다");
+        }
+        Long jobExecutionId = context.getStepExecution().getJobExecutionId();
+        Snapshot snapshot = snapshots.get(jobExecutionId);
+        if (snapshot == null) {
+            throw new IllegalStateException("읽기 스냅샷이 없습니다 - jobExecutionId: " + jobExecutionId);
+        }
+        return snapshot;
+    }
+
+    /**
+     * 고정 커넥션과 close 를 무시하는 DataSource 뷰
+     */
+    private record Snapshot(Connection connection, DataSource dataSource, JdbcTemplate jdbcTemplate) {
+
+        private Snapshot(Connection connection) {
+            this(connection, new SingleConnectionDataSource(connection, true));
+        }
+
+        private Snapshot(Connection connection, DataSource dataSource) {
+            this(connection, dataSource, new JdbcTemplate(dataSource));
+        }
+    }
+}
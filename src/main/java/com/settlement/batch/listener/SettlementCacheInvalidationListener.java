@@ -0,0 +1,44 @@
+package com.settlement.batch.listener;
+
+import com.settlement.batch.cache.SettlementQueryCache;
+import com.settlement.domain.Settlement.Settlement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.item.Chunk;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 정산 조회 캐시 무효화 리스너
+ *
+ * chunk 에 쓰인 정산일들을 chunk 트랜잭션 커밋 이후 Job 실행별로 모으고,
+ * Job 이 끝나면 SettlementQueryCache 에서 날짜마다 한 번 무효화한다.
+ * 롤백된 chunk 는 settlements 를 바꾸지 않으므로 모으지 않는다.
+ * bulk 병합 / 증분 Writer / 사라진 판매자 조정도 같은 Job 실행에 정산일을 모으므로
+ * 이 리스너는 Step 과 Job 양쪽에 등록해야 한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class SettlementCacheInvalidationListener implements ItemWriteListener<Settlement>, JobExecutionListener {
+
+    private final SettlementQueryCache queryCache;
+
+    @Override
+    public void afterWrite(Chunk<? extends Settlement> items) {
+        Set<LocalDate> dates = new HashSet<>();
+        for (Settlement settlement : items) {
+            dates.add(settlement.getSettlementDate());
+        }
+        queryCache.invalidateAfterJob(dates);
+    }
+
+    @Override
+    public void afterJob(JobExecution jobExecution) {
+        queryCache.invalidateJobDates(jobExecution.getId());
+    }
+}
@@ -0,0 +1,46 @@
+package com.settlement.batch.listener;
+
+import com.settlement.batch.dto.SettlementControlTotals;
+import com.settlement.domain.Settlement.Settlement;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * 정산 Step 컨트롤 합계 누적 리스너
+ *
+ * chunk 저장 직후 저장된 Settlement 의 합계를 Step ExecutionContext 에 더한다.
+ * ExecutionContext 는 chunk 트랜잭션과 함께 커밋되고 롤백 시 이전 값으로 되돌아가므로
+ * 커밋된 chunk 만 합계에 반영되며, 재시작 시에도 이어서 누적된다.
+ */
+@Slf4j
+@Component
+public class SettlementControlTotalsListener implements StepExecutionListener, ItemWriteListener<Settlement> {
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        ExecutionContext executionContext = stepExecution.getExecutionContext();
+        if (!SettlementControlTotals.isPresentIn(executionContext)) {
+            new SettlementControlTotals().writeTo(executionContext);
+        }
+    }
+
+    @Override
+    public void afterWrite(Chunk<? extends Settlement> items) {
+        SettlementControlTotals chunkTotals = new SettlementControlTotals();
+        for (Settlement settlement : items) {
+            chunkTotals.add(settlement);
+        }
+
+        ExecutionContext executionContext = StepSynchronizationManager.getContext()
+                .getStepExecution().getExecutionContext();
+        synchronized (executionContext) {
+            SettlementControlTotals.from(executionContext).merge(chunkTotals).writeTo(executionContext);
+        }
+    }
+}
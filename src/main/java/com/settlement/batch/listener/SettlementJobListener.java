@@ -1,39 +1,95 @@
 package com.settlement.batch.listener;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ChunkListener;
 import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * 정산 배치 Job 실행 리스너
- * 시작/종료 시간 및 성능 메트릭을 로깅한다
+ * 시작/종료 시간과 메모리 / GC / 할당량 메트릭을 기록한다
+ *
+ * GC 를 강제로 실행하지 않고 JVM 이 제공하는 값만 사용한다.
+ * - 최대 힙 사용량 : 힙 MemoryPoolMXBean 의 peak usage 합계 (풀별 최고점 합이므로 상한값)
+ * - GC 횟수 / 시간 : Job 시작 ~ 종료 사이 GarbageCollectorMXBean 누적값 차이
+ * - 할당량         : chunk 를 처리한 스레드의 할당 바이트 (com.sun.management.ThreadMXBean)
+ * - JFR            : settlement.profiling.jfr.enabled=true 이면 Job 동안 녹화 후 파일로 덤프
+ *
+ * 결과는 Micrometer 메트릭(settlement.job.*, settlement.chunk.allocated)과
+ * Job ExecutionContext 의 profile.* 키에 남긴다.
+ * 여러 Job 이 동시에 실행되면(기간 정산) 힙 peak 와 GC 값은 프로세스 전체 기준이다.
  */
 @Slf4j
 @Component
-public class SettlementJobListener implements JobExecutionListener {
+@RequiredArgsConstructor
+public class SettlementJobListener implements JobExecutionListener, ChunkListener {
 
-    private long startMemory;
-    private long peakMemory;
+    private static final long MB = 1024 * 1024;
+
+    private final MeterRegistry meterRegistry;
+    private final JobRepository jobRepository;
+
+    @Value("${settlement.profiling.jfr.enabled:false}")
+    private boolean jfrEnabled;
+
+    @Value("${settlement.profiling.jfr.settings:profile}")
+    private String jfrSettings;
+
+    @Value("${settlement.profiling.jfr.dir:/tmp/settlement-jfr}")
+    private String jfrDir;
+
+    private final Map<Long, JobProfile> profiles = new ConcurrentHashMap<>();
+    private final AtomicInteger runningJobs = new AtomicInteger();
+    private final ThreadLocal<Long> chunkAllocationStart = new ThreadLocal<>();
 
     @Override
     public void beforeJob(JobExecution jobExecution) {
-        // GC 실행 후 시작 메모리 측정
-        System.gc();
-        startMemory = getUsedMemoryMB();
-        peakMemory = startMemory;
+        // 다른 Job 이 실행 중이면 그 Job 의 peak 를 지우지 않도록 첫 Job 에서만 초기화
+        if (runningJobs.getAndIncrement() == 0) {
+            heapPools().forEach(MemoryPoolMXBean::resetPeakUsage);
+        }
+        JobProfile profile = new JobProfile(startRecording(jobExecution));
+        profiles.put(jobExecution.getId(), profile);
 
         log.info("========================================");
         log.info("정산 배치 시작");
         log.info("Job Name: {}", jobExecution.getJobInstance().getJobName());
         log.info("Job Parameters: {}", jobExecution.getJobParameters());
         log.info("시작 시간: {}", LocalDateTime.now());
-        log.info("시작 메모리: {} MB", startMemory);
-        log.info("최대 힙 메모리: {} MB", getMaxMemoryMB());
+        log.info("시작 메모리: {} MB", profile.heapUsedStart / MB);
+        log.info("최대 힙 메모리: {} MB", Runtime.getRuntime().maxMemory() / MB);
         log.info("========================================");
     }
 
@@ -43,8 +99,6 @@ public class SettlementJobListener implements JobExecutionListener {
         LocalDateTime endTime = jobExecution.getEndTime();
         Duration duration = Duration.between(startTime, endTime);
 
-        long endMemory = getUsedMemoryMB();
-
         log.info("========================================");
         log.info("정산 배치 종료");
         log.info("상태: {}", jobExecution.getStatus());
@@ -60,13 +114,11 @@ public class SettlementJobListener implements JobExecutionListener {
                     log.error("실패 원인: {}", e.getMessage(), e));
         }
 
-        // 메모리 사용량 통계
-        log.info("----------------------------------------");
-        log.info("[메모리 사용량]");
-        log.info("  - 시작 메모리: {} MB", startMemory);
-        log.info("  - 종료 메모리: {} MB", endMemory);
-        log.info("  - 메모리 증가량: {} MB", endMemory - startMemory);
-        log.info("  - 최대 힙 메모리: {} MB", getMaxMemoryMB());
+        JobProfile profile = profiles.remove(jobExecution.getId());
+        runningJobs.decrementAndGet();
+        if (profile != null) {
+            profile.finish(jobExecution);
+        }
 
         // Step 별 통계
         jobExecution.getStepExecutions().forEach(stepExecution -> {
@@ -81,12 +133,197 @@ public class SettlementJobListener implements JobExecutionListener {
         log.info("========================================");
     }
 
-    private long getUsedMemoryMB() {
-        Runtime runtime = Runtime.getRuntime();
-        return (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024);
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        long allocated = currentThreadAllocatedBytes();
+        if (allocated >= 0) {
+            chunkAllocationStart.set(allocated);
+        }
+    }
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+        Long start = chunkAllocationStart.get();
+        chunkAllocationStart.remove();
+        long end = currentThreadAllocatedBytes();
+        if (start == null || end < 0) {
+            return;
+        }
+
+        long allocated = end - start;
+        StepExecution stepExecution = context.getStepContext().getStepExecution();
+        DistributionSummary.builder("settlement.chunk.allocated")
+                .description("chunk 처리 스레드의 힙 할당량")
+                .baseUnit("bytes")
+                .tags(stepTags(stepExecution))
+                .register(meterRegistry)
+                .record(allocated);
+
+        JobProfile profile = profiles.get(stepExecution.getJobExecutionId());
+        if (profile != null) {
+            profile.allocatedBytes.add(allocated);
+            profile.maxChunkAllocatedBytes.accumulate(allocated);
+        }
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        chunkAllocationStart.remove();
+    }
+
+    private Recording startRecording(JobExecution jobExecution) {
+        if (!jfrEnabled) {
+            return null;
+        }
+        try {
+            Recording recording = new Recording(Configuration.getConfiguration(jfrSettings));
+            recording.setName("settlement-" + jobExecution.getId());
+            recording.start();
+            return recording;
+        } catch (IOException | ParseException e) {
+            log.warn("JFR 녹화 시작 실패 - settings: {}", jfrSettings, e);
+            return null;
+        }
+    }
+
+    private Path dumpRecording(Recording recording, JobExecution jobExecution) {
+        try (recording) {
+            recording.stop();
+            Path dir = Files.createDirectories(Path.of(jfrDir));
+            Path file = dir.resolve(jobExecution.getJobInstance().getJobName() + "-" + jobExecution.getId() + ".jfr");
+            recording.dump(file);
+            return file;
+        } catch (IOException e) {
+            log.warn("JFR 덤프 실패 - dir: {}", jfrDir, e);
+            return null;
+        }
     }
 
-    private long getMaxMemoryMB() {
-        return Runtime.getRuntime().maxMemory() / (1024 * 1024);
+    private Tags jobTags(JobExecution jobExecution) {
+        return Tags.of("job", jobExecution.getJobInstance().getJobName());
+    }
+
+    private Tags stepTags(StepExecution stepExecution) {
+        return jobTags(stepExecution.getJobExecution())
+                .and("step", stepExecution.getStepName().split(":", 2)[0]);
+    }
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP && pool.isValid())
+                .toList();
+    }
+
+    private static long heapUsed() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long heapPeak() {
+        return heapPools().stream()
+                .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                .sum();
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount)
+                .filter(count -> count > 0)
+                .sum();
+    }
+
+    private static long gcMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+                .filter(millis -> millis > 0)
+                .sum();
+    }
+
+    /**
+     * 현재 스레드의 누적 할당 바이트, 지원하지 않는 JVM 이면 -1
+     */
+    private static long currentThreadAllocatedBytes() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadMXBean)
+                || !threadMXBean.isThreadAllocatedMemorySupported()
+                || !threadMXBean.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+        return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Job 실행 하나의 시작 시점 값과 누적 할당량
+     */
+    private class JobProfile {
+
+        private final long heapUsedStart = heapUsed();
+        private final long gcCountStart = gcCount();
+        private final long gcMillisStart = gcMillis();
+        private final LongAdder allocatedBytes = new LongAdder();
+        private final LongAccumulator maxChunkAllocatedBytes = new LongAccumulator(Math::max, 0);
+        private final Recording recording;
+
+        private JobProfile(Recording recording) {
+            this.recording = recording;
+        }
+
+        private void finish(JobExecution jobExecution) {
+            long heapUsedEnd = heapUsed();
+            long heapPeak = heapPeak();
+            long gcCount = gcCount() - gcCountStart;
+            long gcMillis = gcMillis() - gcMillisStart;
+            long allocated = allocatedBytes.sum();
+            Path jfrFile = recording != null ? dumpRecording(recording, jobExecution) : null;
+
+            Tags tags = jobTags(jobExecution);
+            DistributionSummary.builder("settlement.job.heap.peak")
+                    .description("Job 실행 중 힙 최대 사용량 (풀별 peak 합계)")
+                    .baseUnit("bytes")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(heapPeak);
+            DistributionSummary.builder("settlement.job.allocated")
+                    .description("Job 의 chunk 처리 스레드 힙 할당량 합계")
+                    .baseUnit("bytes")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(allocated);
+            DistributionSummary.builder("settlement.job.gc.count")
+                    .description("Job 실행 중 GC 횟수")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(gcCount);
+            Timer.builder("settlement.job.gc.time")
+                    .description("Job 실행 중 GC 누적 시간")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(gcMillis, TimeUnit.MILLISECONDS);
+
+            ExecutionContext context = jobExecution.getExecutionContext();
+            context.putLong("profile.heapUsedStartBytes", heapUsedStart);
+            context.putLong("profile.heapUsedEndBytes", heapUsedEnd);
+            context.putLong("profile.heapPeakBytes", heapPeak);
+            context.putLong("profile.gcCount", gcCount);
+            context.putLong("profile.gcMillis", gcMillis);
+            context.putLong("profile.allocatedBytes", allocated);
+            context.putLong("profile.maxChunkAllocatedBytes", maxChunkAllocatedBytes.get());
+            if (jfrFile != null) {
+                context.putString("profile.jfrFile", jfrFile.toString());
+            }
+            // afterJob 이후에는 ExecutionContext 가 다시 저장되지 않으므로 직접 저장
+            jobRepository.updateExecutionContext(jobExecution);
+
+            log.info("----------------------------------------");
+            log.info("[메모리 사용량]");
+            log.info("  - 시작 메모리: {} MB", heapUsedStart / MB);
+            log.info("  - 종료 메모리: {} MB", heapUsedEnd / MB);
+            log.info("  - 최대 사용량: {} MB (힙 풀별 peak 합계)", heapPeak / MB);
+            log.info("  - 최대 힙 메모리: {} MB", Runtime.getRuntime().maxMemory() / MB);
+            log.info("  - GC: {}회, {}ms", gcCount, gcMillis);
+            log.info("  - chunk 스레드 할당량: {} MB (chunk 최대 {} MB)",
+                    allocated / MB, maxChunkAllocatedBytes.get() / MB);
+            if (jfrFile != null) {
+                log.info("  - JFR: {}", jfrFile);
+            }
+        }
     }
 }
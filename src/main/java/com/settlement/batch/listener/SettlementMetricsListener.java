@@ -0,0 +1,243 @@
+package com.settlement.batch.listener;
+
+import com.settlement.batch.dto.SellerAggregation;
+import com.settlement.domain.Settlement.Settlement;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.ItemProcessListener;
+import org.springframework.batch.core.ItemReadListener;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.item.Chunk;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 정산 Step Micrometer 메트릭 리스너
+ *
+ * chunk 단위로 read / process / write / commit 구간 시간을 측정하여 등록한다.
+ * - settlement.chunk.phase    : 구간별 chunk 소요 시간 (phase=read|process|write)
+ * - settlement.chunk.commit   : write 완료 ~ 커밋 완료 시간 (히스토그램)
+ * - settlement.chunk.duration : chunk 전체 소요 시간
+ * - settlement.chunk.time     : chunk 시간 중 DB(read, write, commit) / JVM(그 외) 시간 (kind=db|jvm)
+ * - settlement.step.items.read / items.written / rows.per.second : 실행 중인 Step 진행률 게이지
+ *
+ * 타이머는 job, step, partition 태그를, 진행률 게이지는 targetDate 태그를 추가로 가진다.
+ * 게이지는 Step 종료 시 제거한다.
+ * 구간 시간은 chunk 를 처리하는 스레드별로 누적하므로 파티셔닝 모드에서도 섞이지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class SettlementMetricsListener implements StepExecutionListener, ChunkListener,
+        ItemReadListener<SellerAggregation>, ItemProcessListener<SellerAggregation, Settlement>,
+        ItemWriteListener<Settlement> {
+
+    private static final String NO_PARTITION = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Long, StepMetrics> stepMetrics = new ConcurrentHashMap<>();
+    private final ThreadLocal<ChunkTimings> chunkTimings = ThreadLocal.withInitial(ChunkTimings::new);
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        stepMetrics.put(stepExecution.getId(), new StepMetrics(stepExecution));
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        StepMetrics metrics = stepMetrics.remove(stepExecution.getId());
+        if (metrics != null) {
+            metrics.removeGauges();
+        }
+        chunkTimings.remove();
+        return null;
+    }
+
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        chunkTimings.get().reset();
+    }
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+        StepMetrics metrics = stepMetrics.get(context.getStepContext().getStepExecution().getId());
+        if (metrics != null) {
+            metrics.record(chunkTimings.get());
+        }
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        chunkTimings.get().reset();
+    }
+
+    @Override
+    public void beforeRead() {
+        chunkTimings.get().readStart = System.nanoTime();
+    }
+
+    @Override
+    public void afterRead(SellerAggregation item) {
+        ChunkTimings timings = chunkTimings.get();
+        timings.readNanos += System.nanoTime() - timings.readStart;
+    }
+
+    @Override
+    public void beforeProcess(SellerAggregation item) {
+        chunkTimings.get().processStart = System.nanoTime();
+    }
+
+    @Override
+    public void afterProcess(SellerAggregation item, Settlement result) {
+        ChunkTimings timings = chunkTimings.get();
+        timings.processNanos += System.nanoTime() - timings.processStart;
+    }
+
+    @Override
+    public void beforeWrite(Chunk<? extends Settlement> items) {
+        chunkTimings.get().writeStart = System.nanoTime();
+    }
+
+    @Override
+    public void afterWrite(Chunk<? extends Settlement> items) {
+        ChunkTimings timings = chunkTimings.get();
+        timings.writeEnd = System.nanoTime();
+        timings.writeNanos += timings.writeEnd - timings.writeStart;
+    }
+
+    /**
+     * 스레드별 chunk 구간 시간
+     */
+    private static class ChunkTimings {
+
+        private long chunkStart;
+        private long readStart;
+        private long processStart;
+        private long writeStart;
+        private long writeEnd;
+        private long readNanos;
+        private long processNanos;
+        private long writeNanos;
+
+        private void reset() {
+            chunkStart = System.nanoTime();
+            writeEnd = 0;
+            readNanos = 0;
+            processNanos = 0;
+            writeNanos = 0;
+        }
+    }
+
+    /**
+     * StepExecution 별 타이머와 진행률 게이지
+     */
+    private class StepMetrics {
+
+        private final Timer readTimer;
+        private final Timer processTimer;
+        private final Timer writeTimer;
+        private final Timer commitTimer;
+        private final Timer chunkTimer;
+        private final Timer dbTimer;
+        private final Timer jvmTimer;
+        private final List<Meter> gauges = new ArrayList<>();
+
+        private StepMetrics(StepExecution stepExecution) {
+            String[] names = stepExecution.getStepName().split(":", 2);
+            Tags tags = Tags.of(
+                    "job", stepExecution.getJobExecution().getJobInstance().getJobName(),
+                    "step", names[0],
+                    "partition", names.length > 1 ? names[1] : NO_PARTITION);
+
+            this.readTimer = phaseTimer(tags, "read");
+            this.processTimer = phaseTimer(tags, "process");
+            this.writeTimer = phaseTimer(tags, "write");
+            this.commitTimer = Timer.builder("settlement.chunk.commit")
+                    .description("chunk write 완료 ~ 커밋 완료 시간")
+                    .tags(tags)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            this.chunkTimer = Timer.builder("settlement.chunk.duration")
+                    .description("chunk 전체 소요 시간")
+                    .tags(tags)
+                    .register(meterRegistry);
+            this.dbTimer = kindTimer(tags, "db");
+            this.jvmTimer = kindTimer(tags, "jvm");
+
+            String targetDate = stepExecution.getJobParameters().getString("targetDate", "none");
+            Tags progressTags = tags.and("targetDate", targetDate);
+            gauges.add(Gauge.builder("settlement.step.items.read", stepExecution, StepExecution::getReadCount)
+                    .description("실행 중인 Step 의 읽은 건수")
+                    .tags(progressTags)
+                    .register(meterRegistry));
+            gauges.add(Gauge.builder("settlement.step.items.written", stepExecution, StepExecution::getWriteCount)
+                    .description("실행 중인 Step 의 저장 건수")
+                    .tags(progressTags)
+                    .register(meterRegistry));
+            gauges.add(Gauge.builder("settlement.step.rows.per.second", stepExecution, StepMetrics::rowsPerSecond)
+                    .description("실행 중인 Step 의 초당 저장 건수")
+                    .tags(progressTags)
+                    .register(meterRegistry));
+        }
+
+        private Timer phaseTimer(Tags tags, String phase) {
+            return Timer.builder("settlement.chunk.phase")
+                    .description("chunk 구간별 소요 시간")
+                    .tags(tags)
+                    .tag("phase", phase)
+                    .register(meterRegistry);
+        }
+
+        private Timer kindTimer(Tags tags, String kind) {
+            return Timer.builder("settlement.chunk.time")
+                    .description("chunk 소요 시간 중 DB / JVM 시간")
+                    .tags(tags)
+                    .tag("kind", kind)
+                    .register(meterRegistry);
+        }
+
+        private void record(ChunkTimings timings) {
+            long now = System.nanoTime();
+            long chunkNanos = now - timings.chunkStart;
+            long commitNanos = timings.writeEnd > 0 ? now - timings.writeEnd : 0;
+            long dbNanos = timings.readNanos + timings.writeNanos + commitNanos;
+
+            readTimer.record(timings.readNanos, TimeUnit.NANOSECONDS);
+            processTimer.record(timings.processNanos, TimeUnit.NANOSECONDS);
+            writeTimer.record(timings.writeNanos, TimeUnit.NANOSECONDS);
+            commitTimer.record(commitNanos, TimeUnit.NANOSECONDS);
+            chunkTimer.record(chunkNanos, TimeUnit.NANOSECONDS);
+            dbTimer.record(dbNanos, TimeUnit.NANOSECONDS);
+            jvmTimer.record(Math.max(0, chunkNanos - dbNanos), TimeUnit.NANOSECONDS);
+        }
+
+        private void removeGauges() {
+            gauges.forEach(meterRegistry::remove);
+        }
+
+        private static double rowsPerSecond(StepExecution stepExecution) {
+            LocalDateTime startTime = stepExecution.getStartTime();
+            if (startTime == null) {
+                return 0;
+            }
+            long millis = Duration.between(startTime, LocalDateTime.now()).toMillis();
+            return millis > 0 ? stepExecution.getWriteCount() * 1000.0 / millis : 0;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.settlement.batch.listener;
+
+import com.settlement.common.jdbc.SqlSource;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ItemReadListener;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.item.Chunk;
+import org.springframework.stereotype.Component;
+
+/**
+ * chunk Step 의 SQL 출처 지정 리스너
+ *
+ * read 구간은 reader.page, write 구간은 writer.batch 로 현재 스레드의 SqlSource 를 지정하여
+ * Reader / Writer 구현(JdbcPagingItemReader, JPA saveAll 등)과 관계없이 SQL 메트릭에 출처가 붙도록 한다.
+ * 입력 끝(null)에서는 afterRead 가 호출되지 않으므로 chunk 종료 시에도 정리한다.
+ */
+@Component
+public class SqlSourceListener implements ItemReadListener<Object>, ItemWriteListener<Object>, ChunkListener {
+
+    @Override
+    public void beforeRead() {
+        SqlSource.READER_PAGE.set();
+    }
+
+    @Override
+    public void afterRead(Object item) {
+        SqlSource.clear();
+    }
+
+    @Override
+    public void onReadError(Exception ex) {
+        SqlSource.clear();
+    }
+
+    @Override
+    public void beforeWrite(Chunk<?> items) {
+        SqlSource.WRITER_BATCH.set();
+    }
+
+    @Override
+    public void afterWrite(Chunk<?> items) {
+        SqlSource.clear();
+    }
+
+    @Override
+    public void onWriteError(Exception exception, Chunk<?> items) {
+        SqlSource.clear();
+    }
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+        SqlSource.clear();
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        SqlSource.clear();
+    }
+}
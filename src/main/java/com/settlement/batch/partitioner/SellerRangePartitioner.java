@@ -0,0 +1,67 @@
+package com.settlement.batch.partitioner;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 판매자 ID 범위 기반 Partitioner
+ *
+ * sellers.id 의 MIN ~ MAX 를 gridSize 개의 연속 구간으로 나누어
+ * 각 파티션 ExecutionContext 에 minSellerId / maxSellerId 를 담는다.
+ * 파티션별 StepExecution 이 따로 저장되므로 재시작 시 실패한 파티션만 다시 실행된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SellerRangePartitioner implements Partitioner {
+
+    public static final String MIN_SELLER_ID = "minSellerId";
+    public static final String MAX_SELLER_ID = "maxSellerId";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        Map<String, Object> range = jdbcTemplate.queryForMap(
+                "SELECT MIN(id) as min_id, MAX(id) as max_id FROM sellers");
+
+        Map<String, ExecutionContext> partitions = new HashMap<>();
+
+        if (range.get("min_id") == null) {
+            // 판매자가 없으면 빈 구간 하나만 생성
+            partitions.put("partition0", createContext(1L, 0L));
+            return partitions;
+        }
+
+        long minId = ((Number) range.get("min_id")).longValue();
+        long maxId = ((Number) range.get("max_id")).longValue();
+        long rangeSize = (maxId - minId) / gridSize + 1;
+
+        long start = minId;
+        int index = 0;
+        while (start <= maxId) {
+            long end = Math.min(start + rangeSize - 1, maxId);
+            partitions.put("partition" + index, createContext(start, end));
+            log.debug("파티션 생성 - partition{}: {} ~ {}", index, start, end);
+            start = end + 1;
+            index++;
+        }
+
+        log.info("판매자 범위 파티션 생성 완료 - {} 개 (seller_id {} ~ {})", partitions.size(), minId, maxId);
+        return partitions;
+    }
+
+    private ExecutionContext createContext(long minSellerId, long maxSellerId) {
+        ExecutionContext context = new ExecutionContext();
+        context.putLong(MIN_SELLER_ID, minSellerId);
+        context.putLong(MAX_SELLER_ID, maxSellerId);
+        return context;
+    }
+}
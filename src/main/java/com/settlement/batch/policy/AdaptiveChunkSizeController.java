@@ -0,0 +1,237 @@
+package com.settlement.batch.policy;
+
+import com.settlement.domain.Settlement.Settlement;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.repeat.CompletionPolicy;
+import org.springframework.batch.repeat.RepeatContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.batch.repeat.context.RepeatContextSupport;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.List;
+
+/**
+ * 적응형 chunk 크기 CompletionPolicy
+ *
+ * chunk 마다 처리 시간, 커밋 시간(write 완료 ~ 커밋 완료), 초당 처리 건수,
+ * 힙 여유율(마지막 GC 직후 사용량 기준)을 측정하여
+ * 다음 chunk 크기를 [minSize, maxSize] 범위에서 조정한다.
+ * - 힙 여유율 < minHeapHeadroom           : 절반으로 축소 (reason=heap)
+ * - chunk 시간 > 목표 시간 x 1.5           : 목표 시간에 맞게 비례 축소 (reason=latency)
+ * - chunk 시간 < 목표 시간 / 2, 처리량 유지 : 1.5배 확대 (reason=throughput)
+ *
+ * 현재 크기는 settlement.chunk.size 게이지로, 조정 횟수는 settlement.chunk.size.adjustments 카운터로 등록한다.
+ * getPageSize() 는 현재 chunk 크기를 반환하므로 페이지 크기를 바꿀 수 있는 Reader 는 이를 따라간다.
+ */
+@Slf4j
+public class AdaptiveChunkSizeController implements CompletionPolicy, StepExecutionListener,
+        ChunkListener, ItemWriteListener<Settlement> {
+
+    private static final double SHRINK_THRESHOLD = 1.5;
+    private static final double GROW_THRESHOLD = 0.5;
+    private static final double GROW_FACTOR = 1.5;
+    // 처리량이 이 비율 이상 떨어지면 확대하지 않는다
+    private static final double THROUGHPUT_TOLERANCE = 0.9;
+
+    private final MeterRegistry meterRegistry;
+    private final int minSize;
+    private final int maxSize;
+    private final long targetChunkNanos;
+    private final double minHeapHeadroom;
+    private final List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP && pool.isCollectionUsageThresholdSupported())
+            .toList();
+
+    private volatile int chunkSize;
+    private double lastRowsPerSecond;
+
+    private final ThreadLocal<ChunkTiming> timing = ThreadLocal.withInitial(ChunkTiming::new);
+
+    private Tags tags = Tags.empty();
+    private Gauge sizeGauge;
+
+    public AdaptiveChunkSizeController(MeterRegistry meterRegistry, int initialSize, int minSize, int maxSize,
+                                       long targetChunkMillis, double minHeapHeadroom) {
+        if (minSize < 1 || minSize > maxSize) {
+            throw new IllegalArgumentException("chunk 크기 범위가 올바르지 않습니다: " + minSize + " ~ " + maxSize);
+        }
+        this.meterRegistry = meterRegistry;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.targetChunkNanos = targetChunkMillis * 1_000_000;
+        this.minHeapHeadroom = minHeapHeadroom;
+        this.chunkSize = clamp(initialSize);
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public int getPageSize() {
+        return chunkSize;
+    }
+
+    // ===== CompletionPolicy =====
+
+    @Override
+    public RepeatContext start(RepeatContext parent) {
+        return new SizedRepeatContext(parent, chunkSize);
+    }
+
+    @Override
+    public void update(RepeatContext context) {
+        ((RepeatContextSupport) context).increment();
+    }
+
+    @Override
+    public boolean isComplete(RepeatContext context, RepeatStatus result) {
+        return result == null || !result.isContinuable() || isComplete(context);
+    }
+
+    @Override
+    public boolean isComplete(RepeatContext context) {
+        return context.getStartedCount() >= ((SizedRepeatContext) context).size;
+    }
+
+    // ===== Listener =====
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        String[] names = stepExecution.getStepName().split(":", 2);
+        tags = Tags.of(
+                "job", stepExecution.getJobExecution().getJobInstance().getJobName(),
+                "step", names[0],
+                "partition", names.length > 1 ? names[1] : "none");
+        sizeGauge = Gauge.builder("settlement.chunk.size", this, AdaptiveChunkSizeController::getChunkSize)
+                .description("현재 적응형 chunk 크기")
+                .tags(tags)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        if (sizeGauge != null) {
+            meterRegistry.remove(sizeGauge);
+        }
+        timing.remove();
+        return null;
+    }
+
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        ChunkTiming chunkTiming = timing.get();
+        chunkTiming.start = System.nanoTime();
+        chunkTiming.writeEnd = 0;
+        chunkTiming.items = 0;
+    }
+
+    @Override
+    public void afterWrite(Chunk<? extends Settlement> items) {
+        ChunkTiming chunkTiming = timing.get();
+        chunkTiming.writeEnd = System.nanoTime();
+        chunkTiming.items = items.size();
+    }
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+        ChunkTiming chunkTiming = timing.get();
+        if (chunkTiming.items == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        long chunkNanos = Math.max(1, now - chunkTiming.start);
+        long commitNanos = chunkTiming.writeEnd > 0 ? now - chunkTiming.writeEnd : 0;
+        double rowsPerSecond = chunkTiming.items * 1_000_000_000.0 / chunkNanos;
+
+        adjust(chunkNanos, commitNanos, rowsPerSecond, heapHeadroom());
+    }
+
+    private synchronized void adjust(long chunkNanos, long commitNanos, double rowsPerSecond, double heapHeadroom) {
+        int current = chunkSize;
+        int next = current;
+        String reason = null;
+
+        if (heapHeadroom < minHeapHeadroom) {
+            next = clamp(current / 2);
+            reason = "heap";
+        } else if (chunkNanos > targetChunkNanos * SHRINK_THRESHOLD) {
+            next = clamp((int) (current * (double) targetChunkNanos / chunkNanos));
+            reason = "latency";
+        } else if (chunkNanos < targetChunkNanos * GROW_THRESHOLD
+                && rowsPerSecond >= lastRowsPerSecond * THROUGHPUT_TOLERANCE) {
+            next = clamp((int) Math.ceil(current * GROW_FACTOR));
+            reason = "throughput";
+        }
+        lastRowsPerSecond = rowsPerSecond;
+
+        if (next == current) {
+            return;
+        }
+        chunkSize = next;
+        Counter.builder("settlement.chunk.size.adjustments")
+                .description("적응형 chunk 크기 조정 횟수")
+                .tags(tags)
+                .tag("direction", next > current ? "grow" : "shrink")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+
+        log.debug("chunk 크기 조정 {} -> {} (reason: {}, chunk: {}ms, commit: {}ms, {} rows/s, heap 여유: {}%)",
+                current, next, reason, chunkNanos / 1_000_000, commitNanos / 1_000_000,
+                (long) rowsPerSecond, Math.round(heapHeadroom * 100));
+    }
+
+    /**
+     * 힙 여유율
+     * 현재 사용량에는 수거 전 garbage 가 포함되므로 마지막 GC 직후 사용량(collection usage)으로 계산한다
+     */
+    private double heapHeadroom() {
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        long max = heap.getMax() > 0 ? heap.getMax() : heap.getCommitted();
+        long usedAfterGc = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            MemoryUsage usage = pool.getCollectionUsage();
+            if (usage != null) {
+                usedAfterGc += usage.getUsed();
+            }
+        }
+        return 1.0 - (double) usedAfterGc / max;
+    }
+
+    private int clamp(int size) {
+        return Math.max(minSize, Math.min(maxSize, size));
+    }
+
+    private static class ChunkTiming {
+        private long start;
+        private long writeEnd;
+        private int items;
+    }
+
+    /**
+     * chunk 시작 시점의 크기를 고정하는 RepeatContext
+     */
+    private static class SizedRepeatContext extends RepeatContextSupport {
+
+        private final int size;
+
+        private SizedRepeatContext(RepeatContext parent, int size) {
+            super(parent);
+            this.size = size;
+        }
+    }
+}
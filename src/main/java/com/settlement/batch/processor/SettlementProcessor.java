@@ -30,13 +30,20 @@ public class SettlementProcessor implements ItemProcessor<SellerAggregation, Set
 
     @Override
     public Settlement process(SellerAggregation aggregation) throws Exception {
+        return toSettlement(aggregation, settlementDate);
+    }
+
+    /**
+     * 집계 결과 → 정산 (증분 정산처럼 항목마다 정산일이 다른 경우에도 사용)
+     */
+    public static Settlement toSettlement(SellerAggregation aggregation, LocalDate settlementDate) {
         return Settlement.builder()
                 .sellerId(aggregation.getSellerId())
                 .settlementDate(settlementDate)
                 .totalSales(aggregation.getTotalSales())
-                .commissionRate(aggregation.getSellerGrade().getCommissionRate())
-                .orderCount(aggregation.getOrderCount().intValue())
-                .itemCount(aggregation.getItemCount().intValue())
+                .commissionRate(aggregation.getSellerGrade().getCommissionRateBasisPoints())
+                .orderCount(Math.toIntExact(aggregation.getOrderCount()))
+                .itemCount(Math.toIntExact(aggregation.getItemCount()))
                 .build();
     }
 }
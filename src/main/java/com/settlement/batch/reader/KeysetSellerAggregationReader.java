@@ -0,0 +1,304 @@
+package com.settlement.batch.reader;
+
+import com.settlement.batch.dto.SellerAggregation;
+import com.settlement.domain.Settlement.Settlement;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.database.support.AbstractSqlPagingQueryProvider;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntSupplier;
+
+/**
+ * seller_id keyset 페이징 Reader (멀티 스레드 chunk Step 용)
+ *
+ * 여러 chunk 스레드가 하나의 Reader 를 공유한다. read() 는 동기화되어 페이지 버퍼에서 항목을 하나씩 넘겨주고,
+ * 버퍼가 비면 마지막 seller_id 이후 페이지를 조회한다. 쿼리는 JdbcPagingItemReader 와 같은 PagingQueryProvider 로 만든다.
+ * 페이지 크기는 페이지를 조회할 때마다 pageSize 에서 읽으므로 실행 중에 바뀔 수 있다 (적응형 chunk 크기).
+ *
+ * 재시작 상태는 읽은 건수 대신 "저장이 끝난 seller_id 범위" 목록이다.
+ * 각 페이지는 (이전 페이지 마지막 키, 이 페이지 마지막 키] 범위를 가지며, 페이지의 모든 항목이 저장되면 완료 범위가 된다.
+ * - afterWrite : chunk 스레드별로 저장한 seller_id 를 보관
+ * - update     : 같은 chunk 트랜잭션 안에서 호출되므로, 커밋된 범위와 이 chunk 로 완료되는 페이지를 기록
+ * - afterChunk : 커밋 후 보관한 seller_id 를 페이지에 반영하고 모두 저장된 페이지를 완료 범위로 옮김
+ * 다른 스레드의 커밋 전 chunk 는 기록하지 않으므로, 재시작 시 진행 중이던 chunk 만 다시 처리될 수 있다 (Writer 는 UPSERT).
+ * 재시작 시 완료 범위는 건너뛰고 나머지 범위만 다시 읽는다.
+ */
+public class KeysetSellerAggregationReader implements ItemStreamReader<SellerAggregation>,
+        ItemWriteListener<Settlement>, ChunkListener {
+
+    private static final String COMPLETED_RANGES_KEY = "keysetSellerAggregationReader.completedRanges";
+    private static final String SORT_KEY = "seller_id";
+
+    private final DataSource dataSource;
+    private final AbstractSqlPagingQueryProvider queryProvider;
+    private final Map<String, Object> parameterValues;
+    private final RowMapper<SellerAggregation> rowMapper;
+    private final IntSupplier pageSize;
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private int currentPageSize;
+    private String firstPageSql;
+    private String remainingPagesSql;
+
+    private final Deque<SellerAggregation> buffer = new ArrayDeque<>();
+    private long lastKey;
+    private boolean firstPage;
+    private boolean exhausted;
+
+    // 저장 대기 중인 페이지 (key: 페이지 마지막 seller_id)
+    private final TreeMap<Long, Page> pages = new TreeMap<>();
+    // 완료 범위 (key: 시작 seller_id (미포함), value: 끝 seller_id (포함))
+    private final TreeMap<Long, Long> completedRanges = new TreeMap<>();
+
+    private final ThreadLocal<List<Long>> pendingKeys = ThreadLocal.withInitial(ArrayList::new);
+    private final ThreadLocal<List<Long>> appliedKeys = ThreadLocal.withInitial(ArrayList::new);
+
+    public KeysetSellerAggregationReader(DataSource dataSource, AbstractSqlPagingQueryProvider queryProvider,
+                                         Map<String, Object> parameterValues,
+                                         RowMapper<SellerAggregation> rowMapper, IntSupplier pageSize) {
+        this.dataSource = dataSource;
+        this.queryProvider = queryProvider;
+        this.parameterValues = parameterValues;
+        this.rowMapper = rowMapper;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public synchronized void open(ExecutionContext executionContext) throws ItemStreamException {
+        try {
+            queryProvider.init(dataSource);
+        } catch (Exception e) {
+            throw new ItemStreamException("keyset 쿼리 초기화 실패", e);
+        }
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        currentPageSize = 0;
+
+        buffer.clear();
+        pages.clear();
+        completedRanges.clear();
+        lastKey = Long.MIN_VALUE;
+        firstPage = true;
+        exhausted = false;
+
+        if (executionContext.containsKey(COMPLETED_RANGES_KEY)) {
+            parseRanges(executionContext.getString(COMPLETED_RANGES_KEY));
+        }
+    }
+
+    @Override
+    public synchronized SellerAggregation read() {
+        while (buffer.isEmpty() && !exhausted) {
+            readPage();
+        }
+        return buffer.poll();
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        List<Long> pending = pendingKeys.get();
+        synchronized (this) {
+            executionContext.putString(COMPLETED_RANGES_KEY, formatRanges(pending));
+        }
+        appliedKeys.get().addAll(pending);
+        pending.clear();
+    }
+
+    @Override
+    public synchronized void close() throws ItemStreamException {
+        buffer.clear();
+        pages.clear();
+    }
+
+    @Override
+    public void afterWrite(Chunk<? extends Settlement> items) {
+        List<Long> pending = pendingKeys.get();
+        for (Settlement settlement : items) {
+            pending.add(settlement.getSellerId());
+        }
+    }
+
+    /**
+     * 커밋 완료: 저장 건수를 페이지에 반영하고 모두 저장된 페이지를 완료 범위로 옮긴다
+     */
+    @Override
+    public void afterChunk(ChunkContext context) {
+        List<Long> applied = appliedKeys.get();
+        synchronized (this) {
+            for (Long sellerId : applied) {
+                Map.Entry<Long, Page> entry = pages.ceilingEntry(sellerId);
+                if (entry == null) {
+                    continue;
+                }
+                Page page = entry.getValue();
+                page.committed++;
+                if (page.isComplete()) {
+                    pages.remove(entry.getKey());
+                    addRange(page.fromExclusive, page.toInclusive);
+                }
+            }
+        }
+        applied.clear();
+    }
+
+    /**
+     * 롤백: 이 스레드의 chunk 는 반영하지 않는다
+     */
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        appliedKeys.get().clear();
+        pendingKeys.get().clear();
+    }
+
+    private void readPage() {
+        // 완료 범위 안이면 범위 끝으로 건너뛴다
+        Map.Entry<Long, Long> completed = completedRanges.floorEntry(lastKey);
+        if (completed != null && lastKey < completed.getValue()) {
+            lastKey = completed.getValue();
+            firstPage = false;
+        }
+
+        List<SellerAggregation> rows = queryPage(firstPage ? null : lastKey, pageSize.getAsInt());
+        if (rows.isEmpty()) {
+            exhausted = true;
+            return;
+        }
+
+        long fromExclusive = firstPage ? Long.MIN_VALUE : lastKey;
+        long toInclusive = rows.get(rows.size() - 1).getSellerId();
+        firstPage = false;
+        lastKey = toInclusive;
+
+        int remaining = 0;
+        for (SellerAggregation row : rows) {
+            if (!isCompleted(row.getSellerId())) {
+                buffer.add(row);
+                remaining++;
+            }
+        }
+        if (remaining > 0) {
+            pages.put(toInclusive, new Page(fromExclusive, toInclusive, remaining));
+        } else {
+            addRange(fromExclusive, toInclusive);
+        }
+    }
+
+    /**
+     * afterKey 이후 seller_id 오름차순 한 페이지 (afterKey 가 null 이면 첫 페이지)
+     */
+    List<SellerAggregation> queryPage(Long afterKey, int size) {
+        if (size != currentPageSize) {
+            currentPageSize = size;
+            firstPageSql = queryProvider.generateFirstPageQuery(size);
+            remainingPagesSql = queryProvider.generateRemainingPagesQuery(size);
+        }
+
+        if (afterKey == null) {
+            return jdbcTemplate.query(firstPageSql, parameterValues, rowMapper);
+        }
+        Map<String, Object> parameters = new HashMap<>(parameterValues);
+        parameters.put("_" + SORT_KEY, afterKey);
+        return jdbcTemplate.query(remainingPagesSql, parameters, rowMapper);
+    }
+
+    private boolean isCompleted(long sellerId) {
+        Map.Entry<Long, Long> range = completedRanges.lowerEntry(sellerId);
+        return range != null && sellerId <= range.getValue();
+    }
+
+    private void addRange(long fromExclusive, long toInclusive) {
+        addRange(completedRanges, fromExclusive, toInclusive);
+    }
+
+    private static void addRange(TreeMap<Long, Long> completedRanges, long fromExclusive, long toInclusive) {
+        long from = fromExclusive;
+        long to = toInclusive;
+
+        // 앞쪽 인접/겹침 범위 병합
+        Map.Entry<Long, Long> lower = completedRanges.floorEntry(from);
+        if (lower != null && lower.getValue() >= from) {
+            from = lower.getKey();
+            to = Math.max(to, lower.getValue());
+            completedRanges.remove(lower.getKey());
+        }
+        // 뒤쪽 인접/겹침 범위 병합
+        Map.Entry<Long, Long> higher = completedRanges.ceilingEntry(from);
+        while (higher != null && higher.getKey() <= to) {
+            to = Math.max(to, higher.getValue());
+            completedRanges.remove(higher.getKey());
+            higher = completedRanges.ceilingEntry(from);
+        }
+        completedRanges.put(from, to);
+    }
+
+    /**
+     * 커밋된 완료 범위 + 현재 chunk(같은 트랜잭션)로 모두 저장되는 페이지
+     */
+    private String formatRanges(List<Long> currentChunkKeys) {
+        Map<Page, Integer> currentChunkCounts = new HashMap<>();
+        for (Long sellerId : currentChunkKeys) {
+            Map.Entry<Long, Page> entry = pages.ceilingEntry(sellerId);
+            if (entry != null) {
+                currentChunkCounts.merge(entry.getValue(), 1, Integer::sum);
+            }
+        }
+
+        TreeMap<Long, Long> snapshot = new TreeMap<>(completedRanges);
+        currentChunkCounts.forEach((page, count) -> {
+            if (page.committed + count >= page.size) {
+                addRange(snapshot, page.fromExclusive, page.toInclusive);
+            }
+        });
+
+        StringBuilder ranges = new StringBuilder();
+        snapshot.forEach((from, to) -> {
+            if (!ranges.isEmpty()) {
+                ranges.append(',');
+            }
+            ranges.append(from).append(':').append(to);
+        });
+        return ranges.toString();
+    }
+
+    private void parseRanges(String ranges) {
+        if (ranges.isEmpty()) {
+            return;
+        }
+        for (String range : ranges.split(",")) {
+            int separator = range.indexOf(':', 1);
+            addRange(Long.parseLong(range.substring(0, separator)), Long.parseLong(range.substring(separator + 1)));
+        }
+    }
+
+    private static class Page {
+
+        private final long fromExclusive;
+        private final long toInclusive;
+        private final int size;
+        private int committed;
+
+        private Page(long fromExclusive, long toInclusive, int size) {
+            this.fromExclusive = fromExclusive;
+            this.toInclusive = toInclusive;
+            this.size = size;
+        }
+
+        private boolean isComplete() {
+            return committed >= size;
+        }
+    }
+}
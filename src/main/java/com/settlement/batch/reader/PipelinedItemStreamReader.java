@@ -0,0 +1,267 @@
+package com.settlement.batch.reader;
+
+import com.settlement.common.jdbc.SqlSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 읽기 / 가공 / 쓰기를 겹쳐 실행하는 파이프라인 Reader
+ *
+ * delegate Reader 와 Processor 를 각각 전용 스레드에서 실행하고 bounded queue 로 연결한다.
+ * Step 스레드는 가공이 끝난 항목을 꺼내 chunk 를 구성하고 Writer 와 커밋을 수행하므로,
+ * 커밋하는 동안 다음 페이지 조회와 가공이 미리 진행된다.
+ *
+ * chunk 경계는 Step 이 그대로 결정한다. 재시작 상태는 delegate 의 현재 위치(앞서 읽은 위치)가 아니라
+ * Step 이 꺼낸 항목 중 마지막 스냅샷 항목을 읽은 직후의 delegate 상태를 저장한다.
+ * 스냅샷은 snapshotInterval 번째 항목마다만 만든다. 고정 chunk 이면 chunk 크기로 두어 chunk 경계와 맞추고,
+ * 경계가 어긋나면(적응형 chunk, 가공 결과 null) 마지막 스냅샷 이후 항목을 재시작 시 다시 읽는다 (Writer 는 UPSERT).
+ * 가공 결과가 null 인 항목은 Step 에 전달하지 않는다.
+ *
+ * 단계 스레드는 이름이 붙은 데몬 스레드이며, 예기치 않은 예외로 죽으면 오류를 큐에 넣어 Step 스레드를 깨운다.
+ * close() 는 단계 스레드를 interrupt 한 뒤 제한 시간까지만 기다린다.
+ *
+ * @param <I> delegate Reader 항목 타입
+ * @param <O> Processor 결과 타입
+ */
+@Slf4j
+public class PipelinedItemStreamReader<I, O> implements ItemStreamReader<O> {
+
+    private static final long CLOSE_TIMEOUT_MILLIS = 10_000;
+    private static final long STAGE_CHECK_MILLIS = 1_000;
+
+    private final ItemStreamReader<I> delegate;
+    private final ItemProcessor<? super I, ? extends O> processor;
+    private final int queueCapacity;
+    private final int snapshotInterval;
+
+    private BlockingQueue<Envelope<I>> readQueue;
+    private BlockingQueue<Envelope<O>> processedQueue;
+    private Thread readerThread;
+    private Thread processorThread;
+
+    // Step 이 꺼낸 마지막 스냅샷 항목 기준 delegate 상태
+    private ExecutionContext consumedState;
+    private boolean exhausted;
+
+    public PipelinedItemStreamReader(ItemStreamReader<I> delegate,
+                                     ItemProcessor<? super I, ? extends O> processor,
+                                     int queueCapacity, int snapshotInterval) {
+        this.delegate = delegate;
+        this.processor = processor;
+        this.queueCapacity = queueCapacity;
+        this.snapshotInterval = Math.max(1, snapshotInterval);
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        delegate.open(executionContext);
+        consumedState = new ExecutionContext();
+        delegate.update(consumedState);
+        exhausted = false;
+
+        readQueue = new ArrayBlockingQueue<>(queueCapacity);
+        processedQueue = new ArrayBlockingQueue<>(queueCapacity);
+
+        StepExecution stepExecution = StepSynchronizationManager.getContext() != null
+                ? StepSynchronizationManager.getContext().getStepExecution()
+                : null;
+        String threadPrefix = Thread.currentThread().getName();
+        readerThread = startStage(threadPrefix + "-read", stepExecution, this::runReader);
+        processorThread = startStage(threadPrefix + "-process", stepExecution, this::runProcessor);
+    }
+
+    @Override
+    public O read() throws Exception {
+        while (!exhausted) {
+            Envelope<O> envelope = processedQueue.poll(STAGE_CHECK_MILLIS, TimeUnit.MILLISECONDS);
+            if (envelope == null) {
+                if (!processorThread.isAlive() && processedQueue.isEmpty()) {
+                    exhausted = true;
+                    throw new IllegalStateException("파이프라인 가공 스레드가 결과 없이 종료되었습니다");
+                }
+                continue;
+            }
+            if (envelope.error() != null) {
+                exhausted = true;
+                throw rethrow(envelope.error());
+            }
+            if (envelope.state() != null) {
+                consumedState = envelope.state();
+            }
+            if (envelope.end()) {
+                exhausted = true;
+                return null;
+            }
+            if (envelope.item() != null) {
+                return envelope.item();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        consumedState.entrySet().forEach(entry -> executionContext.put(entry.getKey(), entry.getValue()));
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        // 가공 스레드가 먼저 끝나 읽기 스레드가 가득 찬 큐에서 막히지 않도록 둘 다 interrupt 한 뒤 기다린다
+        interruptStage(readerThread);
+        interruptStage(processorThread);
+        awaitStage(readerThread);
+        awaitStage(processorThread);
+        readerThread = null;
+        processorThread = null;
+        readQueue = null;
+        processedQueue = null;
+        delegate.close();
+    }
+
+    private void runReader() throws InterruptedException {
+        SqlSource.Scope scope = SqlSource.READER_PAGE.open();
+        try {
+            I item;
+            long count = 0;
+            while ((item = delegate.read()) != null) {
+                readQueue.put(Envelope.of(item, ++count % snapshotInterval == 0 ? snapshot() : null));
+            }
+            readQueue.put(Envelope.endOfInput(snapshot()));
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Throwable e) {
+            readQueue.put(Envelope.failure(e));
+        } finally {
+            scope.close();
+        }
+    }
+
+    private ExecutionContext snapshot() {
+        ExecutionContext state = new ExecutionContext();
+        delegate.update(state);
+        return state;
+    }
+
+    private void runProcessor() throws InterruptedException {
+        while (true) {
+            Envelope<I> envelope = readQueue.take();
+            if (envelope.end() || envelope.error() != null) {
+                processedQueue.put(envelope.cast());
+                return;
+            }
+            try {
+                O result = processor.process(envelope.item());
+                processedQueue.put(Envelope.of(result, envelope.state()));
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Throwable e) {
+                processedQueue.put(Envelope.failure(e));
+                return;
+            }
+        }
+    }
+
+    /**
+     * 단계 스레드 시작
+     * Step scope 빈(Reader, Processor)을 호출할 수 있도록 StepExecution 을 등록한다
+     */
+    private Thread startStage(String name, StepExecution stepExecution, Stage stage) {
+        Thread thread = stageThreadFactory(name).newThread(() -> {
+            if (stepExecution != null) {
+                StepSynchronizationManager.register(stepExecution);
+            }
+            try {
+                stage.run();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                if (stepExecution != null) {
+                    StepSynchronizationManager.close();
+                }
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * 이름 있는 데몬 스레드. 예기치 않은 예외는 로그를 남기고 Step 스레드가 기다리지 않도록 오류로 전달한다
+     */
+    private ThreadFactory stageThreadFactory(String name) {
+        BlockingQueue<Envelope<O>> downstream = processedQueue;
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            thread.setUncaughtExceptionHandler((failed, error) -> {
+                log.error("파이프라인 단계 스레드 비정상 종료 - {}", failed.getName(), error);
+                downstream.offer(Envelope.failure(error));
+            });
+            return thread;
+        };
+    }
+
+    private static void interruptStage(Thread thread) {
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private static void awaitStage(Thread thread) {
+        if (thread == null) {
+            return;
+        }
+        try {
+            thread.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            log.warn("파이프라인 단계 스레드가 {}ms 안에 종료되지 않았습니다 - {}", CLOSE_TIMEOUT_MILLIS, thread.getName());
+        }
+    }
+
+    private static Exception rethrow(Throwable error) {
+        if (error instanceof Error e) {
+            throw e;
+        }
+        return (Exception) error;
+    }
+
+    @FunctionalInterface
+    private interface Stage {
+        void run() throws InterruptedException;
+    }
+
+    /**
+     * 단계 간 전달 단위: 항목과 그 항목을 읽은 직후의 delegate 상태(스냅샷 항목만), 또는 종료/오류 신호
+     */
+    private record Envelope<T>(T item, ExecutionContext state, Throwable error, boolean end) {
+
+        static <T> Envelope<T> of(T item, ExecutionContext state) {
+            return new Envelope<>(item, state, null, false);
+        }
+
+        static <T> Envelope<T> endOfInput(ExecutionContext state) {
+            return new Envelope<>(null, state, null, true);
+        }
+
+        static <T> Envelope<T> failure(Throwable error) {
+            return new Envelope<>(null, null, error, false);
+        }
+
+        @SuppressWarnings("unchecked")
+        <R> Envelope<R> cast() {
+            return (Envelope<R>) this;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.settlement.batch.reader;
+
+import java.util.Arrays;
+
+/**
+ * seller_id(long) 를 키로 하는 판매자별 누적 집계 테이블
+ *
+ * Open addressing + 병렬 primitive 배열로 구성하여 행마다 박싱/객체 생성이 없다.
+ * 주문 수(COUNT DISTINCT order_id)는 판매자별 마지막 order_id 와 비교해서 세므로,
+ * 같은 주문의 주문상품은 이어서 들어와야 한다 (주문 순서로 읽는 orders → order_items 조인).
+ * 메모리는 판매자 수에만 비례한다.
+ */
+public class SellerAggregationTable {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final byte NO_GRADE = -1;
+
+    private long[] keys;
+    private long[] totalSales;
+    private long[] orderCounts;
+    private long[] itemCounts;
+    private long[] lastOrderIds;
+    private byte[] grades;
+    private int mask;
+    private int size;
+
+    public SellerAggregationTable(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * 주문상품 1행 누적 (같은 주문의 주문상품은 연속으로 넘겨야 한다)
+     *
+     * @param sellerId 판매자 ID
+     * @param orderId  주문 ID
+     * @param amount   금액 (최소 화폐 단위)
+     */
+    public void add(long sellerId, long orderId, long amount) {
+        int slot = findOrInsert(sellerId);
+        totalSales[slot] += amount;
+        itemCounts[slot]++;
+        if (lastOrderIds[slot] != orderId) {
+            lastOrderIds[slot] = orderId;
+            orderCounts[slot]++;
+        }
+    }
+
+    /**
+     * 이미 집계된 판매자의 등급 설정. 집계되지 않은 판매자는 무시한다
+     */
+    public void setGrade(long sellerId, int gradeOrdinal) {
+        int slot = slotOf(sellerId);
+        if (slot >= 0) {
+            grades[slot] = (byte) gradeOrdinal;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 집계된 seller_id 를 오름차순으로 반환
+     */
+    public long[] sortedSellerIds() {
+        long[] result = new long[size];
+        int index = 0;
+        for (long key : keys) {
+            if (key != EMPTY) {
+                result[index++] = key;
+            }
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * @return seller_id 의 슬롯 번호, 없으면 -1
+     */
+    public int slotOf(long sellerId) {
+        int slot = hash(sellerId) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == sellerId) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    public long totalSales(int slot) {
+        return totalSales[slot];
+    }
+
+    public long orderCount(int slot) {
+        return orderCounts[slot];
+    }
+
+    public long itemCount(int slot) {
+        return itemCounts[slot];
+    }
+
+    /**
+     * @return 등급 ordinal, 설정되지 않았으면 -1
+     */
+    public int gradeOrdinal(int slot) {
+        return grades[slot];
+    }
+
+    private int findOrInsert(long sellerId) {
+        int slot = hash(sellerId) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == sellerId) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        if ((size + 1) * 2 > keys.length) {
+            rehash(keys.length << 1);
+            return findOrInsert(sellerId);
+        }
+
+        keys[slot] = sellerId;
+        lastOrderIds[slot] = EMPTY;
+        size++;
+        return slot;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        long[] oldTotalSales = totalSales;
+        long[] oldOrderCounts = orderCounts;
+        long[] oldItemCounts = itemCounts;
+        long[] oldLastOrderIds = lastOrderIds;
+        byte[] oldGrades = grades;
+
+        allocate(newCapacity);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == EMPTY) {
+                continue;
+            }
+            int slot = hash(oldKeys[i]) & mask;
+            while (keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[i];
+            totalSales[slot] = oldTotalSales[i];
+            orderCounts[slot] = oldOrderCounts[i];
+            itemCounts[slot] = oldItemCounts[i];
+            lastOrderIds[slot] = oldLastOrderIds[i];
+            grades[slot] = oldGrades[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        totalSales = new long[capacity];
+        orderCounts = new long[capacity];
+        itemCounts = new long[capacity];
+        lastOrderIds = new long[capacity];
+        grades = new byte[capacity];
+        Arrays.fill(grades, NO_GRADE);
+        mask = capacity - 1;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,458 @@
+package com.settlement.batch.reader;
+
+import com.settlement.batch.dto.SellerAggregation;
+import com.settlement.enums.SellerGrade;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+import org.springframework.util.FileSystemUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * 외부(spill-to-disk) 집계 Reader
+ *
+ * 판매자 수가 힙에 담기지 않을 만큼 많을 때 사용한다. 대상 order_items 와 sellers 를 forward-only 커서로 한 번씩 읽으면서
+ * seller_id 해시로 파티션을 나누어 spill 파일에 기록하고(1단계), 파티션 하나씩 FileChannel 로 순서대로 읽어
+ * SellerAggregationTable 에 집계한 뒤 seller_id 오름차순으로 내보낸다(2단계).
+ * 메모리에는 쓰기 / 읽기 버퍼와 파티션 하나의 집계 테이블만 있으므로 판매자 수와 관계없이 memory-budget 안에서 동작한다.
+ * memory-budget 은 Reader 하나 기준이므로 partitioned Step 에서는 워커 수만큼 곱해서 잡아야 한다.
+ *
+ * 주문상품은 StreamingSellerAggregationReader 와 같이 orders → order_items nested loop 로 읽어 같은 주문끼리 이어서 나오고,
+ * spill 파일은 읽은 순서대로 기록되므로 파티션 안에서도 같은 주문의 주문상품이 이어진다.
+ * 그래서 판매자별 주문 수는 판매자별 마지막 order_id 비교로 세며 DB 에 정렬을 요구하지 않는다.
+ * 파티션 하나의 판매자 수가 예산을 넘으면 다른 해시 시드로 다시 나누어(재파티셔닝) 처리한다.
+ *
+ * 출력 순서는 파티션 순서 → 파티션 내 seller_id 순으로 결정적이므로,
+ * 재시작 시에는 다시 집계한 뒤 저장된 read.count 만큼 건너뛴다.
+ * DB 는 GROUP BY / ORDER BY / 임시 테이블 없이 대상 주문과 주문상품을 스캔만 한다.
+ */
+@Slf4j
+public class SpillingSellerAggregationReader extends AbstractItemCountingItemStreamItemReader<SellerAggregation> {
+
+    private static final String ORDER_ITEM_SQL = """
+            SELECT /*+ JOIN_ORDER(o, oi) NO_BKA(oi) NO_BNL(oi) */
+                   oi.seller_id, oi.order_id, CAST(oi.total_price * 100 AS SIGNED) as total_price_cents
+            FROM orders o
+            JOIN order_items oi ON oi.order_id = o.id
+            WHERE o.ordered_at >= ?
+              AND o.ordered_at < ?
+              AND o.status IN ('DELIVERED', 'SHIPPED', 'PAID')
+            """;
+    private static final String SELLER_RANGE_CLAUSE = "  AND oi.seller_id BETWEEN ? AND ?\n";
+
+    private static final String SELLER_GRADE_SQL = "SELECT id, grade FROM sellers";
+    private static final String SELLER_GRADE_RANGE_CLAUSE = " WHERE id BETWEEN ? AND ?";
+
+    private static final SellerGrade[] GRADES = SellerGrade.values();
+
+    /** 주문상품 레코드: seller_id, order_id, 금액(최소 화폐 단위) */
+    private static final int ITEM_RECORD_BYTES = Long.BYTES * 3;
+    /** 등급 레코드: seller_id, 등급 ordinal */
+    private static final int GRADE_RECORD_BYTES = Long.BYTES + 1;
+
+    /** 판매자 한 명당 집계 테이블 메모리 (load factor 0.5 + 2의 거듭제곱 올림 최악 4배 슬롯, 정렬 배열 포함) */
+    private static final long TABLE_BYTES_PER_SELLER = (Long.BYTES * 5 + 1) * 4L + Long.BYTES;
+    private static final int MIN_BUFFER_BYTES = 8 * 1024;
+    private static final int MAX_BUFFER_BYTES = 1024 * 1024;
+    private static final int MAX_DEPTH = 8;
+
+    private final DataSource dataSource;
+    private final LocalDate targetDate;
+    private final Long minSellerId;
+    private final Long maxSellerId;
+    private final Path spillRoot;
+    private final int partitionCount;
+    private final int partitionBits;
+    private final int bufferBytes;
+    private final long partitionTableBytes;
+
+    private Path spillDirectory;
+    private Deque<Partition> pending;
+    private int nextFileId;
+    private int repartitionCount;
+    private long spilledBytes;
+
+    private SellerAggregationTable table;
+    private long[] sellerIds;
+    private int cursor;
+
+    /**
+     * @param spillRoot         spill 디렉터리를 만들 위치
+     * @param memoryBudgetBytes 이 Reader 의 버퍼와 파티션 집계 테이블이 사용할 힙 상한 (절반씩 나누어 쓴다).
+     *                          partitioned Step 에서는 워커마다 따로 쓴다
+     * @param partitionCount    1단계 파티션 수 (2의 거듭제곱)
+     */
+    public SpillingSellerAggregationReader(DataSource dataSource, LocalDate targetDate,
+                                           Long minSellerId, Long maxSellerId,
+                                           Path spillRoot, long memoryBudgetBytes, int partitionCount) {
+        if (partitionCount < 2 || Integer.bitCount(partitionCount) != 1) {
+            throw new IllegalArgumentException("spill 파티션 수는 2 이상의 2의 거듭제곱이어야 합니다: " + partitionCount);
+        }
+        this.dataSource = dataSource;
+        this.targetDate = targetDate;
+        this.minSellerId = minSellerId;
+        this.maxSellerId = maxSellerId;
+        this.spillRoot = spillRoot;
+        this.partitionCount = partitionCount;
+        this.partitionBits = Integer.numberOfTrailingZeros(partitionCount);
+
+        long halfBudget = memoryBudgetBytes / 2;
+        // 파티션마다 주문상품 / 등급 파일 두 개씩 쓰기 버퍼를 둔다
+        this.bufferBytes = (int) Math.max(MIN_BUFFER_BYTES,
+                Math.min(MAX_BUFFER_BYTES, halfBudget / (partitionCount * 2L)));
+        this.partitionTableBytes = Math.max(1_024 * TABLE_BYTES_PER_SELLER, halfBudget);
+        setName("sellerAggregationReader");
+    }
+
+    @Override
+    protected void doOpen() throws Exception {
+        long startTime = System.currentTimeMillis();
+        Files.createDirectories(spillRoot);
+        spillDirectory = Files.createTempDirectory(spillRoot, "settlement-spill-");
+        pending = new ArrayDeque<>(partitionCount);
+        nextFileId = 0;
+        repartitionCount = 0;
+        spilledBytes = 0;
+
+        SpillFile[] itemFiles = openSpillFiles();
+        SpillFile[] gradeFiles = openSpillFiles();
+        long rowCount;
+        try (Connection conn = dataSource.getConnection()) {
+            rowCount = spillOrderItems(conn, itemFiles);
+            spillSellerGrades(conn, gradeFiles);
+        } finally {
+            closeAll(itemFiles);
+            closeAll(gradeFiles);
+        }
+
+        for (int i = 0; i < partitionCount; i++) {
+            pending.addLast(new Partition(itemFiles[i].path, itemFiles[i].records, gradeFiles[i].path, 0));
+        }
+        sellerIds = new long[0];
+        cursor = 0;
+        log.info("spill 파티셔닝 완료 - targetDate: {}, 주문상품: {} 건, 파티션: {} 개, spill: {} bytes, "
+                        + "파티션당 집계 테이블 상한: {} bytes (소요시간: {}ms)",
+                targetDate, rowCount, partitionCount, spilledBytes, partitionTableBytes,
+                System.currentTimeMillis() - startTime);
+    }
+
+    private long spillOrderItems(Connection conn, SpillFile[] itemFiles) throws Exception {
+        boolean hasRange = minSellerId != null && maxSellerId != null;
+        String sql = ORDER_ITEM_SQL + (hasRange ? SELLER_RANGE_CLAUSE : "");
+
+        try (PreparedStatement ps = conn.prepareStatement(sql,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            // MySQL Connector/J: Integer.MIN_VALUE 이면 결과를 한 행씩 스트리밍한다
+            ps.setFetchSize(Integer.MIN_VALUE);
+            ps.setTimestamp(1, Timestamp.valueOf(targetDate.atStartOfDay()));
+            ps.setTimestamp(2, Timestamp.valueOf(targetDate.plusDays(1).atStartOfDay()));
+            if (hasRange) {
+                ps.setLong(3, minSellerId);
+                ps.setLong(4, maxSellerId);
+            }
+
+            long rowCount = 0;
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    long sellerId = rs.getLong(1);
+                    itemFiles[partitionOf(sellerId, 0)].writeItem(sellerId, rs.getLong(2), rs.getLong(3));
+                    rowCount++;
+                }
+            }
+            return rowCount;
+        }
+    }
+
+    private void spillSellerGrades(Connection conn, SpillFile[] gradeFiles) throws Exception {
+        boolean hasRange = minSellerId != null && maxSellerId != null;
+        String sql = SELLER_GRADE_SQL + (hasRange ? SELLER_GRADE_RANGE_CLAUSE : "");
+
+        try (PreparedStatement ps = conn.prepareStatement(sql,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            ps.setFetchSize(Integer.MIN_VALUE);
+            if (hasRange) {
+                ps.setLong(1, minSellerId);
+                ps.setLong(2, maxSellerId);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    long sellerId = rs.getLong(1);
+                    gradeFiles[partitionOf(sellerId, 0)].writeGrade(sellerId,
+                            SellerGrade.of(rs.getString(2)).ordinal());
+                }
+            }
+        }
+    }
+
+    @Override
+    protected SellerAggregation doRead() throws Exception {
+        while (cursor >= sellerIds.length) {
+            if (!aggregateNextPartition()) {
+                return null;
+            }
+        }
+
+        long sellerId = sellerIds[cursor++];
+        int slot = table.slotOf(sellerId);
+        return new SellerAggregation(
+                sellerId,
+                GRADES[table.gradeOrdinal(slot)],
+                table.totalSales(slot),
+                table.orderCount(slot),
+                table.itemCount(slot)
+        );
+    }
+
+    /**
+     * 다음 파티션을 집계한다. 집계 테이블이 상한을 넘으면 다시 나누어 대기열 앞에 넣는다
+     *
+     * @return 남은 파티션이 없으면 false
+     */
+    private boolean aggregateNextPartition() throws IOException {
+        table = null;
+        sellerIds = null;
+
+        Partition partition = pending.pollFirst();
+        if (partition == null) {
+            log.info("spill 집계 완료 - targetDate: {}, 재파티셔닝: {} 회", targetDate, repartitionCount);
+            sellerIds = new long[0];
+            return false;
+        }
+
+        SellerAggregationTable partitionTable = new SellerAggregationTable(
+                (int) Math.min(partition.itemRecords(), 1_024));
+        boolean fits = scan(partition.itemPath(), ITEM_RECORD_BYTES, buffer -> {
+            partitionTable.add(buffer.getLong(), buffer.getLong(), buffer.getLong());
+            return tableBytes(partitionTable) <= partitionTableBytes;
+        });
+
+        if (!fits) {
+            repartition(partition);
+        } else {
+            scan(partition.gradePath(), GRADE_RECORD_BYTES, buffer -> {
+                partitionTable.setGrade(buffer.getLong(), buffer.get());
+                return true;
+            });
+            table = partitionTable;
+            sellerIds = withGrade(partitionTable);
+        }
+        cursor = 0;
+        Files.deleteIfExists(partition.itemPath());
+        Files.deleteIfExists(partition.gradePath());
+        return true;
+    }
+
+    private static long tableBytes(SellerAggregationTable partitionTable) {
+        return partitionTable.size() * TABLE_BYTES_PER_SELLER;
+    }
+
+    /**
+     * 등급을 찾은 판매자만 seller_id 오름차순으로 (paging Reader 의 sellers JOIN 과 같은 결과)
+     */
+    private long[] withGrade(SellerAggregationTable partitionTable) {
+        long[] sorted = partitionTable.sortedSellerIds();
+        int count = 0;
+        for (long sellerId : sorted) {
+            if (partitionTable.gradeOrdinal(partitionTable.slotOf(sellerId)) >= 0) {
+                sorted[count++] = sellerId;
+            }
+        }
+        if (count < sorted.length) {
+            log.warn("sellers 에 없는 판매자 주문상품 제외 - {} 명", sorted.length - count);
+        }
+        return count < sorted.length ? Arrays.copyOf(sorted, count) : sorted;
+    }
+
+    private void repartition(Partition partition) throws IOException {
+        int depth = partition.depth() + 1;
+        if (depth > MAX_DEPTH) {
+            throw new IllegalStateException("spill 파티션을 " + MAX_DEPTH + " 단계까지 나누어도 집계 테이블이 "
+                    + "상한(" + partitionTableBytes + " bytes)을 넘습니다. settlement.reader.spill.memory-budget-mb 를 늘리세요");
+        }
+        repartitionCount++;
+
+        SpillFile[] itemFiles = openSpillFiles();
+        SpillFile[] gradeFiles = openSpillFiles();
+        try {
+            scan(partition.itemPath(), ITEM_RECORD_BYTES, buffer -> {
+                long sellerId = buffer.getLong();
+                itemFiles[partitionOf(sellerId, depth)].writeItem(sellerId, buffer.getLong(), buffer.getLong());
+                return true;
+            });
+            scan(partition.gradePath(), GRADE_RECORD_BYTES, buffer -> {
+                long sellerId = buffer.getLong();
+                gradeFiles[partitionOf(sellerId, depth)].writeGrade(sellerId, buffer.get());
+                return true;
+            });
+        } finally {
+            closeAll(itemFiles);
+            closeAll(gradeFiles);
+        }
+
+        // 출력 순서가 결정적이도록 하위 파티션을 원래 위치에 순서대로 끼워 넣는다
+        for (int i = partitionCount - 1; i >= 0; i--) {
+            pending.addFirst(new Partition(itemFiles[i].path, itemFiles[i].records, gradeFiles[i].path, depth));
+        }
+        log.debug("spill 파티션 재분할 - 주문상품: {} 건, depth: {}", partition.itemRecords(), depth);
+    }
+
+    /**
+     * 단계(depth)마다 다른 시드로 섞은 해시의 상위 비트로 파티션을 고른다
+     */
+    private int partitionOf(long sellerId, int depth) {
+        long h = (sellerId ^ (depth * 0xC2B2AE3D27D4EB4FL)) * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 29;
+        return (int) (h >>> (Long.SIZE - partitionBits));
+    }
+
+    /**
+     * spill 파일을 힙 버퍼로 순서대로 읽는다 (mmap 은 GC 전까지 해제되지 않아 파티션마다 주소 공간이 쌓이므로 쓰지 않는다)
+     *
+     * @return reader 가 false 를 돌려 중단했으면 false
+     */
+    private boolean scan(Path path, int recordBytes, RecordReader reader) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(bufferBytes / recordBytes * recordBytes);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (true) {
+                int read = channel.read(buffer);
+                buffer.flip();
+                while (buffer.remaining() >= recordBytes) {
+                    if (!reader.read(buffer)) {
+                        return false;
+                    }
+                }
+                buffer.compact();
+                if (read < 0) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    private SpillFile[] openSpillFiles() throws IOException {
+        SpillFile[] files = new SpillFile[partitionCount];
+        try {
+            for (int i = 0; i < partitionCount; i++) {
+                files[i] = new SpillFile(spillDirectory.resolve("p" + nextFileId++ + ".spill"), bufferBytes);
+            }
+        } catch (IOException e) {
+            closeAll(files);
+            throw e;
+        }
+        return files;
+    }
+
+    private void closeAll(SpillFile[] files) throws IOException {
+        IOException failure = null;
+        for (SpillFile file : files) {
+            if (file == null) {
+                continue;
+            }
+            try {
+                spilledBytes += file.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @Override
+    protected void doClose() throws Exception {
+        table = null;
+        sellerIds = null;
+        pending = null;
+        if (spillDirectory != null) {
+            FileSystemUtils.deleteRecursively(spillDirectory);
+            spillDirectory = null;
+        }
+    }
+
+    @FunctionalInterface
+    private interface RecordReader {
+
+        /**
+         * buffer 의 현재 위치에서 레코드 하나를 읽는다
+         *
+         * @return 계속 읽으려면 true
+         */
+        boolean read(ByteBuffer buffer) throws IOException;
+    }
+
+    /**
+     * 집계 대기 중인 파티션 (주문상품 / 등급 spill 파일 한 쌍)
+     */
+    private record Partition(Path itemPath, long itemRecords, Path gradePath, int depth) {
+    }
+
+    /**
+     * 버퍼가 찰 때마다 FileChannel 에 이어 쓰는 spill 파일
+     */
+    private static final class SpillFile {
+
+        private final Path path;
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private long records;
+
+        private SpillFile(Path path, int bufferBytes) throws IOException {
+            this.path = path;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            this.buffer = ByteBuffer.allocate(bufferBytes);
+        }
+
+        private void writeItem(long sellerId, long orderId, long amount) throws IOException {
+            ensureRemaining(ITEM_RECORD_BYTES);
+            buffer.putLong(sellerId).putLong(orderId).putLong(amount);
+            records++;
+        }
+
+        private void writeGrade(long sellerId, int gradeOrdinal) throws IOException {
+            ensureRemaining(GRADE_RECORD_BYTES);
+            buffer.putLong(sellerId).put((byte) gradeOrdinal);
+            records++;
+        }
+
+        private void ensureRemaining(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        /**
+         * @return 파일 크기
+         */
+        private long close() throws IOException {
+            try {
+                flush();
+                return channel.size();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.settlement.batch.reader;
+
+import com.settlement.batch.dto.SellerAggregation;
+import com.settlement.enums.SellerGrade;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * 단일 패스 스트리밍 집계 Reader
+ *
+ * 대상 날짜의 정산 대상 order_items 를 forward-only 커서로 한 번만 읽으면서
+ * JVM 내 SellerAggregationTable 에 판매자별로 누적한 뒤, seller_id 오름차순으로 SellerAggregation 을 내보낸다.
+ * 페이지마다 GROUP BY 를 다시 수행하는 페이징 Reader 와 달리 DB 는 대상 행을 한 번만 스캔한다.
+ * 대상 주문을 orders 의 날짜 인덱스로 읽고 주문마다 order_items 를 조회하는 nested loop 로 고정하므로
+ * (JOIN_ORDER, BKA / hash join 금지 힌트) 같은 주문의 주문상품이 이어서 나온다.
+ * 판매자별 주문 수는 판매자별 마지막 order_id 비교로 세므로 ORDER BY(filesort) 도, 주문 단위 집합도 필요 없고
+ * JVM 메모리는 판매자 수에만 비례한다.
+ * seller_id 범위(파티션)가 있어도 그 날 주문은 모두 읽고 범위 밖 주문상품만 거른다.
+ * sellers 에 없는 판매자는 paging Reader 의 sellers JOIN 과 같이 제외한다.
+ *
+ * 재시작 시에는 다시 집계한 뒤 저장된 read.count 위치로 바로 이동한다 (정렬 순서가 결정적이므로 안전).
+ */
+@Slf4j
+public class StreamingSellerAggregationReader extends AbstractItemCountingItemStreamItemReader<SellerAggregation> {
+
+    private static final String ORDER_ITEM_SQL = """
+            SELECT /*+ JOIN_ORDER(o, oi) NO_BKA(oi) NO_BNL(oi) */
+                   oi.seller_id, oi.order_id, CAST(oi.total_price * 100 AS SIGNED) as total_price_cents
+            FROM orders o
+            JOIN order_items oi ON oi.order_id = o.id
+            WHERE o.ordered_at >= ?
+              AND o.ordered_at < ?
+              AND o.status IN ('DELIVERED', 'SHIPPED', 'PAID')
+            """;
+    private static final String SELLER_RANGE_CLAUSE = "  AND oi.seller_id BETWEEN ? AND ?\n";
+
+    private static final String SELLER_GRADE_SQL = "SELECT id, grade FROM sellers";
+    private static final String SELLER_GRADE_RANGE_CLAUSE = " WHERE id BETWEEN ? AND ?";
+
+    private static final SellerGrade[] GRADES = SellerGrade.values();
+    private static final int EXPECTED_SELLERS = 1_024;
+
+    private final DataSource dataSource;
+    private final LocalDate targetDate;
+    private final Long minSellerId;
+    private final Long maxSellerId;
+
+    private SellerAggregationTable table;
+    private long[] sellerIds;
+    private int cursor;
+
+    public StreamingSellerAggregationReader(DataSource dataSource, LocalDate targetDate,
+                                            Long minSellerId, Long maxSellerId) {
+        this.dataSource = dataSource;
+        this.targetDate = targetDate;
+        this.minSellerId = minSellerId;
+        this.maxSellerId = maxSellerId;
+        setName("sellerAggregationReader");
+    }
+
+    @Override
+    protected void doOpen() throws Exception {
+        long startTime = System.currentTimeMillis();
+        table = new SellerAggregationTable(EXPECTED_SELLERS);
+
+        try (Connection conn = dataSource.getConnection()) {
+            long rowCount = aggregateOrderItems(conn);
+            loadSellerGrades(conn);
+            log.info("스트리밍 집계 완료 - targetDate: {}, 주문상품: {} 건, 판매자: {} 명 (소요시간: {}ms)",
+                    targetDate, rowCount, table.size(), System.currentTimeMillis() - startTime);
+        }
+
+        sellerIds = withGrade(table);
+        cursor = 0;
+    }
+
+    /**
+     * 등급을 찾은 판매자만 seller_id 오름차순으로
+     */
+    private static long[] withGrade(SellerAggregationTable table) {
+        long[] sorted = table.sortedSellerIds();
+        int count = 0;
+        for (long sellerId : sorted) {
+            if (table.gradeOrdinal(table.slotOf(sellerId)) >= 0) {
+                sorted[count++] = sellerId;
+            }
+        }
+        if (count < sorted.length) {
+            log.warn("sellers 에 없는 판매자 주문상품 제외 - {} 명", sorted.length - count);
+        }
+        return count < sorted.length ? Arrays.copyOf(sorted, count) : sorted;
+    }
+
+    private long aggregateOrderItems(Connection conn) throws Exception {
+        boolean hasRange = minSellerId != null && maxSellerId != null;
+        String sql = ORDER_ITEM_SQL + (hasRange ? SELLER_RANGE_CLAUSE : "");
+
+        try (PreparedStatement ps = conn.prepareStatement(sql,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            // MySQL Connector/J: Integer.MIN_VALUE 이면 결과를 한 행씩 스트리밍한다
+            ps.setFetchSize(Integer.MIN_VALUE);
+            ps.setTimestamp(1, Timestamp.valueOf(targetDate.atStartOfDay()));
+            ps.setTimestamp(2, Timestamp.valueOf(targetDate.plusDays(1).atStartOfDay()));
+            if (hasRange) {
+                ps.setLong(3, minSellerId);
+                ps.setLong(4, maxSellerId);
+            }
+
+            long rowCount = 0;
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    table.add(rs.getLong(1), rs.getLong(2), rs.getLong(3));
+                    rowCount++;
+                }
+            }
+            return rowCount;
+        }
+    }
+
+    private void loadSellerGrades(Connection conn) throws Exception {
+        boolean hasRange = minSellerId != null && maxSellerId != null;
+        String sql = SELLER_GRADE_SQL + (hasRange ? SELLER_GRADE_RANGE_CLAUSE : "");
+
+        try (PreparedStatement ps = conn.prepareStatement(sql,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            ps.setFetchSize(Integer.MIN_VALUE);
+            if (hasRange) {
+                ps.setLong(1, minSellerId);
+                ps.setLong(2, maxSellerId);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    table.setGrade(rs.getLong(1), SellerGrade.of(rs.getString(2)).ordinal());
+                }
+            }
+        }
+    }
+
+    @Override
+    protected SellerAggregation doRead() {
+        if (cursor >= sellerIds.length) {
+            return null;
+        }
+
+        long sellerId = sellerIds[cursor++];
+        int slot = table.slotOf(sellerId);
+        return new SellerAggregation(
+                sellerId,
+                GRADES[table.gradeOrdinal(slot)],
+                table.totalSales(slot),
+                table.orderCount(slot),
+                table.itemCount(slot)
+        );
+    }
+
+    @Override
+    protected void jumpToItem(int itemIndex) {
+        cursor = itemIndex;
+    }
+
+    @Override
+    protected void doClose() {
+        table = null;
+        sellerIds = null;
+    }
+}
@@ -1,11 +1,13 @@
 package com.settlement.batch.runner;
 
+import com.settlement._data_generator.DataGenerationOptions;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.JobParameters;
 import org.springframework.batch.core.JobParametersBuilder;
 import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.stereotype.Component;
@@ -17,7 +19,13 @@ import java.time.LocalDate;
  *
  * 실행 방법:
  * ./gradlew bootRun --args="--job=settlement --targetDate=2024-01-15"
+ * ./gradlew bootRun --args="--job=incremental"
+ * ./gradlew bootRun --args="--job=compact-adjustments"
+ * ./gradlew bootRun --args="--job=export-payouts --startDate=2024-01-01 --endDate=2024-01-31 --status=CONFIRMED"
  * ./gradlew bootRun --args="--job=generate"
+ * ./gradlew bootRun --args="--job=generate --sellers=10000 --items=100000000 --days=30 --items-per-order=4 --workers=16"
+ * ./gradlew bootRun --args="--job=rebuild-rollup --startDate=2024-01-01 --endDate=2024-01-31"
+ * ./gradlew bootRun --args="--job=backfill-ordered-at"
  */
 @Slf4j
 @Component
@@ -26,6 +34,11 @@ public class BatchRunner implements ApplicationRunner {
 
     private final JobLauncher jobLauncher;
     private final Job settlementJob;
+    private final Job incrementalSettlementJob;
+    private final Job settlementAdjustmentCompactionJob;
+    private final Job settlementPayoutExportJob;
+    private final Job sellerDailySalesRebuildJob;
+    private final Job orderItemsOrderedAtBackfillJob;
     private final com.settlement._data_generator.TestDataGenerator testDataGenerator;
 
     @Override
@@ -40,6 +53,11 @@ public class BatchRunner implements ApplicationRunner {
         switch (job) {
             case "generate" -> runDataGeneration(args);
             case "settlement" -> runSettlementJob(args);
+            case "incremental" -> runIncrementalSettlementJob(args);
+            case "compact-adjustments" -> runAdjustmentCompactionJob();
+            case "export-payouts" -> runPayoutExportJob(args);
+            case "rebuild-rollup" -> runRollupRebuildJob(args);
+            case "backfill-ordered-at" -> runOrderedAtBackfillJob();
             default -> log.warn("알 수 없는 작업: {}", job);
         }
     }
@@ -49,7 +67,7 @@ public class BatchRunner implements ApplicationRunner {
         if (clear) {
             testDataGenerator.clearAllData();
         }
-        testDataGenerator.generateAll();
+        testDataGenerator.generateAll(DataGenerationOptions.from(args, testDataGenerator.maxWorkers()));
     }
 
     private void runSettlementJob(ApplicationArguments args) throws Exception {
@@ -65,4 +83,77 @@ public class BatchRunner implements ApplicationRunner {
         log.info("정산 배치 실행 - targetDate: {}", targetDate);
         jobLauncher.run(settlementJob, jobParameters);
     }
+
+    private void runIncrementalSettlementJob(ApplicationArguments args) throws Exception {
+        String cutoffDate = args.containsOption("cutoffDate")
+                ? args.getOptionValues("cutoffDate").get(0)
+                : LocalDate.now().toString();
+
+        JobParameters jobParameters = new JobParametersBuilder()
+                .addString("cutoffDate", cutoffDate)
+                .addLong("timestamp", System.currentTimeMillis())
+                .toJobParameters();
+
+        log.info("증분 정산 배치 실행 - cutoffDate: {}", cutoffDate);
+        jobLauncher.run(incrementalSettlementJob, jobParameters);
+    }
+
+    private void runAdjustmentCompactionJob() throws Exception {
+        JobParameters jobParameters = new JobParametersBuilder()
+                .addLong("timestamp", System.currentTimeMillis())
+                .toJobParameters();
+
+        log.info("정산 조정 원장 압축 실행");
+        jobLauncher.run(settlementAdjustmentCompactionJob, jobParameters);
+    }
+
+    private void runPayoutExportJob(ApplicationArguments args) throws Exception {
+        String endDate = args.containsOption("endDate")
+                ? args.getOptionValues("endDate").get(0)
+                : LocalDate.now().minusDays(1).toString();
+        String startDate = args.containsOption("startDate")
+                ? args.getOptionValues("startDate").get(0)
+                : endDate;
+
+        JobParametersBuilder builder = new JobParametersBuilder()
+                .addString("startDate", startDate)
+                .addString("endDate", endDate)
+                .addLong("timestamp", System.currentTimeMillis());
+        if (args.containsOption("status")) {
+            builder.addString("status", args.getOptionValues("status").get(0));
+        }
+
+        log.info("정산 지급 파일 내보내기 실행 - {} ~ {}", startDate, endDate);
+        jobLauncher.run(settlementPayoutExportJob, builder.toJobParameters());
+    }
+
+    private void runRollupRebuildJob(ApplicationArguments args) throws Exception {
+        String endDate = args.containsOption("endDate")
+                ? args.getOptionValues("endDate").get(0)
+                : LocalDate.now().minusDays(1).toString();
+        String startDate = args.containsOption("startDate")
+                ? args.getOptionValues("startDate").get(0)
+                : endDate;
+
+        JobParameters jobParameters = new JobParametersBuilder()
+                .addString("startDate", startDate)
+                .addString("endDate", endDate)
+                .addLong("timestamp", System.currentTimeMillis())
+                .toJobParameters();
+
+        log.info("롤업 재구축 배치 실행 - {} ~ {}", startDate, endDate);
+        jobLauncher.run(sellerDailySalesRebuildJob, jobParameters);
+    }
+
+    /**
+     * 항상 같은 JobInstance 로 실행하여 실패하면 다음 실행이 남은 id 범위부터 이어서 채운다
+     */
+    private void runOrderedAtBackfillJob() throws Exception {
+        log.info("order_items.ordered_at 백필 배치 실행");
+        try {
+            jobLauncher.run(orderItemsOrderedAtBackfillJob, new JobParameters());
+        } catch (JobInstanceAlreadyCompleteException e) {
+            log.info("order_items.ordered_at 백필이 이미 완료되었습니다");
+        }
+    }
 }
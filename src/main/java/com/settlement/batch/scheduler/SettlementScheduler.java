@@ -11,6 +11,8 @@ import org.springframework.stereotype.Component;
 /**
  * 정산 배치 스케줄러
  * 매일 새벽 3시에 전날 정산 배치를 자동 실행
+ * settlement.scheduler.incremental-cron 을 지정하면 증분 정산도 주기적으로 실행
+ * settlement.scheduler.compaction-cron 을 지정하면 정산 조정 원장 압축도 주기적으로 실행
  *
  * 활성화: application.yml에서 settlement.scheduler.enabled=true 설정
  */
@@ -37,4 +39,34 @@ public class SettlementScheduler {
             log.error("=== 일일 정산 스케줄러 실패 ===", e);
         }
     }
+
+    /**
+     * 늦게 들어온 환불 / 취소 반영용 증분 정산 (기본값 "-": 비활성)
+     */
+    @Scheduled(cron = "${settlement.scheduler.incremental-cron:-}")
+    public void runIncrementalSettlement() {
+        log.info("=== 증분 정산 스케줄러 시작 ===");
+
+        try {
+            JobExecution execution = settlementJobService.runIncrementalSettlementJob();
+            log.info("=== 증분 정산 스케줄러 완료 - status: {} ===", execution.getStatus());
+        } catch (Exception e) {
+            log.error("=== 증분 정산 스케줄러 실패 ===", e);
+        }
+    }
+
+    /**
+     * 정산 조정 원장을 판매자 / 월별 잔액으로 압축 (기본값 "-": 비활성)
+     */
+    @Scheduled(cron = "${settlement.scheduler.compaction-cron:-}")
+    public void runAdjustmentCompaction() {
+        log.info("=== 정산 조정 원장 압축 스케줄러 시작 ===");
+
+        try {
+            JobExecution execution = settlementJobService.runAdjustmentCompactionJob();
+            log.info("=== 정산 조정 원장 압축 스케줄러 완료 - status: {} ===", execution.getStatus());
+        } catch (Exception e) {
+            log.error("=== 정산 조정 원장 압축 스케줄러 실패 ===", e);
+        }
+    }
 }
@@ -0,0 +1,194 @@
+package com.settlement.batch.service;
+
+import com.settlement.batch.dto.SettlementBackfill;
+import com.settlement.enums.BackfillDayStatus;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 기간 정산(백필) 실행 서비스
+ *
+ * 요청 스레드에서 날짜를 하나씩 실행하지 않고, 날짜별 정산 Job 을
+ * 전용 스레드 풀에서 제한된 동시성으로 실행한 뒤 백필 ID 로 진행 상태를 조회한다.
+ *
+ * 동시성은 settlement.backfill.concurrency 와 커넥션 풀 크기 중 작은 쪽으로 제한하고,
+ * 각 날짜는 시작 전에 커넥션 permit(Semaphore) 을 connections-per-job 개 받아야 실행된다.
+ * permit 은 커넥션 풀 크기에서 Job 하나 분량을 스케줄러 / API 몫으로 남긴 수이다.
+ *
+ * 실패한 날짜 재시도는 첫 실행과 같은 Job 파라미터로 실행하여 새 JobInstance 를 만들지 않고
+ * 실패한 JobInstance 를 재시작한다 (완료된 Step 은 건너뛴다).
+ *
+ * 진행 상태는 메모리에만 보관하므로 애플리케이션 재시작 시 사라진다.
+ * 끝난 백필은 retention-minutes 가 지나거나 max-retained 개를 넘으면 오래된 것부터 지운다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SettlementBackfillService {
+
+    private final SettlementJobService settlementJobService;
+    private final DataSource dataSource;
+
+    private final Map<String, SettlementBackfill> backfills = new ConcurrentHashMap<>();
+
+    @Value("${settlement.backfill.concurrency:4}")
+    private int concurrency;
+
+    @Value("${settlement.backfill.connections-per-job:2}")
+    private int connectionsPerJob;
+
+    @Value("${settlement.backfill.retention-minutes:1440}")
+    private long retentionMinutes;
+
+    @Value("${settlement.backfill.max-retained:100}")
+    private int maxRetained;
+
+    private ThreadPoolTaskExecutor executor;
+    private Semaphore connectionPermits;
+
+    @PostConstruct
+    void initExecutor() {
+        int maximumPoolSize = maximumPoolSize();
+        int poolSize = Math.min(concurrency, Math.max(1, maximumPoolSize / connectionsPerJob));
+        connectionPermits = new Semaphore(Math.max(connectionsPerJob, maximumPoolSize - connectionsPerJob), true);
+
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setThreadNamePrefix("settlement-backfill-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+
+        log.info("기간 정산 실행기 초기화 - 동시 실행: {} (설정: {}, 커넥션/Job: {}, 커넥션 permit: {})",
+                poolSize, concurrency, connectionsPerJob, connectionPermits.availablePermits());
+    }
+
+    @PreDestroy
+    void shutdownExecutor() {
+        executor.shutdown();
+    }
+
+    /**
+     * 기간 정산 시작
+     *
+     * @return 진행 상태 조회용 백필
+     */
+    public SettlementBackfill start(LocalDate startDate, LocalDate endDate) {
+        evictFinished();
+        SettlementBackfill backfill = new SettlementBackfill(UUID.randomUUID().toString(), startDate, endDate);
+        backfills.put(backfill.getId(), backfill);
+
+        log.info("기간 정산 시작 - backfillId: {}, {} ~ {} ({}일)",
+                backfill.getId(), startDate, endDate, backfill.getTotalDays());
+
+        backfill.getDayList().forEach(day -> submit(backfill, day));
+        return backfill;
+    }
+
+    public Optional<SettlementBackfill> find(String backfillId) {
+        return Optional.ofNullable(backfills.get(backfillId));
+    }
+
+    /**
+     * 실패한 날짜만 다시 실행
+     *
+     * @return 재시도한 날짜 수
+     */
+    public int retryFailed(SettlementBackfill backfill) {
+        int retried = 0;
+        for (SettlementBackfill.Day day : backfill.getDayList()) {
+            if (day.resetIfFailed()) {
+                submit(backfill, day);
+                retried++;
+            }
+        }
+        log.info("기간 정산 재시도 - backfillId: {}, 재시도 날짜 수: {}", backfill.getId(), retried);
+        return retried;
+    }
+
+    private void submit(SettlementBackfill backfill, SettlementBackfill.Day day) {
+        executor.execute(() -> runDay(backfill, day));
+    }
+
+    private void runDay(SettlementBackfill backfill, SettlementBackfill.Day day) {
+        try {
+            connectionPermits.acquire(connectionsPerJob);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            day.finish(null, BackfillDayStatus.FAILED, "대기 중 중단됨");
+            return;
+        }
+
+        day.start();
+        try {
+            JobExecution execution = settlementJobService.runSettlementJob(
+                    day.jobParameters(settlementJobService::settlementJobParameters));
+            BackfillDayStatus status = execution.getStatus() == BatchStatus.COMPLETED
+                    ? BackfillDayStatus.COMPLETED
+                    : BackfillDayStatus.FAILED;
+            day.finish(execution.getId(), status, execution.getExitStatus().getExitDescription());
+        } catch (Exception e) {
+            log.warn("날짜 {} 정산 실패 - backfillId: {}, {}", day.getDate(), backfill.getId(), e.getMessage());
+            day.finish(null, BackfillDayStatus.FAILED, e.getMessage());
+        } finally {
+            connectionPermits.release(connectionsPerJob);
+        }
+
+        if (backfill.isDone()) {
+            log.info("기간 정산 종료 - backfillId: {}, 성공: {}, 실패: {}", backfill.getId(),
+                    backfill.count(BackfillDayStatus.COMPLETED), backfill.count(BackfillDayStatus.FAILED));
+        }
+    }
+
+    /**
+     * 보관 기간이 지났거나 max-retained 를 넘은 끝난 백필을 오래된 것부터 지운다 (진행 중인 백필은 남긴다)
+     */
+    private void evictFinished() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        backfills.values().removeIf(backfill -> backfill.isFinishedBefore(cutoff));
+
+        int overflow = backfills.size() - maxRetained + 1;
+        if (overflow > 0) {
+            backfills.values().stream()
+                    .filter(SettlementBackfill::isDone)
+                    .sorted(Comparator.comparing(SettlementBackfill::getCreatedAt))
+                    .limit(overflow)
+                    .toList()
+                    .forEach(backfill -> backfills.remove(backfill.getId()));
+        }
+    }
+
+    private int maximumPoolSize() {
+        HikariDataSource hikari = hikariDataSource();
+        return hikari != null ? hikari.getMaximumPoolSize() : concurrency * connectionsPerJob;
+    }
+
+    private HikariDataSource hikariDataSource() {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class)
+                    ? dataSource.unwrap(HikariDataSource.class)
+                    : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.settlement.batch.service;
 
+import com.settlement.enums.SettlementStatus;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.*;
@@ -22,6 +23,9 @@ public class SettlementJobService {
 
     private final JobLauncher jobLauncher;
     private final Job settlementJob;
+    private final Job incrementalSettlementJob;
+    private final Job settlementAdjustmentCompactionJob;
+    private final Job settlementPayoutExportJob;
 
     /**
      * 정산 배치 실행
@@ -30,11 +34,28 @@ public class SettlementJobService {
      * @return JobExecution 결과
      */
     public JobExecution runSettlementJob(LocalDate targetDate) {
-        JobParameters jobParameters = new JobParametersBuilder()
+        return runSettlementJob(settlementJobParameters(targetDate));
+    }
+
+    /**
+     * 정산 배치 Job 파라미터 (실행마다 새 JobInstance)
+     */
+    public JobParameters settlementJobParameters(LocalDate targetDate) {
+        return new JobParametersBuilder()
                 .addString("targetDate", targetDate.toString())
                 .addLong("timestamp", System.currentTimeMillis())
                 .toJobParameters();
+    }
 
+    /**
+     * 주어진 파라미터로 정산 배치 실행
+     * 실패한 실행과 같은 파라미터를 넘기면 같은 JobInstance 를 재시작한다
+     *
+     * @param jobParameters settlementJobParameters 로 만든 파라미터
+     * @return JobExecution 결과
+     */
+    public JobExecution runSettlementJob(JobParameters jobParameters) {
+        String targetDate = jobParameters.getString("targetDate");
         log.info("정산 배치 실행 시작 - targetDate: {}", targetDate);
 
         try {
@@ -57,6 +78,102 @@ public class SettlementJobService {
         }
     }
 
+    /**
+     * 증분 정산 배치 실행
+     * 재정산 대상으로 기록된 (판매자, 매출일) 중 오늘 이전 매출일만 재정산한다
+     *
+     * @return JobExecution 결과
+     */
+    public JobExecution runIncrementalSettlementJob() {
+        LocalDate cutoffDate = LocalDate.now();
+        JobParameters jobParameters = new JobParametersBuilder()
+                .addString("cutoffDate", cutoffDate.toString())
+                .addLong("timestamp", System.currentTimeMillis())
+                .toJobParameters();
+
+        log.info("증분 정산 배치 실행 시작 - cutoffDate: {}", cutoffDate);
+
+        try {
+            JobExecution execution = jobLauncher.run(incrementalSettlementJob, jobParameters);
+            log.info("증분 정산 배치 완료 - status: {}, 재정산: {} 건", execution.getStatus(),
+                    execution.getStepExecutions().stream().mapToLong(StepExecution::getWriteCount).sum());
+            return execution;
+        } catch (JobExecutionAlreadyRunningException e) {
+            log.error("증분 정산 배치가 이미 실행 중입니다");
+            throw new IllegalStateException("증분 정산 배치가 이미 실행 중입니다", e);
+        } catch (JobRestartException | JobInstanceAlreadyCompleteException e) {
+            log.error("증분 정산 배치 실행 실패", e);
+            throw new IllegalStateException("증분 정산 배치 실행 실패", e);
+        } catch (JobParametersInvalidException e) {
+            log.error("잘못된 Job 파라미터 - cutoffDate: {}", cutoffDate, e);
+            throw new IllegalArgumentException("잘못된 Job 파라미터", e);
+        }
+    }
+
+    /**
+     * 정산 조정 원장 압축 배치 실행
+     *
+     * @return JobExecution 결과
+     */
+    public JobExecution runAdjustmentCompactionJob() {
+        JobParameters jobParameters = new JobParametersBuilder()
+                .addLong("timestamp", System.currentTimeMillis())
+                .toJobParameters();
+
+        log.info("정산 조정 원장 압축 실행 시작");
+
+        try {
+            JobExecution execution = jobLauncher.run(settlementAdjustmentCompactionJob, jobParameters);
+            log.info("정산 조정 원장 압축 완료 - status: {}, 반영: {} 건", execution.getStatus(),
+                    execution.getStepExecutions().stream().mapToLong(StepExecution::getWriteCount).sum());
+            return execution;
+        } catch (JobExecutionAlreadyRunningException e) {
+            log.error("정산 조정 원장 압축이 이미 실행 중입니다");
+            throw new IllegalStateException("정산 조정 원장 압축이 이미 실행 중입니다", e);
+        } catch (JobRestartException | JobInstanceAlreadyCompleteException | JobParametersInvalidException e) {
+            log.error("정산 조정 원장 압축 실행 실패", e);
+            throw new IllegalStateException("정산 조정 원장 압축 실행 실패", e);
+        }
+    }
+
+    /**
+     * 정산 지급 파일 내보내기 실행
+     *
+     * @param startDate 시작 정산일
+     * @param endDate   종료 정산일
+     * @param status    CSV 에 내보낼 정산 상태 (null 이면 전체, 고정폭 이체 파일은 항상 CONFIRMED 만)
+     * @return JobExecution 결과 (ExecutionContext 에 생성한 파일 경로)
+     */
+    public JobExecution runPayoutExportJob(LocalDate startDate, LocalDate endDate, SettlementStatus status) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("startDate 가 endDate 보다 늦습니다: " + startDate + " ~ " + endDate);
+        }
+        JobParametersBuilder builder = new JobParametersBuilder()
+                .addString("startDate", startDate.toString())
+                .addString("endDate", endDate.toString())
+                .addLong("timestamp", System.currentTimeMillis());
+        if (status != null) {
+            builder.addString("status", status.name());
+        }
+
+        log.info("정산 지급 파일 내보내기 시작 - {} ~ {}, status: {}", startDate, endDate, status);
+
+        try {
+            JobExecution execution = jobLauncher.run(settlementPayoutExportJob, builder.toJobParameters());
+            log.info("정산 지급 파일 내보내기 완료 - status: {}, {} ~ {}", execution.getStatus(), startDate, endDate);
+            return execution;
+        } catch (JobExecutionAlreadyRunningException e) {
+            log.error("정산 지급 파일 내보내기가 이미 실행 중입니다 - {} ~ {}", startDate, endDate);
+            throw new IllegalStateException("정산 지급 파일 내보내기가 이미 실행 중입니다", e);
+        } catch (JobRestartException | JobInstanceAlreadyCompleteException e) {
+            log.error("정산 지급 파일 내보내기 실행 실패 - {} ~ {}", startDate, endDate, e);
+            throw new IllegalStateException("정산 지급 파일 내보내기 실행 실패", e);
+        } catch (JobParametersInvalidException e) {
+            log.error("잘못된 Job 파라미터 - {} ~ {}", startDate, endDate, e);
+            throw new IllegalArgumentException("잘못된 Job 파라미터", e);
+        }
+    }
+
     /**
      * 전날 정산 배치 실행 (스케줄러용)
      */
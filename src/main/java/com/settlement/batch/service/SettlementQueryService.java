@@ -0,0 +1,203 @@
+package com.settlement.batch.service;
+
+import com.settlement.batch.cache.SettlementQueryCache;
+import com.settlement.batch.dto.SettlementPage;
+import com.settlement.batch.dto.SettlementQuery;
+import com.settlement.batch.dto.SettlementView;
+import com.settlement.common.jdbc.SqlSource;
+import com.settlement.common.shard.ShardDataSources;
+import com.settlement.common.shard.ShardDataSources.ShardTarget;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 정산 조회 서비스
+ *
+ * (settlement_date, seller_id) keyset 페이지네이션으로 조회하고 결과를 SettlementQueryCache 에 둔다.
+ * 인덱스: 판매자 조회는 idx_seller_date, 기간 조회는 idx_date_seller, 상태 조회는 idx_status_date_seller 를
+ * 정렬 순서 그대로 타므로 OFFSET 없이 다음 페이지 첫 행부터 LIMIT 만큼만 읽는다.
+ *
+ * 금액 / 건수는 settlements 행에 같은 (정산일, 판매자)의 settlement_adjustments 합계를 더한 유효 값이다.
+ * 원장 행은 압축 후에도 지우지 않고(compacted_at 표시만) settlement_adjustment_balances 는 판매자 / 월 단위라
+ * 일자별 금액에 쓸 수 없으므로, 잔액 테이블이 아니라 원장 행을 idx_date_seller 로 직접 합산한다.
+ *
+ * 조회는 primary(샤딩이면 샤드)에서 한다. replica 는 Writer 커밋 후 무효화된 날짜를
+ * 복제 지연 동안 이전 값으로 다시 캐시할 수 있으므로 사용하지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SettlementQueryService {
+
+    // 금액 / 건수는 확정 이후 조정 원장을 더한 유효 값이다
+    private static final String SELECT_SQL = """
+            SELECT s.seller_id, s.settlement_date,
+                   s.total_sales + COALESCE(a.total_sales, 0) as total_sales,
+                   s.commission_rate,
+                   s.commission + COALESCE(a.commission, 0) as commission,
+                   s.net_amount + COALESCE(a.net_amount, 0) as net_amount,
+                   s.order_count + COALESCE(a.order_count, 0) as order_count,
+                   s.item_count + COALESCE(a.item_count, 0) as item_count,
+                   s.status
+            FROM settlements s
+            LEFT JOIN LATERAL (
+                SELECT SUM(total_sales) as total_sales, SUM(commission) as commission, SUM(net_amount) as net_amount,
+                       SUM(order_count) as order_count, SUM(item_count) as item_count
+                FROM settlement_adjustments
+                WHERE settlement_date = s.settlement_date AND seller_id = s.seller_id
+            ) a ON TRUE
+            WHERE s.settlement_date BETWEEN ? AND ?
+            """;
+
+    private static final Comparator<SettlementView> KEY_ORDER = Comparator
+            .comparing(SettlementView::settlementDate)
+            .thenComparing(SettlementView::sellerId);
+
+    private static final RowMapper<SettlementView> ROW_MAPPER = (rs, rowNum) -> new SettlementView(
+            rs.getLong("seller_id"),
+            rs.getObject("settlement_date", LocalDate.class),
+            rs.getBigDecimal("total_sales"),
+            rs.getBigDecimal("commission_rate"),
+            rs.getBigDecimal("commission"),
+            rs.getBigDecimal("net_amount"),
+            rs.getInt("order_count"),
+            rs.getInt("item_count"),
+            rs.getString("status")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardDataSources shardDataSources;
+    private final SettlementQueryCache cache;
+
+    @Value("${settlement.query.max-page-size:500}")
+    private int maxPageSize;
+
+    @Value("${settlement.query.max-range-days:92}")
+    private int maxRangeDays;
+
+    public SettlementPage find(SettlementQuery query) {
+        validate(query);
+
+        long stamp = cache.stamp(query.startDate(), query.endDate());
+        SettlementPage cached = cache.get(query, stamp);
+        if (cached != null) {
+            return cached;
+        }
+
+        SettlementPage page = load(query);
+        cache.put(query, stamp, page);
+        return page;
+    }
+
+    private SettlementPage load(SettlementQuery query) {
+        Key after = query.cursor() != null ? decodeCursor(query.cursor()) : null;
+        int limit = query.size() + 1;
+
+        List<SettlementView> rows;
+        SqlSource.Scope scope = SqlSource.SETTLEMENT_QUERY.open();
+        try {
+            if (!shardDataSources.isEnabled()) {
+                rows = select(jdbcTemplate, query, after, limit);
+            } else if (query.sellerId() != null) {
+                rows = select(shardDataSources.forSeller(query.sellerId()).jdbcTemplate(), query, after, limit);
+            } else {
+                rows = selectAllShards(query, after, limit);
+            }
+        } finally {
+            scope.close();
+        }
+
+        if (rows.size() <= query.size()) {
+            return new SettlementPage(rows, null);
+        }
+        List<SettlementView> items = List.copyOf(rows.subList(0, query.size()));
+        SettlementView last = items.get(items.size() - 1);
+        return new SettlementPage(items, encodeCursor(new Key(last.settlementDate(), last.sellerId())));
+    }
+
+    /**
+     * 샤드마다 다음 limit 행을 읽어 키 순서로 병합한다
+     */
+    private List<SettlementView> selectAllShards(SettlementQuery query, Key after, int limit) {
+        List<SettlementView> merged = new ArrayList<>();
+        for (ShardTarget shard : shardDataSources.all()) {
+            merged.addAll(select(shard.jdbcTemplate(), query, after, limit));
+        }
+        merged.sort(KEY_ORDER);
+        return merged.size() > limit ? merged.subList(0, limit) : merged;
+    }
+
+    private List<SettlementView> select(JdbcTemplate template, SettlementQuery query, Key after, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        List<Object> args = new ArrayList<>(8);
+        args.add(query.startDate());
+        args.add(query.endDate());
+
+        if (query.sellerId() != null) {
+            sql.append("  AND s.seller_id = ?\n");
+            args.add(query.sellerId());
+        }
+        if (query.status() != null) {
+            sql.append("  AND s.status = ?\n");
+            args.add(query.status().name());
+        }
+        if (after != null) {
+            sql.append("  AND (s.settlement_date > ? OR (s.settlement_date = ? AND s.seller_id > ?))\n");
+            args.add(after.settlementDate());
+            args.add(after.settlementDate());
+            args.add(after.sellerId());
+        }
+        sql.append("ORDER BY s.settlement_date, s.seller_id\nLIMIT ?");
+        args.add(limit);
+
+        return template.query(sql.toString(), ROW_MAPPER, args.toArray());
+    }
+
+    private void validate(SettlementQuery query) {
+        if (query.startDate().isAfter(query.endDate())) {
+            throw new IllegalArgumentException("시작일이 종료일보다 클 수 없습니다");
+        }
+        long days = ChronoUnit.DAYS.between(query.startDate(), query.endDate()) + 1;
+        if (days > maxRangeDays) {
+            throw new IllegalArgumentException("조회 기간은 최대 " + maxRangeDays + "일입니다");
+        }
+        if (query.size() < 1 || query.size() > maxPageSize) {
+            throw new IllegalArgumentException("size 는 1 ~ " + maxPageSize + " 사이여야 합니다");
+        }
+    }
+
+    /**
+     * 커서: "settlement_date:seller_id" 의 URL-safe Base64
+     */
+    private String encodeCursor(Key key) {
+        String raw = key.settlementDate() + ":" + key.sellerId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Key decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new Key(LocalDate.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("잘못된 cursor 입니다: " + cursor);
+        }
+    }
+
+    private record Key(LocalDate settlementDate, long sellerId) {
+    }
+}
@@ -0,0 +1,112 @@
+package com.settlement.batch.tasklet;
+
+import com.settlement.common.shard.ShardDataSources;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * order_items.ordered_at 백필 Tasklet
+ *
+ * V8 마이그레이션은 order_items 를 잠그지 않도록 ordered_at 을 NULL 허용 컬럼으로만 추가하므로,
+ * 기존 행은 이 Tasklet 이 id 범위 batch-size 건씩 orders.ordered_at 을 복사해 채운다.
+ * 한 번의 execute 가 id 범위 하나를 한 트랜잭션으로 처리하고 다음 시작 id 를 ExecutionContext 에 저장하므로
+ * 재시작하면 이어서 진행한다 (이미 채운 행은 건너뛰므로 같은 범위를 다시 처리해도 된다).
+ * 범위 상한은 대상 DB 를 처음 처리할 때의 MAX(id) 로 고정한다 (이후 INSERT 되는 행은 ordered_at 을 채워 저장된다).
+ * 샤딩이면 샤드마다 차례대로 채운다.
+ *
+ * 모든 DB 를 채운 뒤 settlement.reader.ordered-at-backfilled=true 로 바꾸고, 이후 마이그레이션에서 NOT NULL 로 바꾼다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderItemsOrderedAtBackfillTasklet implements Tasklet {
+
+    private static final String TARGET_INDEX_KEY = "orderedAtBackfill.targetIndex";
+    private static final String NEXT_ID_KEY = "orderedAtBackfill.nextId";
+    private static final String MAX_ID_KEY = "orderedAtBackfill.maxId";
+
+    private static final String FILL_SQL = """
+            UPDATE order_items oi
+            JOIN orders o ON oi.order_id = o.id
+            SET oi.ordered_at = o.ordered_at
+            WHERE oi.id BETWEEN ? AND ?
+              AND oi.ordered_at IS NULL
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ShardDataSources shardDataSources;
+
+    @Value("${settlement.ordered-at-backfill.batch-size:10000}")
+    private int batchSize;
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+        ExecutionContext executionContext = chunkContext.getStepContext().getStepExecution().getExecutionContext();
+        List<Target> targets = targets();
+        int targetIndex = executionContext.getInt(TARGET_INDEX_KEY, 0);
+        if (targetIndex >= targets.size()) {
+            return RepeatStatus.FINISHED;
+        }
+
+        Target target = targets.get(targetIndex);
+        if (!executionContext.containsKey(MAX_ID_KEY)) {
+            long[] idRange = target.jdbcTemplate().queryForObject(
+                    "SELECT COALESCE(MIN(id), 1), COALESCE(MAX(id), 0) FROM order_items",
+                    (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)});
+            executionContext.putLong(NEXT_ID_KEY, idRange[0]);
+            executionContext.putLong(MAX_ID_KEY, idRange[1]);
+            log.info("{}order_items.ordered_at 백필 시작 - id: {} ~ {}", target.label(), idRange[0], idRange[1]);
+        }
+
+        long fromId = executionContext.getLong(NEXT_ID_KEY);
+        long maxId = executionContext.getLong(MAX_ID_KEY);
+        if (fromId <= maxId) {
+            long toId = Math.min(fromId + batchSize - 1, maxId);
+            long startTime = System.currentTimeMillis();
+            int filled = new TransactionTemplate(target.transactionManager())
+                    .execute(status -> target.jdbcTemplate().update(FILL_SQL, fromId, toId));
+            contribution.incrementWriteCount(filled);
+            executionContext.putLong(NEXT_ID_KEY, toId + 1);
+            log.debug("{}order_items.ordered_at 백필 - id: {} ~ {}, {} 건 ({}ms)", target.label(),
+                    fromId, toId, filled, System.currentTimeMillis() - startTime);
+            if (toId < maxId) {
+                return RepeatStatus.CONTINUABLE;
+            }
+        }
+
+        log.info("{}order_items.ordered_at 백필 완료 - maxId: {}", target.label(), maxId);
+        executionContext.remove(NEXT_ID_KEY);
+        executionContext.remove(MAX_ID_KEY);
+        executionContext.putInt(TARGET_INDEX_KEY, targetIndex + 1);
+        return targetIndex + 1 >= targets.size() ? RepeatStatus.FINISHED : RepeatStatus.CONTINUABLE;
+    }
+
+    private List<Target> targets() {
+        if (shardDataSources.isEnabled()) {
+            return shardDataSources.all().stream()
+                    .map(shard -> new Target("[" + shard.id() + "] ", shard.jdbcTemplate(),
+                            shard.transactionManager()))
+                    .toList();
+        }
+        return List.of(new Target("", jdbcTemplate, transactionManager));
+    }
+
+    /**
+     * 백필 대상 DB (label 은 샤드 로그 접두어, 샤드가 없으면 빈 문자열)
+     */
+    private record Target(String label, JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+    }
+}
@@ -0,0 +1,78 @@
+package com.settlement.batch.tasklet;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * seller_daily_sales 롤업 재구축 Tasklet
+ *
+ * startDate ~ endDate 를 하루씩 order_items 에서 다시 집계하여 덮어쓴다.
+ * 하루 단위로 커밋하고 다음 처리 날짜를 ExecutionContext 에 저장하므로 재시작 시 이어서 진행한다.
+ */
+@Slf4j
+@Component
+@StepScope
+@RequiredArgsConstructor
+public class SellerDailySalesRebuildTasklet implements Tasklet {
+
+    private static final String NEXT_DATE_KEY = "rebuild.nextDate";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("#{jobParameters['startDate']}")
+    private String startDateStr;
+
+    @Value("#{jobParameters['endDate']}")
+    private String endDateStr;
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+        ExecutionContext executionContext = chunkContext.getStepContext().getStepExecution().getExecutionContext();
+        LocalDate endDate = LocalDate.parse(endDateStr);
+        LocalDate date = executionContext.containsKey(NEXT_DATE_KEY)
+                ? LocalDate.parse(executionContext.getString(NEXT_DATE_KEY))
+                : LocalDate.parse(startDateStr);
+
+        if (date.isAfter(endDate)) {
+            return RepeatStatus.FINISHED;
+        }
+
+        long startTime = System.currentTimeMillis();
+        int sellerCount = rebuild(date);
+        contribution.incrementWriteCount(sellerCount);
+        log.info("롤업 재구축 - salesDate: {}, 판매자: {} 명 (소요시간: {}ms)",
+                date, sellerCount, System.currentTimeMillis() - startTime);
+
+        LocalDate nextDate = date.plusDays(1);
+        executionContext.putString(NEXT_DATE_KEY, nextDate.toString());
+        return nextDate.isAfter(endDate) ? RepeatStatus.FINISHED : RepeatStatus.CONTINUABLE;
+    }
+
+    private int rebuild(LocalDate date) {
+        jdbcTemplate.update("DELETE FROM seller_daily_sales WHERE sales_date = ?", date);
+
+        String sql = """
+                INSERT INTO seller_daily_sales (seller_id, sales_date, total_sales, order_count, item_count)
+                SELECT oi.seller_id, ?, SUM(oi.total_price), COUNT(DISTINCT oi.order_id), COUNT(oi.id)
+                FROM order_items oi
+                JOIN orders o ON oi.order_id = o.id
+                WHERE o.ordered_at >= ?
+                  AND o.ordered_at < ?
+                  AND o.status IN ('DELIVERED', 'SHIPPED', 'PAID')
+                GROUP BY oi.seller_id
+                """;
+
+        return jdbcTemplate.update(sql, date, date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
+}
@@ -0,0 +1,131 @@
+package com.settlement.batch.tasklet;
+
+import com.settlement.common.shard.ShardDataSources;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 정산 조정 원장 압축 Tasklet
+ *
+ * 아직 반영하지 않은 settlement_adjustments 를 id 순으로 batch-size 건씩 잠그고(SKIP LOCKED)
+ * 판매자 / 월(period_start) 별로 합산하여 settlement_adjustment_balances 에 더한 뒤 compacted_at 을 표시한다.
+ * 한 번의 execute 가 batch 하나를 한 트랜잭션으로 처리하므로 실패해도 반영 / 표시가 함께 취소되고,
+ * 재실행하면 남은 행부터 이어서 접는다.
+ * 샤딩이면 샤드마다 원장과 잔액이 샤드에 있으므로 샤드 트랜잭션으로 차례대로 처리한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SettlementAdjustmentCompactionTasklet implements Tasklet {
+
+    private static final String TARGET_INDEX_KEY = "compaction.targetIndex";
+
+    private static final String PENDING_IDS_SQL = """
+            SELECT id
+            FROM settlement_adjustments
+            WHERE compacted_at IS NULL
+            ORDER BY id
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    // folded 도 같은 이름의 컬럼을 가지므로 UPDATE 절의 기존 값은 settlement_adjustment_balances. 로 한정한다
+    private static final String FOLD_SQL = """
+            INSERT INTO settlement_adjustment_balances (seller_id, period_start, total_sales, commission, net_amount,
+                                                        order_count, item_count, adjustment_count)
+            SELECT * FROM (
+                SELECT seller_id,
+                       settlement_date - INTERVAL (DAY(settlement_date) - 1) DAY as period_start,
+                       SUM(total_sales) as total_sales,
+                       SUM(commission) as commission,
+                       SUM(net_amount) as net_amount,
+                       SUM(order_count) as order_count,
+                       SUM(item_count) as item_count,
+                       COUNT(*) as adjustment_count
+                FROM settlement_adjustments
+                WHERE id IN (:ids)
+                GROUP BY seller_id, period_start
+            ) folded
+            ON DUPLICATE KEY UPDATE
+                total_sales = settlement_adjustment_balances.total_sales + VALUES(total_sales),
+                commission = settlement_adjustment_balances.commission + VALUES(commission),
+                net_amount = settlement_adjustment_balances.net_amount + VALUES(net_amount),
+                order_count = settlement_adjustment_balances.order_count + VALUES(order_count),
+                item_count = settlement_adjustment_balances.item_count + VALUES(item_count),
+                adjustment_count = settlement_adjustment_balances.adjustment_count + VALUES(adjustment_count)
+            """;
+
+    private static final String MARK_SQL = "UPDATE settlement_adjustments SET compacted_at = NOW() WHERE id IN (:ids)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ShardDataSources shardDataSources;
+
+    @Value("${settlement.adjustment.compaction.batch-size:1000}")
+    private int batchSize;
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+        ExecutionContext executionContext = chunkContext.getStepContext().getStepExecution().getExecutionContext();
+        List<Target> targets = targets();
+        int targetIndex = executionContext.getInt(TARGET_INDEX_KEY, 0);
+        if (targetIndex >= targets.size()) {
+            return RepeatStatus.FINISHED;
+        }
+
+        Target target = targets.get(targetIndex);
+        long startTime = System.currentTimeMillis();
+        int folded = new TransactionTemplate(target.transactionManager()).execute(status -> fold(target));
+        contribution.incrementWriteCount(folded);
+
+        if (folded < batchSize) {
+            log.info("{}조정 원장 압축 완료", target.label());
+            executionContext.putInt(TARGET_INDEX_KEY, targetIndex + 1);
+            return targetIndex + 1 >= targets.size() ? RepeatStatus.FINISHED : RepeatStatus.CONTINUABLE;
+        }
+        log.debug("{}조정 원장 압축 - {} 건 ({}ms)", target.label(), folded, System.currentTimeMillis() - startTime);
+        return RepeatStatus.CONTINUABLE;
+    }
+
+    private int fold(Target target) {
+        List<Long> ids = target.jdbcTemplate().queryForList(PENDING_IDS_SQL, Long.class, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        NamedParameterJdbcTemplate namedTemplate = new NamedParameterJdbcTemplate(target.jdbcTemplate());
+        Map<String, List<Long>> params = Map.of("ids", ids);
+        namedTemplate.update(FOLD_SQL, params);
+        namedTemplate.update(MARK_SQL, params);
+        return ids.size();
+    }
+
+    private List<Target> targets() {
+        if (shardDataSources.isEnabled()) {
+            return shardDataSources.all().stream()
+                    .map(shard -> new Target("[" + shard.id() + "] ", shard.jdbcTemplate(),
+                            shard.transactionManager()))
+                    .toList();
+        }
+        return List.of(new Target("", jdbcTemplate, transactionManager));
+    }
+
+    /**
+     * 압축 대상 DB (label 은 샤드 로그 접두어, 샤드가 없으면 빈 문자열)
+     */
+    private record Target(String label, JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+    }
+}
@@ -0,0 +1,460 @@
+package com.settlement.batch.tasklet;
+
+import com.settlement.common.shard.ShardDataSources;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 정산 지급 파일 내보내기 Tasklet
+ *
+ * 기간(startDate ~ endDate)의 settlements 를 판매자 사업자번호와 함께 forward-only 커서로 한 행씩 읽어
+ * 은행 이체용 고정폭 파일과 CSV 파일을 한 번에 쓴다. 결과 전체를 메모리에 올리지 않는다.
+ * 금액은 확정 이후 조정(settlement_adjustments)까지 더한 유효 금액이다.
+ *
+ * 파일은 ByteBuffer 에 직접 인코딩하여 FileChannel(gzip 이면 GZIPOutputStream 채널)로 버퍼 단위로 쓰고,
+ * 본문 바이트(압축 전)의 CRC32C 와 건수 / 합계를 마지막 trailer 행에 남긴다.
+ * 다 쓴 뒤에만 .part 파일을 최종 이름으로 옮기므로 중간에 실패한 파일을 읽는 일이 없다.
+ *
+ * 고정폭 파일 (행당 80 byte + LF, ASCII):
+ * - H | "SETTLEMENT"(10) | 시작일 yyyyMMdd(8) | 종료일 yyyyMMdd(8) | 생성시각 yyyyMMddHHmmss(14) | 공백
+ * - D | 일련번호(9) | 사업자번호 숫자(10, 왼쪽 정렬) | 판매자 ID(13) | 정산일 yyyyMMdd(8) | 정산금 최소 화폐 단위(15) | 공백
+ * - T | 건수(9) | 정산금 합계(18) | CRC32C hex(8) | 공백
+ * 고정폭 파일에는 CONFIRMED 이고 정산금이 0 보다 큰 정산만 쓴다. PENDING(확정 전)이나 PAID(이미 지급)를
+ * 이체하면 확정 전 지급 / 이중 지급이 되므로 status 파라미터와 관계없이 제외하고, CSV 보고서에만 남긴다.
+ *
+ * Job 파라미터: startDate, endDate (yyyy-MM-dd), status (선택, CSV 보고서 필터. 예: PAID)
+ * 샤딩이면 샤드 순서대로 이어서 쓴다 (샤드 안에서는 정산일 → 판매자 순).
+ */
+@Slf4j
+@Component
+@StepScope
+public class SettlementPayoutExportTasklet implements Tasklet {
+
+    public static final String PAYOUT_FILE_KEY = "export.payoutFile";
+    public static final String CSV_FILE_KEY = "export.csvFile";
+    public static final String ROW_COUNT_KEY = "export.rowCount";
+
+    private static final String EXPORT_SQL = """
+            SELECT s.settlement_date,
+                   s.seller_id,
+                   sel.business_number,
+                   s.status,
+                   CAST((s.total_sales + COALESCE(a.total_sales, 0)) * 100 AS SIGNED) as total_sales,
+                   CAST((s.commission + COALESCE(a.commission, 0)) * 100 AS SIGNED) as commission,
+                   CAST((s.net_amount + COALESCE(a.net_amount, 0)) * 100 AS SIGNED) as net_amount
+            FROM settlements s
+            JOIN sellers sel ON sel.id = s.seller_id
+            LEFT JOIN LATERAL (
+                SELECT SUM(total_sales) as total_sales, SUM(commission) as commission, SUM(net_amount) as net_amount
+                FROM settlement_adjustments
+                WHERE settlement_date = s.settlement_date AND seller_id = s.seller_id
+            ) a ON TRUE
+            WHERE s.settlement_date BETWEEN ? AND ?
+            """;
+    private static final String STATUS_CLAUSE = "  AND s.status = ?\n";
+    // idx_date_seller 순서 그대로 읽으므로 filesort 가 없다
+    private static final String ORDER_BY_CLAUSE = "ORDER BY s.settlement_date, s.seller_id";
+
+    /** 고정폭 이체 파일에 쓸 수 있는 유일한 정산 상태 */
+    private static final String PAYABLE_STATUS = "CONFIRMED";
+
+    private static final int RECORD_WIDTH = 80;
+    private static final int BUSINESS_NUMBER_WIDTH = 10;
+    private static final byte[] CSV_HEADER =
+            "settlement_date,seller_id,business_number,status,total_sales,commission,net_amount\n"
+                    .getBytes(StandardCharsets.US_ASCII);
+    private static final DateTimeFormatter CREATED_AT_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    private final DataSource dataSource;
+    private final ShardDataSources shardDataSources;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final String status;
+
+    @Value("${settlement.export.directory:./exports}")
+    private String directory;
+
+    @Value("${settlement.export.gzip:false}")
+    private boolean gzip;
+
+    @Value("${settlement.export.buffer-kb:256}")
+    private int bufferKb;
+
+    public SettlementPayoutExportTasklet(
+            DataSource dataSource,
+            ShardDataSources shardDataSources,
+            @Value("#{jobParameters['startDate']}") String startDate,
+            @Value("#{jobParameters['endDate']}") String endDate,
+            @Value("#{jobParameters['status']}") String status) {
+        this.dataSource = dataSource;
+        this.shardDataSources = shardDataSources;
+        this.endDate = endDate != null ? LocalDate.parse(endDate) : LocalDate.now().minusDays(1);
+        this.startDate = startDate != null ? LocalDate.parse(startDate) : this.endDate;
+        this.status = status;
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("startDate 가 endDate 보다 늦습니다: " + startDate + " ~ " + endDate);
+        }
+
+        long startTime = System.currentTimeMillis();
+        Path outputDirectory = Files.createDirectories(Path.of(directory));
+        String baseName = "payout-" + startDate + "_" + endDate + (status != null ? "-" + status : "");
+        String suffix = gzip ? ".gz" : "";
+        Path payoutPath = outputDirectory.resolve(baseName + ".txt" + suffix);
+        Path csvPath = outputDirectory.resolve(baseName + ".csv" + suffix);
+
+        ExportTotals totals;
+        try (ExportFile payout = new ExportFile(payoutPath, gzip, bufferKb * 1024);
+             ExportFile csv = new ExportFile(csvPath, gzip, bufferKb * 1024)) {
+            writePayoutHeader(payout);
+            csv.put(CSV_HEADER);
+
+            totals = new ExportTotals(payout, csv);
+            for (DataSource source : sources()) {
+                JdbcTemplate template = new JdbcTemplate(source);
+                // MySQL Connector/J: Integer.MIN_VALUE 이면 결과를 한 행씩 스트리밍한다
+                template.setFetchSize(Integer.MIN_VALUE);
+                template.query(sql(), rs -> {
+                    totals.write(rs.getString(1), rs.getLong(2), rs.getString(3), rs.getString(4),
+                            rs.getLong(5), rs.getLong(6), rs.getLong(7));
+                }, args());
+            }
+
+            totals.writeTrailers();
+            payout.commit();
+            csv.commit();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        ExecutionContext jobContext = chunkContext.getStepContext().getStepExecution().getJobExecution()
+                .getExecutionContext();
+        jobContext.putString(PAYOUT_FILE_KEY, payoutPath.toAbsolutePath().toString());
+        jobContext.putString(CSV_FILE_KEY, csvPath.toAbsolutePath().toString());
+        jobContext.putLong(ROW_COUNT_KEY, totals.csvRows);
+        contribution.incrementWriteCount(totals.csvRows);
+
+        log.info("정산 지급 파일 내보내기 완료 - {} ~ {}, 정산: {} 건, 이체: {} 건, 파일: {}, {} (소요시간: {}ms)",
+                startDate, endDate, totals.csvRows, totals.payoutRows, payoutPath, csvPath,
+                System.currentTimeMillis() - startTime);
+        return RepeatStatus.FINISHED;
+    }
+
+    private List<DataSource> sources() {
+        if (!shardDataSources.isEnabled()) {
+            return List.of(dataSource);
+        }
+        List<DataSource> sources = new ArrayList<>();
+        shardDataSources.all().forEach(shard -> sources.add(shard.dataSource()));
+        return sources;
+    }
+
+    private String sql() {
+        return EXPORT_SQL + (status != null ? STATUS_CLAUSE : "") + ORDER_BY_CLAUSE;
+    }
+
+    private Object[] args() {
+        return status != null
+                ? new Object[]{startDate, endDate, status}
+                : new Object[]{startDate, endDate};
+    }
+
+    private void writePayoutHeader(ExportFile payout) {
+        payout.mark();
+        payout.put((byte) 'H');
+        payout.putAscii("SETTLEMENT");
+        payout.putAscii(startDate.format(DateTimeFormatter.BASIC_ISO_DATE));
+        payout.putAscii(endDate.format(DateTimeFormatter.BASIC_ISO_DATE));
+        payout.putAscii(LocalDateTime.now().format(CREATED_AT_FORMAT));
+        payout.padRecord(RECORD_WIDTH);
+    }
+
+    /**
+     * 두 파일의 건수 / 합계를 누적하며 행을 쓴다
+     */
+    private static final class ExportTotals {
+
+        private final ExportFile payout;
+        private final ExportFile csv;
+        private long payoutRows;
+        private long payoutAmount;
+        private long csvRows;
+        private long csvNetAmount;
+
+        private ExportTotals(ExportFile payout, ExportFile csv) {
+            this.payout = payout;
+            this.csv = csv;
+        }
+
+        private void write(String settlementDate, long sellerId, String businessNumber, String status,
+                           long totalSales, long commission, long netAmount) {
+            csv.putAscii(settlementDate);
+            csv.put((byte) ',');
+            csv.putLong(sellerId);
+            csv.put((byte) ',');
+            csv.putAscii(businessNumber);
+            csv.put((byte) ',');
+            csv.putAscii(status);
+            csv.put((byte) ',');
+            csv.putDecimal(totalSales);
+            csv.put((byte) ',');
+            csv.putDecimal(commission);
+            csv.put((byte) ',');
+            csv.putDecimal(netAmount);
+            csv.put((byte) '\n');
+            csvRows++;
+            csvNetAmount += netAmount;
+
+            if (!PAYABLE_STATUS.equals(status) || netAmount <= 0) {
+                return;
+            }
+            payoutRows++;
+            payoutAmount += netAmount;
+            payout.mark();
+            payout.put((byte) 'D');
+            payout.putZeroPadded(payoutRows, 9);
+            payout.putDigitsLeft(businessNumber, BUSINESS_NUMBER_WIDTH, sellerId);
+            payout.putZeroPadded(sellerId, 13);
+            for (int i = 0; i < settlementDate.length(); i++) {
+                char c = settlementDate.charAt(i);
+                if (c != '-') {
+                    payout.put((byte) c);
+                }
+            }
+            payout.putZeroPadded(netAmount, 15);
+            payout.padRecord(RECORD_WIDTH);
+        }
+
+        private void writeTrailers() {
+            String payoutChecksum = payout.checksumHex();
+            payout.mark();
+            payout.put((byte) 'T');
+            payout.putZeroPadded(payoutRows, 9);
+            payout.putZeroPadded(payoutAmount, 18);
+            payout.putAscii(payoutChecksum);
+            payout.padRecord(RECORD_WIDTH);
+
+            String csvChecksum = csv.checksumHex();
+            csv.putAscii("TRAILER,");
+            csv.putLong(csvRows);
+            csv.put((byte) ',');
+            csv.putDecimal(csvNetAmount);
+            csv.put((byte) ',');
+            csv.putAscii(csvChecksum);
+            csv.put((byte) '\n');
+        }
+    }
+
+    /**
+     * 버퍼 단위로 채널에 쓰고, trailer 전까지 쓴 바이트의 CRC32C 를 계산하는 내보내기 파일
+     * .part 로 쓰다가 commit 하면 최종 이름으로 옮기고, commit 없이 닫히면 지운다
+     */
+    private static final class ExportFile implements AutoCloseable {
+
+        private final Path path;
+        private final Path partPath;
+        private final WritableByteChannel channel;
+        private final ByteBuffer buffer;
+        private final byte[] scratch = new byte[20];
+        private final CRC32C crc = new CRC32C();
+        private boolean checksumClosed;
+        private int recordStart;
+        private boolean committed;
+
+        private ExportFile(Path path, boolean gzip, int bufferBytes) throws IOException {
+            this.path = path;
+            this.partPath = path.resolveSibling(path.getFileName() + ".part");
+            FileChannel fileChannel = FileChannel.open(partPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            this.channel = gzip
+                    ? Channels.newChannel(new GZIPOutputStream(Channels.newOutputStream(fileChannel), bufferBytes))
+                    : fileChannel;
+            this.buffer = ByteBuffer.allocate(bufferBytes);
+        }
+
+        /**
+         * 고정폭 레코드 시작 (레코드가 버퍼 경계에 걸치지 않도록 미리 비운다)
+         */
+        private void mark() {
+            ensureRemaining(RECORD_WIDTH + 1);
+            recordStart = buffer.position();
+        }
+
+        private void padRecord(int width) {
+            int written = buffer.position() - recordStart;
+            if (written > width) {
+                throw new IllegalStateException("고정폭 레코드 길이 초과: " + written + " > " + width);
+            }
+            for (int i = written; i < width; i++) {
+                buffer.put((byte) ' ');
+            }
+            buffer.put((byte) '\n');
+        }
+
+        private void put(byte b) {
+            ensureRemaining(1);
+            buffer.put(b);
+        }
+
+        private void put(byte[] bytes) {
+            ensureRemaining(bytes.length);
+            buffer.put(bytes);
+        }
+
+        private void putAscii(String value) {
+            ensureRemaining(value.length());
+            for (int i = 0; i < value.length(); i++) {
+                buffer.put((byte) value.charAt(i));
+            }
+        }
+
+        private void putLong(long value) {
+            int start = toDigits(Math.abs(value));
+            if (value < 0) {
+                put((byte) '-');
+            }
+            put(scratch, start);
+        }
+
+        /**
+         * 최소 화폐 단위 → 소수 둘째 자리 금액 (예: 12345 → 123.45)
+         */
+        private void putDecimal(long minor) {
+            if (minor < 0) {
+                put((byte) '-');
+            }
+            long abs = Math.abs(minor);
+            put(scratch, toDigits(abs / 100));
+            put((byte) '.');
+            long cents = abs % 100;
+            put((byte) ('0' + cents / 10));
+            put((byte) ('0' + cents % 10));
+        }
+
+        private void putZeroPadded(long value, int width) {
+            if (value < 0) {
+                throw new IllegalStateException("고정폭 숫자 필드는 음수를 쓸 수 없습니다: " + value);
+            }
+            int start = toDigits(value);
+            int digits = scratch.length - start;
+            if (digits > width) {
+                throw new IllegalStateException("고정폭 숫자 필드 길이 초과: " + value + " (" + width + " 자리)");
+            }
+            for (int i = digits; i < width; i++) {
+                put((byte) '0');
+            }
+            put(scratch, start);
+        }
+
+        /**
+         * 숫자만 골라 왼쪽 정렬, 나머지는 공백 (사업자번호 "123-45-67890" → "1234567890")
+         */
+        private void putDigitsLeft(String value, int width, long sellerId) {
+            int written = 0;
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < '0' || c > '9') {
+                    continue;
+                }
+                if (++written > width) {
+                    throw new IllegalStateException("사업자번호가 " + width + " 자리를 넘습니다 - sellerId: " + sellerId);
+                }
+                put((byte) c);
+            }
+            for (; written < width; written++) {
+                put((byte) ' ');
+            }
+        }
+
+        private int toDigits(long value) {
+            int position = scratch.length;
+            do {
+                scratch[--position] = (byte) ('0' + value % 10);
+                value /= 10;
+            } while (value != 0);
+            return position;
+        }
+
+        private void put(byte[] bytes, int offset) {
+            ensureRemaining(bytes.length - offset);
+            buffer.put(bytes, offset, bytes.length - offset);
+        }
+
+        /**
+         * 지금까지 쓴 본문의 CRC32C (이후 쓰는 trailer 는 포함하지 않는다)
+         */
+        private String checksumHex() {
+            crc.update(buffer.array(), 0, buffer.position());
+            checksumClosed = true;
+            return String.format("%08x", crc.getValue());
+        }
+
+        private void ensureRemaining(int bytes) {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (!checksumClosed) {
+                crc.update(buffer.array(), 0, buffer.position());
+            }
+            buffer.flip();
+            try {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            buffer.clear();
+            recordStart = 0;
+        }
+
+        private void commit() throws IOException {
+            flush();
+            channel.close();
+            Files.move(partPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            committed = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                channel.close();
+                Files.deleteIfExists(partPath);
+            }
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.settlement.batch.tasklet;
+
+import com.settlement.batch.cache.SettlementQueryCache;
+import com.settlement.common.jdbc.SqlSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 정산 스테이징 병합 Tasklet
+ *
+ * settlements_staging 에 적재된 현재 JobInstance 의 행을
+ * INSERT ... SELECT ... ON DUPLICATE KEY UPDATE 1회로 settlements 에 병합하고 스테이징을 비운다.
+ * 병합과 삭제는 Step 트랜잭션 하나로 실행되므로 실패하면 settlements 는 변경되지 않고
+ * 스테이징이 남아 재시작 시 이 Step 부터 다시 병합한다.
+ * 병합한 정산일들은 Step 트랜잭션 커밋 이후 Job 의 캐시 무효화 대상으로 모은다 (Job 종료 시 날짜마다 한 번 무효화).
+ *
+ * 실패한 뒤 재시작되지 않은 JobInstance 의 스테이징은 남아 있게 되므로 병합 후 함께 정리한다.
+ * - 같은 정산일을 이번 Job 이 병합했고 실행 중이 아닌 다른 JobInstance 의 행 (재시작해도 이번 결과보다 오래된 값)
+ * - staging-retention-days 동안 실행 기록이 없는 JobInstance 의 행
+ *
+ * CONFIRMED / PAID 정산은 덮어쓰지 않는다. 현재 유효 금액(settlements 행 + 기존 조정 합계)과의 차이를
+ * settlement_adjustments 원장에 추가하고 스테이징에서 뺀 뒤 나머지만 병합한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SettlementStagingMergeTasklet implements Tasklet {
+
+    private static final String FINALIZED_JOIN = """
+            FROM settlements_staging st
+            JOIN settlements s
+                ON s.seller_id = st.seller_id AND s.settlement_date = st.settlement_date
+                AND s.status IN ('CONFIRMED', 'PAID')
+            """;
+
+    // 스테이징 금액 - (확정 행 + 기존 조정 합계) 가 0 이 아닌 판매자만 원장에 추가한다
+    private static final String ADJUST_SQL = """
+            INSERT INTO settlement_adjustments (settlement_date, seller_id, total_sales, commission, net_amount,
+                                                order_count, item_count, source, created_at)
+            SELECT st.settlement_date, st.seller_id,
+                   st.total_sales - e.total_sales,
+                   st.commission - e.commission,
+                   st.net_amount - e.net_amount,
+                   st.order_count - e.order_count,
+                   st.item_count - e.item_count,
+                   ?, NOW()
+            """ + FINALIZED_JOIN + """
+            CROSS JOIN LATERAL (
+                SELECT s.total_sales + COALESCE(SUM(a.total_sales), 0) as total_sales,
+                       s.commission + COALESCE(SUM(a.commission), 0) as commission,
+                       s.net_amount + COALESCE(SUM(a.net_amount), 0) as net_amount,
+                       s.order_count + COALESCE(SUM(a.order_count), 0) as order_count,
+                       s.item_count + COALESCE(SUM(a.item_count), 0) as item_count
+                FROM settlement_adjustments a
+                WHERE a.settlement_date = s.settlement_date AND a.seller_id = s.seller_id
+            ) e
+            WHERE st.job_instance_id = ?
+              AND (st.total_sales <> e.total_sales OR st.commission <> e.commission
+                   OR st.net_amount <> e.net_amount OR st.order_count <> e.order_count
+                   OR st.item_count <> e.item_count)
+            """;
+
+    private static final String DROP_FINALIZED_SQL = "DELETE st " + FINALIZED_JOIN + "WHERE st.job_instance_id = ?";
+
+    // settlements_staging 도 같은 이름의 컬럼을 가지므로 UPDATE 절의 기존 값은 settlements. 로 한정한다
+    private static final String MERGE_SQL = """
+            INSERT INTO settlements (seller_id, settlement_date, total_sales, commission_rate, commission,
+                                     net_amount, order_count, item_count, status, created_at, updated_at)
+            SELECT st.seller_id, st.settlement_date, st.total_sales, st.commission_rate, st.commission,
+                   st.net_amount, st.order_count, st.item_count, st.status, NOW(), NOW()
+            FROM settlements_staging st
+            WHERE st.job_instance_id = ?
+            ON DUPLICATE KEY UPDATE
+                total_sales = IF(settlements.status = 'PENDING', VALUES(total_sales), settlements.total_sales),
+                commission_rate = IF(settlements.status = 'PENDING', VALUES(commission_rate),
+                                     settlements.commission_rate),
+                commission = IF(settlements.status = 'PENDING', VALUES(commission), settlements.commission),
+                net_amount = IF(settlements.status = 'PENDING', VALUES(net_amount), settlements.net_amount),
+                order_count = IF(settlements.status = 'PENDING', VALUES(order_count), settlements.order_count),
+                item_count = IF(settlements.status = 'PENDING', VALUES(item_count), settlements.item_count),
+                updated_at = IF(settlements.status = 'PENDING', VALUES(updated_at), settlements.updated_at)
+            """;
+
+    private static final String DATES_SQL =
+            "SELECT DISTINCT settlement_date FROM settlements_staging WHERE job_instance_id = ?";
+
+    private static final String CLEAR_SQL = "DELETE FROM settlements_staging WHERE job_instance_id = ?";
+
+    private static final String PURGE_SUPERSEDED_SQL = """
+            DELETE FROM settlements_staging
+            WHERE settlement_date = ?
+              AND job_instance_id <> ?
+              AND NOT EXISTS (
+                  SELECT 1 FROM BATCH_JOB_EXECUTION e
+                  WHERE e.JOB_INSTANCE_ID = settlements_staging.job_instance_id
+                    AND e.STATUS IN ('STARTING', 'STARTED', 'STOPPING')
+              )
+            """;
+
+    private static final String PURGE_ABANDONED_SQL = """
+            DELETE FROM settlements_staging
+            WHERE job_instance_id <> ?
+              AND NOT EXISTS (
+                  SELECT 1 FROM BATCH_JOB_EXECUTION e
+                  WHERE e.JOB_INSTANCE_ID = settlements_staging.job_instance_id
+                    AND e.CREATE_TIME >= ?
+              )
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SettlementQueryCache queryCache;
+
+    @Value("${settlement.writer.bulk.staging-retention-days:7}")
+    private int stagingRetentionDays;
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+        long jobInstanceId = chunkContext.getStepContext().getStepExecution().getJobExecution().getJobId();
+
+        long startTime = System.currentTimeMillis();
+        int affectedRows;
+        int stagedRows;
+        int adjustedRows;
+        int orphanRows;
+        List<LocalDate> mergedDates;
+        SqlSource.Scope scope = SqlSource.WRITER_BATCH.open();
+        try {
+            mergedDates = jdbcTemplate.queryForList(DATES_SQL, LocalDate.class, jobInstanceId);
+            adjustedRows = jdbcTemplate.update(ADJUST_SQL, chunkContext.getStepContext().getJobName(), jobInstanceId);
+            jdbcTemplate.update(DROP_FINALIZED_SQL, jobInstanceId);
+            affectedRows = jdbcTemplate.update(MERGE_SQL, jobInstanceId);
+            stagedRows = jdbcTemplate.update(CLEAR_SQL, jobInstanceId);
+            orphanRows = purgeOrphans(jobInstanceId, mergedDates);
+        } finally {
+            scope.close();
+        }
+
+        int updateCount = Math.max(0, affectedRows - stagedRows);
+        int insertCount = stagedRows - updateCount;
+        contribution.incrementWriteCount(stagedRows);
+        queryCache.invalidateAfterJob(mergedDates);
+
+        log.info("정산 스테이징 병합 완료 - jobInstanceId: {}, INSERT: {} 건, UPDATE: {} 건, 확정 정산 조정: {} 건, "
+                        + "버려진 스테이징 삭제: {} 건 ({}ms)",
+                jobInstanceId, insertCount, updateCount, adjustedRows, orphanRows,
+                System.currentTimeMillis() - startTime);
+        return RepeatStatus.FINISHED;
+    }
+
+    private int purgeOrphans(long jobInstanceId, List<LocalDate> mergedDates) {
+        int purged = 0;
+        for (LocalDate date : mergedDates) {
+            purged += jdbcTemplate.update(PURGE_SUPERSEDED_SQL, date, jobInstanceId);
+        }
+        purged += jdbcTemplate.update(PURGE_ABANDONED_SQL, jobInstanceId,
+                Timestamp.valueOf(LocalDateTime.now().minusDays(stagingRetentionDays)));
+        return purged;
+    }
+}
@@ -0,0 +1,170 @@
+package com.settlement.batch.tasklet;
+
+import com.settlement.batch.cache.SettlementQueryCache;
+import com.settlement.common.shard.ShardDataSources;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 집계에서 사라진 판매자 정산 정리 Tasklet
+ *
+ * 판매자의 주문이 모두 환불 / 취소되면 그 판매자는 집계 결과에 나오지 않아 Writer 에 도달하지 않으므로
+ * 이전 실행이 저장한 정산이 그대로 남는다.
+ * 정산 Step 이 끝난 뒤 대상 날짜의 정산 중 집계 원천(settlement.reader.mode 에 따라 seller_daily_sales 또는
+ * order_items)에 정산 대상 주문이 없는 판매자를 찾아 한 트랜잭션에서 정리한다.
+ * - 확정(CONFIRMED / PAID) : 현재 유효 금액을 0 으로 만드는 조정을 원장에 추가한다
+ *                            (이미 0 이 된 정산은 다시 기록하지 않으므로 재실행해도 중복되지 않는다)
+ * - PENDING                : 아직 지급 대상이 아니므로 정산 행을 삭제한다
+ * 정리한 판매자는 컨트롤 합계 검증에서도 빠진다 (유효 금액이 모두 0 인 정산은 검증 대상이 아니다).
+ *
+ * 샤딩이면 샤드마다 자기 샤드 원장에 기록한다.
+ */
+@Slf4j
+@Component
+@StepScope
+public class SettlementVanishedSellerTasklet implements Tasklet {
+
+    private static final String INSERT_PREFIX = """
+            INSERT INTO settlement_adjustments (settlement_date, seller_id, total_sales, commission, net_amount,
+                                                order_count, item_count, source, created_at)
+            SELECT s.settlement_date, s.seller_id,
+                   -e.total_sales, -e.commission, -e.net_amount, -e.order_count, -e.item_count,
+                   ?, ?
+            FROM settlements s
+            CROSS JOIN LATERAL (
+                SELECT s.total_sales + COALESCE(SUM(a.total_sales), 0) as total_sales,
+                       s.commission + COALESCE(SUM(a.commission), 0) as commission,
+                       s.net_amount + COALESCE(SUM(a.net_amount), 0) as net_amount,
+                       s.order_count + COALESCE(SUM(a.order_count), 0) as order_count,
+                       s.item_count + COALESCE(SUM(a.item_count), 0) as item_count
+                FROM settlement_adjustments a
+                WHERE a.settlement_date = s.settlement_date AND a.seller_id = s.seller_id
+            ) e
+            WHERE s.settlement_date = ?
+              AND s.status IN ('CONFIRMED', 'PAID')
+              AND (e.total_sales <> 0 OR e.commission <> 0 OR e.net_amount <> 0
+                   OR e.order_count <> 0 OR e.item_count <> 0)
+            """;
+
+    private static final String DELETE_PENDING_PREFIX = """
+            DELETE s FROM settlements s
+            WHERE s.settlement_date = ?
+              AND s.status = 'PENDING'
+            """;
+
+    // rollup Reader 는 item_count > 0 인 행만 읽는다
+    private static final String ROLLUP_ABSENT = """
+              AND NOT EXISTS (
+                  SELECT 1 FROM seller_daily_sales r
+                  WHERE r.sales_date = s.settlement_date AND r.seller_id = s.seller_id AND r.item_count > 0
+              )
+            """;
+
+    private static final String ORDER_ITEMS_ABSENT = """
+              AND NOT EXISTS (
+                  SELECT 1 FROM order_items oi
+                  JOIN orders o ON oi.order_id = o.id
+                  WHERE oi.seller_id = s.seller_id
+                    AND %1$s >= ?
+                    AND %1$s < ?
+                    AND o.status IN ('DELIVERED', 'SHIPPED', 'PAID')
+              )
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ShardDataSources shardDataSources;
+    private final SettlementQueryCache queryCache;
+    private final LocalDate targetDate;
+
+    @Value("${settlement.reader.mode:paging}")
+    private String readerMode;
+
+    // false 이면 order_items.ordered_at 백필 전이므로 orders.ordered_at 으로 날짜를 거른다
+    @Value("${settlement.reader.ordered-at-backfilled:false}")
+    private boolean orderedAtBackfilled;
+
+    public SettlementVanishedSellerTasklet(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ShardDataSources shardDataSources,
+            SettlementQueryCache queryCache,
+            @Value("#{jobParameters['targetDate']}") String targetDate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionManager = transactionManager;
+        this.shardDataSources = shardDataSources;
+        this.queryCache = queryCache;
+        this.targetDate = targetDate != null
+                ? LocalDate.parse(targetDate)
+                : LocalDate.now().minusDays(1);
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+        boolean rollup = "rollup".equals(readerMode);
+        String absent = rollup
+                ? ROLLUP_ABSENT
+                : ORDER_ITEMS_ABSENT.formatted(orderedAtBackfilled ? "oi.ordered_at" : "o.ordered_at");
+        List<Object> absentArgs = rollup
+                ? List.of()
+                : List.of(Timestamp.valueOf(targetDate.atStartOfDay()),
+                          Timestamp.valueOf(targetDate.plusDays(1).atStartOfDay()));
+
+        String zeroSql = INSERT_PREFIX + absent;
+        List<Object> zeroArgs = new ArrayList<>(List.of(chunkContext.getStepContext().getJobName(),
+                Timestamp.valueOf(LocalDateTime.now()), targetDate));
+        zeroArgs.addAll(absentArgs);
+
+        String deleteSql = DELETE_PENDING_PREFIX + absent;
+        List<Object> deleteArgs = new ArrayList<>(List.of(targetDate));
+        deleteArgs.addAll(absentArgs);
+
+        // {확정 정산 조정 건수, 삭제한 PENDING 정산 건수}
+        Function<JdbcTemplate, int[]> cleanUp = target -> new int[]{
+                target.update(zeroSql, zeroArgs.toArray()),
+                target.update(deleteSql, deleteArgs.toArray())
+        };
+
+        int zeroed = 0;
+        int deleted = 0;
+        if (shardDataSources.isEnabled()) {
+            for (ShardDataSources.ShardTarget shard : shardDataSources.all()) {
+                int[] shardCounts = new TransactionTemplate(shard.transactionManager())
+                        .execute(status -> cleanUp.apply(shard.jdbcTemplate()));
+                log.debug("[{}] 집계에서 사라진 판매자 정산 정리 - 확정 조정: {} 건, PENDING 삭제: {} 건",
+                        shard.id(), shardCounts[0], shardCounts[1]);
+                zeroed += shardCounts[0];
+                deleted += shardCounts[1];
+            }
+        } else {
+            int[] counts = new TransactionTemplate(transactionManager)
+                    .execute(status -> cleanUp.apply(jdbcTemplate));
+            zeroed = counts[0];
+            deleted = counts[1];
+        }
+
+        contribution.incrementWriteCount(zeroed + deleted);
+        if (zeroed + deleted > 0) {
+            queryCache.invalidateAfterJob(List.of(targetDate));
+        }
+        log.info("집계에서 사라진 판매자 정산 정리 완료 - targetDate: {}, 확정 조정: {} 건, PENDING 삭제: {} 건",
+                targetDate, zeroed, deleted);
+        return RepeatStatus.FINISHED;
+    }
+}
@@ -1,9 +1,20 @@
 package com.settlement.batch.tasklet;
 
+import com.settlement.batch.dto.SettlementControlTotals;
+import com.settlement.batch.listener.ConsistentSnapshotListener;
+import com.settlement.common.jdbc.ReadDataSourceRouter;
+import com.settlement.common.jdbc.SqlSource;
+import com.settlement.common.money.Money;
+import com.settlement.common.shard.ShardDataSources;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
 import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.explore.JobExplorer;
 import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.core.step.tasklet.Tasklet;
 import org.springframework.batch.repeat.RepeatStatus;
@@ -11,14 +22,29 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
+import javax.sql.DataSource;
 import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * 정산 금액 검증 Tasklet
  *
- * OrderItem의 판매자별 합계와 Settlement의 합계를 비교하여
- * 데이터 정합성을 검증한다
+ * settlement.verification.mode:
+ * - control-totals : 정산 Step 이 chunk 커밋마다 누적한 컨트롤 합계와
+ *                    Settlement 테이블을 비교한다. order_items 를 다시 읽지 않는다 (기본값)
+ * - deep           : OrderItem의 판매자별 합계와 Settlement의 합계를 다시 계산하여 비교한다
+ *
+ * settlement.snapshot.enabled=true 이면 order_items 조회는 정산 Reader 와 같은 읽기 스냅샷에서 수행한다.
+ * settlement.replica.enabled=true 이면 order_items 조회는 ReadDataSourceRouter 가 고른 replica 에서 수행한다.
+ * settlements 는 방금 primary 에 저장되었으므로 primary 에서 조회한다.
+ * settlement.sharding.enabled=true 이면 샤드마다 조회한 합계를 모아 전체를 비교한다.
  */
 @Slf4j
 @Component
@@ -26,25 +52,189 @@ import java.time.LocalDate;
 @RequiredArgsConstructor
 public class SettlementVerificationTasklet implements Tasklet {
 
+    private static final String SETTLEMENT_STEP_PREFIX = "settlementStep";
+    private static final String SETTLEMENT_WORKER_STEP_PREFIX = "settlementWorkerStep";
+    private static final int MISMATCH_LIMIT = 10;
+
     private final JdbcTemplate jdbcTemplate;
+    private final JobExplorer jobExplorer;
+    private final ConsistentSnapshotListener snapshotListener;
+    private final ReadDataSourceRouter readDataSourceRouter;
+    private final ShardDataSources shardDataSources;
 
     @Value("#{jobParameters['targetDate']}")
     private String targetDateStr;
 
+    @Value("${settlement.verification.mode:control-totals}")
+    private String verificationMode;
+
+    @Value("${settlement.snapshot.enabled:false}")
+    private boolean snapshotEnabled;
+
+    private List<VerificationTarget> targets;
+
     @Override
     public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
         LocalDate targetDate = targetDateStr != null
                 ? LocalDate.parse(targetDateStr)
                 : LocalDate.now().minusDays(1);
+        targets = verificationTargets(targetDate);
 
         log.info("========================================");
-        log.info("정산 금액 검증 시작 - targetDate: {}", targetDate);
+        log.info("정산 금액 검증 시작 - targetDate: {}, mode: {}", targetDate, verificationMode);
+
+        SqlSource.Scope scope = SqlSource.VERIFICATION_TOTAL.open();
+        try {
+            switch (verificationMode) {
+                case "control-totals" -> {
+                    SettlementControlTotals expected = collectControlTotals(
+                            chunkContext.getStepContext().getStepExecution().getJobExecution().getJobInstance());
+                    if (expected == null) {
+                        log.warn("정산 Step 컨트롤 합계가 없어 deep 검증으로 대체합니다");
+                        verifyDeep(targetDate);
+                    } else {
+                        verifyControlTotals(targetDate, expected);
+                    }
+                }
+                case "deep" -> verifyDeep(targetDate);
+                default -> throw new IllegalStateException("알 수 없는 settlement.verification.mode: " + verificationMode);
+            }
+        } finally {
+            scope.close();
+        }
+
+        log.info("========================================");
+        return RepeatStatus.FINISHED;
+    }
 
-        // 1. OrderItem에서 직접 계산한 판매자별 총 판매금액
-        BigDecimal orderItemTotal = getOrderItemTotal(targetDate);
+    /**
+     * 컨트롤 합계 검증
+     * settlements 테이블만 한 번 스트리밍하여 Step 누적값과 비교한다
+     */
+    private void verifyControlTotals(LocalDate targetDate, SettlementControlTotals expected) {
+        SettlementControlTotals actual = new SettlementControlTotals();
+        targets.forEach(target -> actual.merge(getSettlementControlTotals(target, targetDate)));
+
+        log.info("----------------------------------------");
+        log.info("[컨트롤 합계 검증 결과]");
+        log.info("  - 정산 Step 누적: {}", expected);
+        log.info("  - Settlement 합계: {}", actual);
+
+        if (!expected.matches(actual)) {
+            log.error("  - 결과: ✗ 불일치!");
+            throw new IllegalStateException("정산 컨트롤 합계 불일치 발생: expected = [" + expected
+                    + "], actual = [" + actual + "]");
+        }
+        log.info("  - 결과: ✓ 일치");
+
+        log.info("----------------------------------------");
+        log.info("[정산 통계]");
+        log.info("  - 정산 판매자 수: {}", actual.getSellerCount());
+        log.info("  - 총 판매금액: {}", Money.toDecimal(actual.getTotalSales()));
+        log.info("  - 총 정산금액: {}", Money.toDecimal(actual.getTotalNetAmount()));
+        log.info("  - 총 주문 수: {}", actual.getOrderCount());
+        log.info("  - 총 주문상품 수: {}", actual.getItemCount());
+    }
 
+    /**
+     * 현재 JobInstance 의 정산 Step 컨트롤 합계
+     *
+     * 재시작 시 이미 완료된 파티션은 새 JobExecution 에 다시 기록되지 않으므로
+     * JobInstance 의 모든 실행에서 Step 이름별 가장 최근 완료 실행을 모아 합산한다.
+     * 컨트롤 합계를 가진 Step 이 하나도 없으면 null
+     */
+    private SettlementControlTotals collectControlTotals(JobInstance jobInstance) {
+        Map<String, StepExecution> latestByStepName = new HashMap<>();
+        for (JobExecution jobExecution : jobExplorer.getJobExecutions(jobInstance)) {
+            for (StepExecution stepExecution : jobExecution.getStepExecutions()) {
+                String stepName = stepExecution.getStepName();
+                boolean settlementStep = stepName.startsWith(SETTLEMENT_STEP_PREFIX)
+                        || stepName.startsWith(SETTLEMENT_WORKER_STEP_PREFIX);
+                if (!settlementStep
+                        || stepExecution.getStatus() != BatchStatus.COMPLETED
+                        || !SettlementControlTotals.isPresentIn(stepExecution.getExecutionContext())) {
+                    continue;
+                }
+                latestByStepName.merge(stepName, stepExecution,
+                        (a, b) -> a.getId() > b.getId() ? a : b);
+            }
+        }
+
+        if (latestByStepName.isEmpty()) {
+            return null;
+        }
+        SettlementControlTotals totals = new SettlementControlTotals();
+        latestByStepName.values().forEach(stepExecution ->
+                totals.merge(SettlementControlTotals.from(stepExecution.getExecutionContext())));
+        return totals;
+    }
+
+    /**
+     * Settlement 테이블의 컨트롤 합계
+     * 정산 Step 과 같은 방식으로 판매자별 체크섬을 누적한다
+     * 확정 정산은 settlement_adjustments 조정분을 더한 유효 금액으로 비교한다
+     * 유효 금액 / 건수가 모두 0 인 정산(사라진 확정 판매자를 원장으로 0 으로 맞춘 행)은
+     * 정산 Step 이 내보내지 않는 판매자이므로 판매자 수와 체크섬에서 뺀다
+     */
+    private SettlementControlTotals getSettlementControlTotals(VerificationTarget target, LocalDate targetDate) {
+        String sql = """
+                SELECT seller_id, total_sales, commission, net_amount, order_count, item_count
+                FROM (
+                    SELECT s.seller_id,
+                           CAST((s.total_sales + COALESCE(a.total_sales, 0)) * 100 AS SIGNED) as total_sales,
+                           CAST((s.commission + COALESCE(a.commission, 0)) * 100 AS SIGNED) as commission,
+                           CAST((s.net_amount + COALESCE(a.net_amount, 0)) * 100 AS SIGNED) as net_amount,
+                           s.order_count + COALESCE(a.order_count, 0) as order_count,
+                           s.item_count + COALESCE(a.item_count, 0) as item_count
+                    FROM settlements s
+                    LEFT JOIN (
+                        SELECT seller_id,
+                               SUM(total_sales) as total_sales,
+                               SUM(commission) as commission,
+                               SUM(net_amount) as net_amount,
+                               SUM(order_count) as order_count,
+                               SUM(item_count) as item_count
+                        FROM settlement_adjustments
+                        WHERE settlement_date = ?
+                        GROUP BY seller_id
+                    ) a ON a.seller_id = s.seller_id
+                    WHERE s.settlement_date = ?
+                ) e
+                WHERE e.total_sales <> 0 OR e.commission <> 0 OR e.net_amount <> 0
+                   OR e.order_count <> 0 OR e.item_count <> 0
+                """;
+
+        SettlementControlTotals totals = new SettlementControlTotals();
+        target.settlements().query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(Integer.MIN_VALUE);
+            ps.setObject(1, targetDate);
+            ps.setObject(2, targetDate);
+            return ps;
+        }, rs -> {
+            totals.add(rs.getLong("seller_id"),
+                    rs.getLong("total_sales"),
+                    rs.getLong("commission"),
+                    rs.getLong("net_amount"),
+                    rs.getLong("order_count"),
+                    rs.getLong("item_count"));
+        });
+        return totals;
+    }
+
+    /**
+     * 전체 재계산 검증
+     */
+    private void verifyDeep(LocalDate targetDate) {
+        // 1. OrderItem에서 직접 계산한 판매자별 총 판매금액 (샤드가 있으면 모든 샤드 합계)
+        BigDecimal orderItemTotal = BigDecimal.ZERO;
         // 2. Settlement 테이블의 총 판매금액
-        BigDecimal settlementTotal = getSettlementTotal(targetDate);
+        BigDecimal settlementTotal = BigDecimal.ZERO;
+        for (VerificationTarget target : targets) {
+            orderItemTotal = orderItemTotal.add(getOrderItemTotal(target, targetDate));
+            settlementTotal = settlementTotal.add(getSettlementTotal(target, targetDate));
+        }
 
         // 3. 검증
         log.info("----------------------------------------");
@@ -60,23 +250,30 @@ public class SettlementVerificationTasklet implements Tasklet {
             log.error("  - 차이: {}", diff);
 
             // 상세 불일치 내역 조회
-            logMismatchDetails(targetDate);
+            SqlSource.Scope scope = SqlSource.MISMATCH_DETAIL.open();
+            try {
+                targets.forEach(target -> logMismatchDetails(target, targetDate));
+            } finally {
+                scope.close();
+            }
 
             throw new IllegalStateException("정산 금액 불일치 발생: 차이 = " + diff);
         }
 
         // 4. 추가 통계
-        logSettlementStatistics(targetDate);
-
-        log.info("========================================");
-        return RepeatStatus.FINISHED;
+        SqlSource.Scope scope = SqlSource.STATS.open();
+        try {
+            targets.forEach(target -> logSettlementStatistics(target, targetDate));
+        } finally {
+            scope.close();
+        }
     }
 
     /**
      * OrderItem에서 직접 계산한 총 판매금액
      * (정산 대상 주문만)
      */
-    private BigDecimal getOrderItemTotal(LocalDate targetDate) {
+    private BigDecimal getOrderItemTotal(VerificationTarget target, LocalDate targetDate) {
         String sql = """
                 SELECT COALESCE(SUM(oi.total_price), 0)
                 FROM order_items oi
@@ -86,34 +283,51 @@ public class SettlementVerificationTasklet implements Tasklet {
                   AND o.status IN ('DELIVERED', 'SHIPPED', 'PAID')
                 """;
 
-        return jdbcTemplate.queryForObject(sql, BigDecimal.class,
+        return target.orderItems().queryForObject(sql, BigDecimal.class,
                 targetDate.atStartOfDay(),
                 targetDate.plusDays(1).atStartOfDay());
     }
 
     /**
-     * Settlement 테이블의 총 판매금액
+     * Settlement 테이블의 총 판매금액 (확정 정산 조정분 포함)
      */
-    private BigDecimal getSettlementTotal(LocalDate targetDate) {
+    private BigDecimal getSettlementTotal(VerificationTarget target, LocalDate targetDate) {
         String sql = """
                 SELECT COALESCE(SUM(total_sales), 0)
+                       + (SELECT COALESCE(SUM(total_sales), 0) FROM settlement_adjustments WHERE settlement_date = ?)
                 FROM settlements
                 WHERE settlement_date = ?
                 """;
 
-        return jdbcTemplate.queryForObject(sql, BigDecimal.class, targetDate);
+        return target.settlements().queryForObject(sql, BigDecimal.class, targetDate, targetDate);
     }
 
     /**
      * 판매자별 불일치 내역 상세 로그
      */
-    private void logMismatchDetails(LocalDate targetDate) {
+    private void logMismatchDetails(VerificationTarget target, LocalDate targetDate) {
+        List<Map<String, Object>> mismatches = target.orderItems() == target.settlements()
+                ? findMismatches(target, targetDate)
+                : findMismatchesAcrossConnections(target, targetDate);
+
+        if (!mismatches.isEmpty()) {
+            log.error("  - {}불일치 판매자 (상위 {}건):", target.label(), MISMATCH_LIMIT);
+            mismatches.forEach(row ->
+                    log.error("    seller_id={}, OrderItem={}, Settlement={}, 차이={}",
+                            row.get("seller_id"),
+                            row.get("order_item_total"),
+                            row.get("settlement_total"),
+                            row.get("diff")));
+        }
+    }
+
+    private List<Map<String, Object>> findMismatches(VerificationTarget target, LocalDate targetDate) {
         String sql = """
                 SELECT
                     oi_agg.seller_id,
                     oi_agg.order_item_total,
-                    COALESCE(s.total_sales, 0) as settlement_total,
-                    oi_agg.order_item_total - COALESCE(s.total_sales, 0) as diff
+                    COALESCE(s.total_sales, 0) + COALESCE(a.total_sales, 0) as settlement_total,
+                    oi_agg.order_item_total - COALESCE(s.total_sales, 0) - COALESCE(a.total_sales, 0) as diff
                 FROM (
                     SELECT oi.seller_id, SUM(oi.total_price) as order_item_total
                     FROM order_items oi
@@ -124,30 +338,102 @@ public class SettlementVerificationTasklet implements Tasklet {
                     GROUP BY oi.seller_id
                 ) oi_agg
                 LEFT JOIN settlements s ON oi_agg.seller_id = s.seller_id AND s.settlement_date = ?
-                WHERE oi_agg.order_item_total != COALESCE(s.total_sales, 0)
-                LIMIT 10
+                LEFT JOIN (
+                    SELECT seller_id, SUM(total_sales) as total_sales
+                    FROM settlement_adjustments
+                    WHERE settlement_date = ?
+                    GROUP BY seller_id
+                ) a ON oi_agg.seller_id = a.seller_id
+                WHERE oi_agg.order_item_total != COALESCE(s.total_sales, 0) + COALESCE(a.total_sales, 0)
+                LIMIT ?
                 """;
 
-        var mismatches = jdbcTemplate.queryForList(sql,
+        return target.settlements().queryForList(sql,
                 targetDate.atStartOfDay(),
                 targetDate.plusDays(1).atStartOfDay(),
-                targetDate);
+                targetDate,
+                targetDate,
+                MISMATCH_LIMIT);
+    }
 
-        if (!mismatches.isEmpty()) {
-            log.error("  - 불일치 판매자 (상위 10건):");
-            mismatches.forEach(row ->
-                    log.error("    seller_id={}, OrderItem={}, Settlement={}, 차이={}",
-                            row.get("seller_id"),
-                            row.get("order_item_total"),
-                            row.get("settlement_total"),
-                            row.get("diff")));
+    /**
+     * 스냅샷 / replica 모드 불일치 조회
+     * order_items(스냅샷 또는 replica)와 settlements(primary)가 서로 다른 커넥션에 있어 JOIN 할 수 없으므로
+     * settlements 판매자별 합계를 메모리에 올린 뒤 스냅샷의 판매자별 합계와 비교한다 (불일치 시에만 실행)
+     */
+    private List<Map<String, Object>> findMismatchesAcrossConnections(VerificationTarget target,
+                                                                      LocalDate targetDate) {
+        Map<Long, BigDecimal> settlementTotals = new HashMap<>();
+        target.settlements().query("SELECT seller_id, total_sales FROM settlements WHERE settlement_date = ?",
+                rs -> {
+                    settlementTotals.put(rs.getLong("seller_id"), rs.getBigDecimal("total_sales"));
+                }, targetDate);
+        target.settlements().query("""
+                SELECT seller_id, SUM(total_sales) as total_sales
+                FROM settlement_adjustments
+                WHERE settlement_date = ?
+                GROUP BY seller_id
+                """, rs -> {
+                    settlementTotals.merge(rs.getLong("seller_id"), rs.getBigDecimal("total_sales"), BigDecimal::add);
+                }, targetDate);
+
+        String sql = """
+                SELECT oi.seller_id, SUM(oi.total_price) as order_item_total
+                FROM order_items oi
+                JOIN orders o ON oi.order_id = o.id
+                WHERE o.ordered_at >= ?
+                  AND o.ordered_at < ?
+                  AND o.status IN ('DELIVERED', 'SHIPPED', 'PAID')
+                GROUP BY oi.seller_id
+                """;
+
+        List<Map<String, Object>> mismatches = new ArrayList<>();
+        target.orderItems().query(sql, rs -> {
+            if (mismatches.size() >= MISMATCH_LIMIT) {
+                return;
+            }
+            long sellerId = rs.getLong("seller_id");
+            BigDecimal orderItemTotal = rs.getBigDecimal("order_item_total");
+            BigDecimal settlementTotal = settlementTotals.getOrDefault(sellerId, BigDecimal.ZERO);
+            if (orderItemTotal.compareTo(settlementTotal) != 0) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("seller_id", sellerId);
+                row.put("order_item_total", orderItemTotal);
+                row.put("settlement_total", settlementTotal);
+                row.put("diff", orderItemTotal.subtract(settlementTotal));
+                mismatches.add(row);
+            }
+        }, targetDate.atStartOfDay(), targetDate.plusDays(1).atStartOfDay());
+        return mismatches;
+    }
+
+    /**
+     * 검증 대상 (scatter-gather)
+     * 샤드가 있으면 샤드마다 order_items / settlements 를 같은 샤드에서 조회한다.
+     * 없으면 order_items 는 스냅샷(스냅샷 모드) 또는 ReadDataSourceRouter 가 고른 replica / primary,
+     * settlements 는 primary 에서 조회한다
+     */
+    private List<VerificationTarget> verificationTargets(LocalDate targetDate) {
+        if (shardDataSources.isEnabled()) {
+            return shardDataSources.all().stream()
+                    .map(shard -> new VerificationTarget("[" + shard.id() + "] ", shard.jdbcTemplate(),
+                            shard.jdbcTemplate()))
+                    .toList();
+        }
+        if (snapshotEnabled) {
+            return List.of(new VerificationTarget("", snapshotListener.currentJdbcTemplate(), jdbcTemplate));
         }
+        DataSource dataSource = readDataSourceRouter.forRead(targetDate);
+        JdbcTemplate orderItems = readDataSourceRouter.isReplica(dataSource)
+                ? new JdbcTemplate(dataSource)
+                : jdbcTemplate;
+        return List.of(new VerificationTarget("", orderItems, jdbcTemplate));
     }
 
     /**
      * 정산 통계 로그
      */
-    private void logSettlementStatistics(LocalDate targetDate) {
+    private void logSettlementStatistics(VerificationTarget target, LocalDate targetDate) {
         String sql = """
                 SELECT
                     COUNT(*) as seller_count,
@@ -160,10 +446,10 @@ public class SettlementVerificationTasklet implements Tasklet {
                 WHERE settlement_date = ?
                 """;
 
-        var stats = jdbcTemplate.queryForMap(sql, targetDate);
+        var stats = target.settlements().queryForMap(sql, targetDate);
 
         log.info("----------------------------------------");
-        log.info("[정산 통계]");
+        log.info("{}[정산 통계]", target.label());
         log.info("  - 정산 판매자 수: {}", stats.get("seller_count"));
         log.info("  - 총 판매금액: {}", stats.get("total_sales"));
         log.info("  - 총 수수료: {}", stats.get("total_commission"));
@@ -171,4 +457,10 @@ public class SettlementVerificationTasklet implements Tasklet {
         log.info("  - 총 주문 수: {}", stats.get("total_orders"));
         log.info("  - 총 주문상품 수: {}", stats.get("total_items"));
     }
+
+    /**
+     * 검증 대상 조회 경로 (label 은 샤드 로그 접두어, 샤드가 없으면 빈 문자열)
+     */
+    private record VerificationTarget(String label, JdbcTemplate orderItems, JdbcTemplate settlements) {
+    }
 }
@@ -0,0 +1,111 @@
+package com.settlement.batch.writer;
+
+import com.settlement.common.money.Money;
+import com.settlement.domain.Settlement.Settlement;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Settlement 를 스테이징 테이블에 벌크 적재 (LOAD DATA LOCAL INFILE 방식)
+ *
+ * chunk 를 탭 구분 임시 파일로 쓰고 LOAD DATA LOCAL INFILE 1회로 settlements_staging 에 적재한다.
+ * 적재는 chunk 트랜잭션 안에서 실행되므로 롤백되면 함께 취소되고, 같은 JobInstance 의 재시작에서
+ * 다시 적재되는 행은 REPLACE 로 덮어쓴다.
+ * settlements 반영은 Step 종료 후 SettlementStagingMergeTasklet 이 한 번에 수행한다.
+ *
+ * 드라이버의 allowLoadLocalInfileInPath 가 settlement.writer.bulk.dir 를 가리켜야 하고
+ * MySQL 서버는 local_infile=1 이어야 한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BulkLoadSettlementWriter implements ItemWriter<Settlement> {
+
+    private static final String LOAD_DATA_SQL = """
+            LOAD DATA LOCAL INFILE '%s'
+            REPLACE INTO TABLE settlements_staging
+            CHARACTER SET utf8mb4
+            FIELDS TERMINATED BY '\\t'
+            LINES TERMINATED BY '\\n'
+            (job_instance_id, seller_id, settlement_date, total_sales, commission_rate, commission,
+             net_amount, order_count, item_count, status)
+            """;
+
+    // 행당 최대 길이 추정치 (숫자 컬럼 + 날짜 + 상태)
+    private static final int ESTIMATED_ROW_BYTES = 160;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${settlement.writer.bulk.dir:${java.io.tmpdir}/settlement-bulk}")
+    private String bulkDir;
+
+    private Path directory;
+
+    @PostConstruct
+    void initDirectory() throws IOException {
+        directory = Files.createDirectories(Paths.get(bulkDir)).toAbsolutePath();
+    }
+
+    @Override
+    public void write(Chunk<? extends Settlement> chunk) throws Exception {
+        List<? extends Settlement> settlements = chunk.getItems();
+        if (settlements.isEmpty()) {
+            return;
+        }
+
+        long jobInstanceId = StepSynchronizationManager.getContext()
+                .getStepExecution().getJobExecution().getJobId();
+
+        Path file = Files.createTempFile(directory, "settlement-", ".tsv");
+        try {
+            writeFile(file, jobInstanceId, settlements);
+            int loaded = jdbcTemplate.update(LOAD_DATA_SQL.formatted(
+                    file.toString().replace("\\", "/").replace("'", "''")));
+            log.info("정산 데이터 스테이징 적재 완료 - {} 건 (affected rows: {})", settlements.size(), loaded);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void writeFile(Path file, long jobInstanceId,
+                                  List<? extends Settlement> settlements) throws IOException {
+        StringBuilder rows = new StringBuilder(settlements.size() * ESTIMATED_ROW_BYTES);
+        for (Settlement settlement : settlements) {
+            rows.append(jobInstanceId).append('\t')
+                    .append(settlement.getSellerId()).append('\t')
+                    .append(settlement.getSettlementDate()).append('\t')
+                    .append(Money.toDecimal(settlement.getTotalSales()).toPlainString()).append('\t')
+                    .append(Money.basisPointsToDecimal(settlement.getCommissionRate()).toPlainString()).append('\t')
+                    .append(Money.toDecimal(settlement.getCommission()).toPlainString()).append('\t')
+                    .append(Money.toDecimal(settlement.getNetAmount()).toPlainString()).append('\t')
+                    .append(settlement.getOrderCount()).append('\t')
+                    .append(settlement.getItemCount()).append('\t')
+                    .append(settlement.getStatus().name()).append('\n');
+        }
+
+        ByteBuffer buffer = StandardCharsets.UTF_8.encode(rows.toString());
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+}
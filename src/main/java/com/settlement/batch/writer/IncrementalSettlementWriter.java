@@ -0,0 +1,92 @@
+package com.settlement.batch.writer;
+
+import com.settlement.batch.cache.SettlementQueryCache;
+import com.settlement.batch.dto.DirtySellerAggregation;
+import com.settlement.batch.processor.SettlementProcessor;
+import com.settlement.domain.Settlement.Settlement;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 증분 정산 Writer
+ *
+ * 재집계한 (판매자, 매출일) 정산을 JDBC UPSERT 로 저장하고, 같은 chunk 트랜잭션에서 outbox 행을 삭제한다.
+ * 읽은 뒤 다시 기록된(version 이 바뀐) 행은 남겨 두어 다음 실행에서 다시 재정산한다.
+ *
+ * 정산 대상 주문이 모두 빠진 쌍은 0 정산을 UPSERT 하지 않는다.
+ * 확정(CONFIRMED / PAID) 정산은 원장으로 0 으로 맞추고, PENDING 정산은 삭제한다 (전체 정산의 사라진 판매자 정리와 같은 결과).
+ */
+@Slf4j
+@Component
+public class IncrementalSettlementWriter implements ItemWriter<DirtySellerAggregation> {
+
+    private static final String CLEAR_SQL =
+            "DELETE FROM settlement_dirty_sellers WHERE sales_date = ? AND seller_id = ? AND version = ?";
+
+    private static final String DELETE_PENDING_SQL =
+            "DELETE FROM settlements WHERE settlement_date = ? AND seller_id = ? AND status = 'PENDING'";
+
+    private final JdbcUpsertSettlementWriter upsertWriter;
+    private final JdbcTemplate jdbcTemplate;
+    private final SettlementQueryCache queryCache;
+    private final SettlementAdjustmentLedger adjustmentLedger;
+
+    public IncrementalSettlementWriter(JdbcUpsertSettlementWriter upsertWriter, JdbcTemplate jdbcTemplate,
+                                       SettlementQueryCache queryCache) {
+        this.upsertWriter = upsertWriter;
+        this.jdbcTemplate = jdbcTemplate;
+        this.queryCache = queryCache;
+        this.adjustmentLedger = new SettlementAdjustmentLedger(jdbcTemplate);
+    }
+
+    @Override
+    public void write(Chunk<? extends DirtySellerAggregation> chunk) throws Exception {
+        List<? extends DirtySellerAggregation> items = chunk.getItems();
+        if (items.isEmpty()) {
+            return;
+        }
+
+        List<Settlement> settlements = new ArrayList<>(items.size());
+        List<Settlement> emptied = new ArrayList<>();
+        Set<LocalDate> dates = new HashSet<>();
+        for (DirtySellerAggregation item : items) {
+            Settlement settlement = SettlementProcessor.toSettlement(item.aggregation(), item.salesDate());
+            if (item.aggregation().getItemCount() == 0) {
+                emptied.add(settlement);
+            } else {
+                settlements.add(settlement);
+            }
+            dates.add(item.salesDate());
+        }
+        upsertWriter.write(new Chunk<>(settlements));
+
+        // 확정 정산은 원장으로 0 으로 맞추고 남은(PENDING 이거나 없는) 정산만 삭제한다
+        List<Settlement> pending = adjustmentLedger.divertFinalized(emptied);
+        if (!pending.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_PENDING_SQL, pending, pending.size(), (ps, settlement) -> {
+                ps.setDate(1, Date.valueOf(settlement.getSettlementDate()));
+                ps.setLong(2, settlement.getSellerId());
+            });
+        }
+
+        jdbcTemplate.batchUpdate(CLEAR_SQL, items, items.size(), (ps, item) -> {
+            ps.setDate(1, Date.valueOf(item.salesDate()));
+            ps.setLong(2, item.aggregation().getSellerId());
+            ps.setLong(3, item.version());
+        });
+
+        queryCache.invalidateAfterJob(dates);
+        log.info("증분 정산 저장 완료 - 재정산: {} 건 (주문이 모두 빠진 판매자: {} 건), 정산일: {}",
+                items.size(), emptied.size(), dates);
+    }
+}
@@ -0,0 +1,131 @@
+package com.settlement.batch.writer;
+
+import com.settlement.common.money.Money;
+import com.settlement.domain.Settlement.Settlement;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Settlement 를 JDBC 로 저장 (INSERT ... ON DUPLICATE KEY UPDATE 방식 UPSERT)
+ *
+ * chunk 전체를 idx_seller_date 유니크 키 기준 multi-row UPSERT 1회로 저장한다.
+ * 기존 데이터 조회(SELECT)와 IDENTITY 로 인한 건별 INSERT 가 없다.
+ *
+ * rewriteBatchedStatements 로 재작성된 배치는 건별 결과가 SUCCESS_NO_INFO 로 반환되어
+ * INSERT/UPDATE 건수를 알 수 없으므로, 드라이버가 만들어 주는 것과 같은 multi-row 문장을 직접 구성하고
+ * affected rows (INSERT 1, UPDATE 2) 합계로 건수를 계산한다.
+ *
+ * CONFIRMED / PAID 정산은 SettlementAdjustmentLedger 가 변경분을 원장에 추가하고 UPSERT 대상에서 뺀다.
+ * 그 사이 확정된 행도 덮어쓰지 않도록 UPDATE 절은 PENDING 행에만 값을 반영한다.
+ */
+@Slf4j
+@Component
+public class JdbcUpsertSettlementWriter implements ItemWriter<Settlement> {
+
+    private static final String INSERT_CLAUSE = """
+            INSERT INTO settlements (seller_id, settlement_date, total_sales, commission_rate, commission,
+                                     net_amount, order_count, item_count, status, created_at, updated_at)
+            VALUES
+            """;
+    private static final String VALUES_ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    // PENDING 행은 updated_at 을 항상 갱신하여 affected rows 2 로 집계되도록 한다
+    private static final String ON_DUPLICATE_KEY_CLAUSE = """
+            ON DUPLICATE KEY UPDATE
+                total_sales = IF(status = 'PENDING', VALUES(total_sales), total_sales),
+                commission_rate = IF(status = 'PENDING', VALUES(commission_rate), commission_rate),
+                commission = IF(status = 'PENDING', VALUES(commission), commission),
+                net_amount = IF(status = 'PENDING', VALUES(net_amount), net_amount),
+                order_count = IF(status = 'PENDING', VALUES(order_count), order_count),
+                item_count = IF(status = 'PENDING', VALUES(item_count), item_count),
+                updated_at = IF(status = 'PENDING', VALUES(updated_at), updated_at)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SettlementAdjustmentLedger adjustmentLedger;
+
+    // 마지막으로 쓴 행 수의 SQL 하나만 캐시 (마지막 chunk 를 제외하면 크기가 같고, 적응형 chunk 는 크기가 바뀔 때 다시 만든다)
+    private volatile CachedSql cachedSql;
+
+    public JdbcUpsertSettlementWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.adjustmentLedger = new SettlementAdjustmentLedger(jdbcTemplate);
+    }
+
+    @Override
+    public void write(Chunk<? extends Settlement> chunk) throws Exception {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<Settlement> settlements = adjustmentLedger.divertFinalized(chunk.getItems());
+        if (settlements.isEmpty()) {
+            return;
+        }
+
+        log.debug("정산 데이터 UPSERT 시작: {} 건", settlements.size());
+
+        String sql = sqlFor(settlements.size());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        int affectedRows = jdbcTemplate.update(sql, ps -> bind(ps, settlements, now));
+
+        int updateCount = Math.max(0, affectedRows - settlements.size());
+        int insertCount = settlements.size() - updateCount;
+
+        log.info("정산 데이터 저장 완료 - INSERT: {} 건, UPDATE: {} 건", insertCount, updateCount);
+    }
+
+    private static void bind(PreparedStatement ps, List<? extends Settlement> settlements,
+                             Timestamp now) throws SQLException {
+        int index = 1;
+        for (Settlement settlement : settlements) {
+            ps.setLong(index++, settlement.getSellerId());
+            ps.setDate(index++, Date.valueOf(settlement.getSettlementDate()));
+            ps.setBigDecimal(index++, Money.toDecimal(settlement.getTotalSales()));
+            ps.setBigDecimal(index++, Money.basisPointsToDecimal(settlement.getCommissionRate()));
+            ps.setBigDecimal(index++, Money.toDecimal(settlement.getCommission()));
+            ps.setBigDecimal(index++, Money.toDecimal(settlement.getNetAmount()));
+            ps.setInt(index++, settlement.getOrderCount());
+            ps.setInt(index++, settlement.getItemCount());
+            ps.setString(index++, settlement.getStatus().name());
+            ps.setTimestamp(index++, now);
+            ps.setTimestamp(index++, now);
+        }
+    }
+
+    private String sqlFor(int rowCount) {
+        CachedSql cached = cachedSql;
+        if (cached != null && cached.rowCount() == rowCount) {
+            return cached.sql();
+        }
+        String sql = buildSql(rowCount);
+        cachedSql = new CachedSql(rowCount, sql);
+        return sql;
+    }
+
+    private static String buildSql(int rowCount) {
+        StringBuilder sql = new StringBuilder(INSERT_CLAUSE.length()
+                + rowCount * (VALUES_ROW.length() + 2) + ON_DUPLICATE_KEY_CLAUSE.length() + 1);
+        sql.append(INSERT_CLAUSE);
+        for (int i = 0; i < rowCount; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(VALUES_ROW);
+        }
+        sql.append('\n').append(ON_DUPLICATE_KEY_CLAUSE);
+        return sql.toString();
+    }
+
+    private record CachedSql(int rowCount, String sql) {
+    }
+}
@@ -0,0 +1,167 @@
+package com.settlement.batch.writer;
+
+import com.settlement.common.money.Money;
+import com.settlement.domain.Settlement.Settlement;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 확정 이후 정산 조정 원장 (settlement_adjustments)
+ *
+ * CONFIRMED / PAID 정산은 덮어쓰지 않는다. 재정산 결과가 현재 유효 금액(settlements 행 + 기존 조정 합계)과 다르면
+ * 그 차이만 원장에 추가(INSERT)하고, settlements 행은 그대로 둔다.
+ * PENDING 이거나 아직 없는 정산만 Writer 가 평소대로 INSERT / UPDATE 한다.
+ *
+ * 원장은 settlements 와 같은 DB 에 있어야 하므로 Writer 가 사용하는 JdbcTemplate(샤드면 샤드)으로 만든다.
+ */
+@Slf4j
+public class SettlementAdjustmentLedger {
+
+    private static final String EFFECTIVE_SQL_PREFIX = """
+            SELECT s.seller_id,
+                   CAST((s.total_sales + COALESCE(SUM(a.total_sales), 0)) * 100 AS SIGNED) as total_sales,
+                   CAST((s.commission + COALESCE(SUM(a.commission), 0)) * 100 AS SIGNED) as commission,
+                   CAST((s.net_amount + COALESCE(SUM(a.net_amount), 0)) * 100 AS SIGNED) as net_amount,
+                   s.order_count + COALESCE(SUM(a.order_count), 0) as order_count,
+                   s.item_count + COALESCE(SUM(a.item_count), 0) as item_count
+            FROM settlements s
+            LEFT JOIN settlement_adjustments a
+                ON a.settlement_date = s.settlement_date AND a.seller_id = s.seller_id
+            WHERE s.status IN ('CONFIRMED', 'PAID')
+              AND s.settlement_date = ?
+              AND s.seller_id IN (
+            """;
+    // 같은 정산을 동시에 재정산해도 차이가 두 번 기록되지 않도록 확정 행을 잠근다
+    private static final String EFFECTIVE_SQL_SUFFIX = """
+            )
+            GROUP BY s.id
+            FOR UPDATE OF s
+            """;
+
+    private static final String APPEND_SQL = """
+            INSERT INTO settlement_adjustments (settlement_date, seller_id, total_sales, commission, net_amount,
+                                                order_count, item_count, source, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SettlementAdjustmentLedger(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 확정된 정산의 변경분을 원장에 추가하고, 평소대로 저장할 정산만 돌려준다
+     *
+     * @param settlements 재계산된 정산 (chunk)
+     * @return PENDING 이거나 신규인 정산
+     */
+    public List<Settlement> divertFinalized(List<? extends Settlement> settlements) {
+        Map<LocalDate, List<Settlement>> byDate = new LinkedHashMap<>();
+        for (Settlement settlement : settlements) {
+            byDate.computeIfAbsent(settlement.getSettlementDate(), date -> new ArrayList<>()).add(settlement);
+        }
+
+        List<Settlement> writable = new ArrayList<>(settlements.size());
+        List<Adjustment> adjustments = new ArrayList<>();
+        byDate.forEach((date, dateSettlements) -> {
+            Map<Long, Effective> finalized = findFinalized(date, dateSettlements);
+            for (Settlement settlement : dateSettlements) {
+                Effective current = finalized.get(settlement.getSellerId());
+                if (current == null) {
+                    writable.add(settlement);
+                    continue;
+                }
+                Adjustment adjustment = current.diff(settlement);
+                if (!adjustment.isZero()) {
+                    adjustments.add(adjustment);
+                }
+            }
+        });
+
+        if (!adjustments.isEmpty()) {
+            append(adjustments);
+        }
+        return writable;
+    }
+
+    private Map<Long, Effective> findFinalized(LocalDate date, List<Settlement> settlements) {
+        StringBuilder sql = new StringBuilder(EFFECTIVE_SQL_PREFIX);
+        List<Object> args = new ArrayList<>(settlements.size() + 1);
+        args.add(date);
+        for (int i = 0; i < settlements.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+            args.add(settlements.get(i).getSellerId());
+        }
+        sql.append(EFFECTIVE_SQL_SUFFIX);
+
+        Map<Long, Effective> finalized = new HashMap<>();
+        jdbcTemplate.query(sql.toString(), rs -> {
+            finalized.put(rs.getLong("seller_id"), new Effective(date, rs.getLong("seller_id"),
+                    rs.getLong("total_sales"), rs.getLong("commission"), rs.getLong("net_amount"),
+                    rs.getInt("order_count"), rs.getInt("item_count")));
+        }, args.toArray());
+        return finalized;
+    }
+
+    private void append(List<Adjustment> adjustments) {
+        String source = currentSource();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(APPEND_SQL, adjustments, adjustments.size(), (ps, adjustment) -> {
+            ps.setDate(1, Date.valueOf(adjustment.settlementDate()));
+            ps.setLong(2, adjustment.sellerId());
+            ps.setBigDecimal(3, Money.toDecimal(adjustment.totalSales()));
+            ps.setBigDecimal(4, Money.toDecimal(adjustment.commission()));
+            ps.setBigDecimal(5, Money.toDecimal(adjustment.netAmount()));
+            ps.setInt(6, adjustment.orderCount());
+            ps.setInt(7, adjustment.itemCount());
+            ps.setString(8, source);
+            ps.setTimestamp(9, now);
+        });
+        log.info("확정 정산 조정 원장 추가 - {} 건 (source: {})", adjustments.size(), source);
+    }
+
+    /**
+     * 조정을 만든 Job 이름 (Step 밖에서 호출되면 unknown)
+     */
+    private static String currentSource() {
+        StepContext context = StepSynchronizationManager.getContext();
+        return context != null ? context.getJobName() : "unknown";
+    }
+
+    /**
+     * 확정 정산의 현재 유효 금액 (settlements 행 + 조정 합계, 최소 화폐 단위)
+     */
+    private record Effective(LocalDate settlementDate, long sellerId, long totalSales, long commission,
+                             long netAmount, int orderCount, int itemCount) {
+
+        Adjustment diff(Settlement recomputed) {
+            return new Adjustment(settlementDate, sellerId,
+                    recomputed.getTotalSales() - totalSales,
+                    recomputed.getCommission() - commission,
+                    recomputed.getNetAmount() - netAmount,
+                    recomputed.getOrderCount() - orderCount,
+                    recomputed.getItemCount() - itemCount);
+        }
+    }
+
+    private record Adjustment(LocalDate settlementDate, long sellerId, long totalSales, long commission,
+                              long netAmount, int orderCount, int itemCount) {
+
+        boolean isZero() {
+            return totalSales == 0 && commission == 0 && netAmount == 0 && orderCount == 0 && itemCount == 0;
+        }
+    }
+}
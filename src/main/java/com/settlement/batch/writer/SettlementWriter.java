@@ -2,10 +2,10 @@ package com.settlement.batch.writer;
 
 import com.settlement.domain.Settlement.Settlement;
 import com.settlement.domain.Settlement.SettlementRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.item.Chunk;
 import org.springframework.batch.item.ItemWriter;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
@@ -20,17 +20,26 @@ import java.util.stream.Collectors;
  *
  * 동일한 seller_id + settlement_date 조합이 이미 존재하면 UPDATE,
  * 없으면 INSERT 수행
+ * CONFIRMED / PAID 정산은 SettlementAdjustmentLedger 로 변경분만 원장에 추가한다
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class SettlementWriter implements ItemWriter<Settlement> {
 
     private final SettlementRepository settlementRepository;
+    private final SettlementAdjustmentLedger adjustmentLedger;
+
+    public SettlementWriter(SettlementRepository settlementRepository, JdbcTemplate jdbcTemplate) {
+        this.settlementRepository = settlementRepository;
+        this.adjustmentLedger = new SettlementAdjustmentLedger(jdbcTemplate);
+    }
 
     @Override
     public void write(Chunk<? extends Settlement> chunk) throws Exception {
-        List<? extends Settlement> newSettlements = chunk.getItems();
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<Settlement> newSettlements = adjustmentLedger.divertFinalized(chunk.getItems());
         if (newSettlements.isEmpty()) {
             return;
         }
@@ -50,7 +59,20 @@ public class SettlementWriter implements ItemWriter<Settlement> {
                 .collect(Collectors.toMap(Settlement::getSellerId, Function.identity()));
 
         // 3. 신규 INSERT vs 기존 UPDATE 분류
-        List<Settlement> toSave = new ArrayList<>();
+        UpsertPlan plan = classify(newSettlements, existingMap);
+
+        // 4. 저장 (JPA의 Dirty Checking으로 UPDATE, 새 엔티티는 INSERT)
+        settlementRepository.saveAll(plan.toSave());
+
+        log.info("정산 데이터 저장 완료 - INSERT: {} 건, UPDATE: {} 건", plan.insertCount(), plan.updateCount());
+    }
+
+    /**
+     * 신규 INSERT vs 기존 UPDATE 분류
+     * 기존 엔티티가 있으면 새 값으로 갱신하여 저장 대상에 담고, 없으면 새 엔티티를 담는다
+     */
+    UpsertPlan classify(List<? extends Settlement> newSettlements, Map<Long, Settlement> existingMap) {
+        List<Settlement> toSave = new ArrayList<>(newSettlements.size());
         int insertCount = 0;
         int updateCount = 0;
 
@@ -73,10 +95,9 @@ public class SettlementWriter implements ItemWriter<Settlement> {
                 insertCount++;
             }
         }
+        return new UpsertPlan(toSave, insertCount, updateCount);
+    }
 
-        // 4. 저장 (JPA의 Dirty Checking으로 UPDATE, 새 엔티티는 INSERT)
-        settlementRepository.saveAll(toSave);
-
-        log.info("정산 데이터 저장 완료 - INSERT: {} 건, UPDATE: {} 건", insertCount, updateCount);
+    record UpsertPlan(List<Settlement> toSave, int insertCount, int updateCount) {
     }
 }
@@ -0,0 +1,40 @@
+package com.settlement.common.jdbc;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Primary / Replica DataSource 설정
+ *
+ * replicaDataSource 빈이 추가되면 Spring Boot 의 DataSource 자동 설정이 물러나므로
+ * primary 는 자동 설정과 같은 방식(spring.datasource, spring.datasource.hikari)으로 직접 만든다.
+ * JPA, Spring Batch 메타데이터, Flyway, 정산 Writer 는 @Primary DataSource 를 사용하고
+ * replica 는 ReadDataSourceRouter 를 통해서만 사용한다.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    /**
+     * 조회 전용 replica 커넥션 풀 (settlement.replica.datasource.* 를 HikariConfig 에 바인딩)
+     */
+    @Bean
+    @ConditionalOnProperty(name = "settlement.replica.enabled", havingValue = "true")
+    @ConfigurationProperties("settlement.replica.datasource")
+    public HikariDataSource replicaDataSource() {
+        return new HikariDataSource();
+    }
+}
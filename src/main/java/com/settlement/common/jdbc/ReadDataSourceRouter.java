@@ -0,0 +1,132 @@
+package com.settlement.common.jdbc;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 대용량 조회 DataSource 라우터
+ *
+ * 정산 Reader 와 검증 Tasklet 의 order_items 조회는 forRead(targetDate) 가 돌려주는 DataSource 를 사용한다.
+ * settlement.replica.enabled=true 이면 replica 가 정산일을 모두 반영했는지 확인한 뒤 replica 를 돌려주고,
+ * 지연이 max-wait-ms 동안 해소되지 않으면 primary 로 대체한다.
+ *
+ * settlement.replica.lag-check:
+ * - replica-status : SHOW REPLICA STATUS 의 Seconds_Behind_Source 가 max-lag-seconds 이하이고
+ *                    (현재 - 지연) 시각이 정산일 다음 날 0시 이후여야 replica 사용 (기본값)
+ * - none           : 지연 검사 없이 replica 사용 (복제 없이 두 컨테이너로 테스트할 때)
+ *
+ * 메트릭: settlement.replica.route (target=replica|primary, reason)
+ */
+@Slf4j
+@Component
+public class ReadDataSourceRouter {
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${settlement.replica.lag-check:replica-status}")
+    private String lagCheck;
+
+    @Value("${settlement.replica.max-lag-seconds:30}")
+    private long maxLagSeconds;
+
+    @Value("${settlement.replica.max-wait-ms:300000}")
+    private long maxWaitMillis;
+
+    @Value("${settlement.replica.check-interval-ms:5000}")
+    private long checkIntervalMillis;
+
+    public ReadDataSourceRouter(DataSource dataSource,
+                                @Qualifier("replicaDataSource") ObjectProvider<DataSource> replicaDataSource,
+                                MeterRegistry meterRegistry) {
+        this.primary = dataSource;
+        this.replica = replicaDataSource.getIfAvailable();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * targetDate 정산 조회에 사용할 DataSource
+     * replica 지연이 해소될 때까지 check-interval-ms 간격으로 최대 max-wait-ms 대기한다
+     */
+    public DataSource forRead(LocalDate targetDate) {
+        if (replica == null) {
+            return primary;
+        }
+
+        long deadline = System.currentTimeMillis() + maxWaitMillis;
+        while (true) {
+            Long lagSeconds = replicaLagSeconds();
+            if (isCaughtUp(lagSeconds, targetDate)) {
+                record("replica", "caught-up");
+                return replica;
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                log.warn("replica 지연으로 primary 사용 - targetDate: {}, lag: {}s (허용: {}s, 대기: {}ms)",
+                        targetDate, lagSeconds, maxLagSeconds, maxWaitMillis);
+                record("primary", lagSeconds == null ? "replica-unavailable" : "lag");
+                return primary;
+            }
+            log.info("replica 지연 대기 - targetDate: {}, lag: {}s", targetDate, lagSeconds);
+            try {
+                Thread.sleep(checkIntervalMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                record("primary", "interrupted");
+                return primary;
+            }
+        }
+    }
+
+    public boolean isReplica(DataSource dataSource) {
+        return replica != null && replica == dataSource;
+    }
+
+    private boolean isCaughtUp(Long lagSeconds, LocalDate targetDate) {
+        return switch (lagCheck) {
+            case "none" -> true;
+            case "replica-status" -> lagSeconds != null
+                    && lagSeconds <= maxLagSeconds
+                    && !LocalDateTime.now().minusSeconds(lagSeconds).isBefore(targetDate.plusDays(1).atStartOfDay());
+            default -> throw new IllegalStateException("알 수 없는 settlement.replica.lag-check: " + lagCheck);
+        };
+    }
+
+    /**
+     * replica 복제 지연(초), 복제가 멈췄거나 확인할 수 없으면 null
+     */
+    private Long replicaLagSeconds() {
+        if ("none".equals(lagCheck)) {
+            return 0L;
+        }
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SHOW REPLICA STATUS")) {
+            if (!rs.next()) {
+                log.warn("replica 복제 상태가 없습니다 (SHOW REPLICA STATUS 결과 없음)");
+                return null;
+            }
+            long lag = rs.getLong("Seconds_Behind_Source");
+            return rs.wasNull() ? null : lag;
+        } catch (SQLException e) {
+            log.warn("replica 복제 지연 확인 실패", e);
+            return null;
+        }
+    }
+
+    private void record(String target, String reason) {
+        meterRegistry.counter("settlement.replica.route", "target", target, "reason", reason).increment();
+    }
+}
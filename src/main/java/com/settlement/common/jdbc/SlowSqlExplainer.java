@@ -0,0 +1,123 @@
+package com.settlement.common.jdbc;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.CommonDataSource;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 느린 SQL 실행 계획 수집기
+ *
+ * 출처 + SQL 문(바인딩 전) 조합마다 한 번만 EXPLAIN 을 실행하여 WARN 로그로 남긴다.
+ * 실행 계획 조회는 별도 스레드와 별도 커넥션에서 수행하므로 원래 문장의 트랜잭션/지연에 영향을 주지 않는다.
+ * EXPLAIN 은 원래 문장이 실행된 DataSource(primary / replica / 샤드, 데코레이트 전 커넥션 풀)에서 실행한다.
+ * 다른 DB 에서 실행하면 테이블 통계 / 인덱스가 달라 엉뚱한 계획이 나오기 때문이다.
+ */
+@Slf4j
+@Component
+public class SlowSqlExplainer {
+
+    /** 동적 SQL(IN 목록 등)로 인한 무한 증가 방지 */
+    private static final int MAX_EXPLAINED = 1_000;
+
+    @Value("${settlement.sql-metrics.explain-enabled:true}")
+    private boolean explainEnabled;
+
+    private final Set<String> explained = ConcurrentHashMap.newKeySet();
+    private ThreadPoolTaskExecutor executor;
+
+    @PostConstruct
+    void initExecutor() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("settlement-sql-explain-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+    }
+
+    @PreDestroy
+    void shutdownExecutor() {
+        executor.shutdown();
+    }
+
+    /**
+     * 처음 본 느린 문장이면 실행 계획 조회를 예약한다
+     *
+     * @param sql        바인딩 전 SQL (중복 판단 키)
+     * @param sqlWithValues 바인딩 값이 들어간 SQL (EXPLAIN 대상)
+     * @param origin     원래 문장이 실행된 DataSource (알 수 없으면 건너뜀)
+     */
+    public void explainOnce(SqlSource source, String sql, String sqlWithValues, long elapsedMillis,
+                            CommonDataSource origin) {
+        if (!explainEnabled || !isExplainable(sql) || explained.size() >= MAX_EXPLAINED) {
+            return;
+        }
+        if (!(origin instanceof DataSource dataSource)) {
+            log.debug("원래 DataSource 를 알 수 없어 EXPLAIN 건너뜀 - source: {}", source.tag());
+            return;
+        }
+        if (!explained.add(source.tag() + '|' + sql)) {
+            return;
+        }
+        try {
+            executor.execute(() -> explain(dataSource, source, sqlWithValues, elapsedMillis));
+        } catch (TaskRejectedException e) {
+            log.debug("EXPLAIN 대기열이 가득 차 건너뜀 - source: {}", source.tag());
+        }
+    }
+
+    private void explain(DataSource dataSource, SqlSource source, String sqlWithValues, long elapsedMillis) {
+        SqlSource.Scope scope = SqlSource.EXPLAIN.open();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("EXPLAIN " + sqlWithValues)) {
+
+            StringJoiner plan = new StringJoiner("\n");
+            ResultSetMetaData meta = rs.getMetaData();
+            while (rs.next()) {
+                StringJoiner row = new StringJoiner(", ", "  ", "");
+                for (int i = 1; i <= meta.getColumnCount(); i++) {
+                    Object value = rs.getObject(i);
+                    if (value != null) {
+                        row.add(meta.getColumnLabel(i) + "=" + value);
+                    }
+                }
+                plan.add(row.toString());
+            }
+            log.warn("느린 SQL 실행 계획 - source: {}, {}ms\n{}\n{}", source.tag(), elapsedMillis, sqlWithValues, plan);
+        } catch (SQLException e) {
+            log.warn("느린 SQL EXPLAIN 실패 - source: {}, {}ms, sql: {}", source.tag(), elapsedMillis, sqlWithValues, e);
+        } finally {
+            scope.close();
+        }
+    }
+
+    /**
+     * EXPLAIN 가능한 문장인지 (SELECT / UPDATE / DELETE / INSERT ... SELECT)
+     */
+    private static boolean isExplainable(String sql) {
+        String normalized = sql.stripLeading().toLowerCase(Locale.ROOT);
+        return normalized.startsWith("select")
+                || normalized.startsWith("with")
+                || normalized.startsWith("update")
+                || normalized.startsWith("delete")
+                || (normalized.startsWith("insert") && normalized.contains("select"));
+    }
+}
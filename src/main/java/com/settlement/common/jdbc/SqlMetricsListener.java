@@ -0,0 +1,147 @@
+package com.settlement.common.jdbc;
+
+import com.p6spy.engine.common.PreparedStatementInformation;
+import com.p6spy.engine.common.ResultSetInformation;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 문장 단위 SQL 지연 / 행 수 메트릭
+ *
+ * p6spy 데코레이터의 JdbcEventListener 로 등록되어 로깅 활성화 여부와 관계없이 동작한다.
+ * (PreparedStatement 와 Statement 콜백이 분리되어 있어 둘 다 구현한다)
+ * - settlement.sql.latency : 문장 실행 시간 히스토그램 (source, kind=query|update|batch|execute, outcome)
+ * - settlement.sql.rows    : 조회 행 수(ResultSet 종료 시) / 변경 행 수
+ * - settlement.sql.slow    : settlement.sql-metrics.slow-threshold-ms 를 넘은 문장 수
+ *
+ * source 는 실행 스레드에 지정된 SqlSource 이다.
+ * 느린 문장은 SlowSqlExplainer 가 출처 + SQL 조합마다 한 번 실행 계획을 남긴다.
+ */
+@Component
+@RequiredArgsConstructor
+public class SqlMetricsListener extends JdbcEventListener {
+
+    private final MeterRegistry meterRegistry;
+    private final SlowSqlExplainer slowSqlExplainer;
+
+    @Value("${settlement.sql-metrics.slow-threshold-ms:500}")
+    private long slowThresholdMillis;
+
+    private final Map<MeterKey, Timer> latencyTimers = new ConcurrentHashMap<>();
+    private final Map<MeterKey, DistributionSummary> rowSummaries = new ConcurrentHashMap<>();
+
+    @Override
+    public void onAfterExecuteQuery(PreparedStatementInformation statementInformation, long timeElapsedNanos,
+                                    SQLException e) {
+        recordExecution(statementInformation, "query", timeElapsedNanos, e);
+    }
+
+    @Override
+    public void onAfterExecuteQuery(StatementInformation statementInformation, long timeElapsedNanos,
+                                    String sql, SQLException e) {
+        recordExecution(statementInformation, "query", timeElapsedNanos, e);
+    }
+
+    @Override
+    public void onAfterExecuteUpdate(PreparedStatementInformation statementInformation, long timeElapsedNanos,
+                                     int rowCount, SQLException e) {
+        if (recordExecution(statementInformation, "update", timeElapsedNanos, e)) {
+            recordRows("update", rowCount);
+        }
+    }
+
+    @Override
+    public void onAfterExecuteUpdate(StatementInformation statementInformation, long timeElapsedNanos,
+                                     String sql, int rowCount, SQLException e) {
+        if (recordExecution(statementInformation, "update", timeElapsedNanos, e)) {
+            recordRows("update", rowCount);
+        }
+    }
+
+    @Override
+    public void onAfterExecuteBatch(StatementInformation statementInformation, long timeElapsedNanos,
+                                    int[] updateCounts, SQLException e) {
+        if (recordExecution(statementInformation, "batch", timeElapsedNanos, e) && updateCounts != null) {
+            // rewriteBatchedStatements 사용 시 SUCCESS_NO_INFO(-2) 가 올 수 있으므로 양수만 합산
+            recordRows("batch", Arrays.stream(updateCounts).filter(count -> count > 0).sum());
+        }
+    }
+
+    @Override
+    public void onAfterExecute(PreparedStatementInformation statementInformation, long timeElapsedNanos,
+                               SQLException e) {
+        recordExecution(statementInformation, "execute", timeElapsedNanos, e);
+    }
+
+    @Override
+    public void onAfterExecute(StatementInformation statementInformation, long timeElapsedNanos,
+                               String sql, SQLException e) {
+        recordExecution(statementInformation, "execute", timeElapsedNanos, e);
+    }
+
+    @Override
+    public void onAfterResultSetClose(ResultSetInformation resultSetInformation, SQLException e) {
+        if (SqlSource.current() != SqlSource.EXPLAIN) {
+            // currRow 는 -1 에서 시작하여 next() 가 true 일 때마다 증가
+            recordRows("query", resultSetInformation.getCurrRow() + 1);
+        }
+    }
+
+    /**
+     * @return 메트릭 기록 대상이면 true (EXPLAIN 자체 문장은 제외)
+     */
+    private boolean recordExecution(StatementInformation statementInformation, String kind,
+                                    long timeElapsedNanos, SQLException e) {
+        SqlSource source = SqlSource.current();
+        if (source == SqlSource.EXPLAIN) {
+            return false;
+        }
+
+        String outcome = e == null ? "success" : "error";
+        latencyTimers.computeIfAbsent(new MeterKey(source, kind, outcome), key -> Timer.builder("settlement.sql.latency")
+                        .description("SQL 문장 실행 시간")
+                        .tag("source", key.source().tag())
+                        .tag("kind", key.kind())
+                        .tag("outcome", key.outcome())
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(timeElapsedNanos, TimeUnit.NANOSECONDS);
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(timeElapsedNanos);
+        if (e == null && elapsedMillis >= slowThresholdMillis) {
+            meterRegistry.counter("settlement.sql.slow", "source", source.tag(), "kind", kind).increment();
+            String sql = statementInformation.getSql();
+            if (sql != null) {
+                slowSqlExplainer.explainOnce(source, sql, statementInformation.getSqlWithValues(), elapsedMillis,
+                        statementInformation.getConnectionInformation().getDataSource());
+            }
+        }
+        return true;
+    }
+
+    private void recordRows(String kind, long rows) {
+        SqlSource source = SqlSource.current();
+        rowSummaries.computeIfAbsent(new MeterKey(source, kind, ""), key -> DistributionSummary
+                        .builder("settlement.sql.rows")
+                        .description("SQL 문장당 조회 / 변경 행 수")
+                        .tag("source", key.source().tag())
+                        .tag("kind", key.kind())
+                        .register(meterRegistry))
+                .record(rows);
+    }
+
+    private record MeterKey(SqlSource source, String kind, String outcome) {
+    }
+}
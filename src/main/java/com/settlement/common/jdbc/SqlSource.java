@@ -0,0 +1,85 @@
+package com.settlement.common.jdbc;
+
+/**
+ * SQL 실행의 논리적 출처
+ *
+ * 현재 스레드에 출처를 지정해 두면 SqlMetricsListener 가 실행되는 문장마다 source 태그로 기록한다.
+ * 지정하지 않은 문장은 OTHER 로 기록된다.
+ *
+ * <pre>
+ * SqlSource.Scope scope = SqlSource.STATS.open();
+ * try {
+ *     jdbcTemplate.queryForMap(...);
+ * } finally {
+ *     scope.close();
+ * }
+ * </pre>
+ * (try-with-resources 로 열면 블록 안에서 scope 를 참조하지 않아 -Xlint:try 경고가 나므로 finally 에서 닫는다)
+ */
+public enum SqlSource {
+
+    READER_PAGE("reader.page"),
+    WRITER_BATCH("writer.batch"),
+    VERIFICATION_TOTAL("verification.total"),
+    MISMATCH_DETAIL("mismatch.detail"),
+    STATS("stats"),
+    SETTLEMENT_QUERY("api.query"),
+    /** 느린 쿼리 실행 계획 조회 - 메트릭 / EXPLAIN 대상에서 제외 */
+    EXPLAIN("explain"),
+    OTHER("other");
+
+    private static final ThreadLocal<SqlSource> CURRENT = new ThreadLocal<>();
+
+    private final String tag;
+
+    SqlSource(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+
+    /**
+     * 현재 스레드의 출처를 지정하고, 닫으면 이전 출처로 되돌린다
+     */
+    public Scope open() {
+        SqlSource previous = CURRENT.get();
+        CURRENT.set(this);
+        return () -> restore(previous);
+    }
+
+    /**
+     * 현재 스레드의 출처를 지정한다 (Item 리스너처럼 시작/종료 콜백이 나뉜 곳에서 사용)
+     */
+    public void set() {
+        CURRENT.set(this);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public static SqlSource current() {
+        SqlSource source = CURRENT.get();
+        return source != null ? source : OTHER;
+    }
+
+    private static void restore(SqlSource previous) {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * 출처 지정 범위 (finally 에서 닫는다)
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
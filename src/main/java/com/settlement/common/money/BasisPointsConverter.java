@@ -0,0 +1,23 @@
+package com.settlement.common.money;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * basis point int ↔ DECIMAL(5, 4) 수수료율 컬럼 변환
+ */
+@Converter
+public class BasisPointsConverter implements AttributeConverter<Integer, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Integer basisPoints) {
+        return basisPoints != null ? Money.basisPointsToDecimal(basisPoints) : null;
+    }
+
+    @Override
+    public Integer convertToEntityAttribute(BigDecimal rate) {
+        return rate != null ? Money.toBasisPoints(rate) : null;
+    }
+}
@@ -0,0 +1,69 @@
+package com.settlement.common.money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * 고정 소수점 금액 연산
+ *
+ * 금액은 최소 화폐 단위(1/100) long, 수수료율은 basis point(1/10000) int 로 다룬다.
+ * DECIMAL 과의 변환은 JDBC/JPA 경계에서만 수행한다.
+ *
+ * 반올림 정책: HALF_UP (0.5 는 0 에서 먼 쪽으로). MySQL DECIMAL 컬럼 저장 시 반올림과 같다.
+ */
+public final class Money {
+
+    /** 금액 소수 자릿수 (DECIMAL(15, 2)) */
+    public static final int SCALE = 2;
+
+    /** 수수료율 소수 자릿수 (DECIMAL(5, 4)) */
+    public static final int RATE_SCALE = 4;
+
+    private static final long RATE_UNIT = 10_000L;
+    private static final long HALF_RATE_UNIT = RATE_UNIT / 2;
+
+    private Money() {
+    }
+
+    /**
+     * DECIMAL 금액 → 최소 화폐 단위
+     */
+    public static long toMinor(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * 최소 화폐 단위 → DECIMAL 금액
+     */
+    public static BigDecimal toDecimal(long minor) {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+
+    /**
+     * DECIMAL 수수료율(예: 0.1500) → basis point(예: 1500)
+     */
+    public static int toBasisPoints(BigDecimal rate) {
+        return rate.setScale(RATE_SCALE, RoundingMode.UNNECESSARY).unscaledValue().intValueExact();
+    }
+
+    /**
+     * basis point → DECIMAL 수수료율
+     */
+    public static BigDecimal basisPointsToDecimal(int basisPoints) {
+        return BigDecimal.valueOf(basisPoints, RATE_SCALE);
+    }
+
+    /**
+     * 금액에 비율을 곱하고 HALF_UP 으로 최소 화폐 단위에 맞춘다
+     *
+     * @param minor       금액 (최소 화폐 단위)
+     * @param basisPoints 비율 (1/10000)
+     */
+    public static long applyRate(long minor, int basisPoints) {
+        long product = Math.multiplyExact(minor, basisPoints);
+        if (product >= 0) {
+            return (product + HALF_RATE_UNIT) / RATE_UNIT;
+        }
+        return -((-product + HALF_RATE_UNIT) / RATE_UNIT);
+    }
+}
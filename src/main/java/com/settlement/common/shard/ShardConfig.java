@@ -0,0 +1,23 @@
+package com.settlement.common.shard;
+
+import com.github.gavlyukovskiy.boot.jdbc.decorator.DataSourceDecorator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 판매자 샤드 설정
+ * 샤드 DataSource 는 빈으로 등록하지 않는다 (primary DataSource 자동 설정 / JPA 에 영향을 주지 않도록)
+ * 빈이 아니어서 데코레이터 BeanPostProcessor 가 적용되지 않으므로 p6spy 등 DataSourceDecorator 를 직접 적용한다
+ */
+@Configuration
+@EnableConfigurationProperties(ShardProperties.class)
+public class ShardConfig {
+
+    @Bean(destroyMethod = "close")
+    public ShardDataSources shardDataSources(ShardProperties properties,
+                                             ObjectProvider<DataSourceDecorator> decorators) {
+        return new ShardDataSources(properties, decorators.orderedStream().toList());
+    }
+}
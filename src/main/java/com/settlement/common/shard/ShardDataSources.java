@@ -0,0 +1,118 @@
+package com.settlement.common.shard;
+
+import com.github.gavlyukovskiy.boot.jdbc.decorator.DataSourceDecorator;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 판매자 샤드별 커넥션 풀과 seller_id → 샤드 매핑
+ *
+ * 샤드마다 order_items / sellers / settlements 전체 스키마를 가진 독립 MySQL 이며,
+ * 정산 샤드 Step 은 자기 샤드에서 집계하고 자기 샤드의 settlements 에 저장한다.
+ * Spring Batch 메타데이터와 JPA 는 primary DataSource 에 남는다.
+ * 샤드 커넥션 풀에도 primary 와 같은 DataSourceDecorator(p6spy)를 적용하여 SQL 메트릭 / 느린 SQL 실행 계획을 남긴다.
+ * settlement.sharding.enabled=false 이면 샤드가 없다.
+ */
+@Slf4j
+public class ShardDataSources implements AutoCloseable {
+
+    /** 샤드 Step ExecutionContext 의 샤드 ID 키 */
+    public static final String SHARD_ID = "shardId";
+
+    private final String mapping;
+    private final Map<String, ShardTarget> targets = new LinkedHashMap<>();
+
+    public ShardDataSources(ShardProperties properties, List<DataSourceDecorator> decorators) {
+        this.mapping = properties.getMapping();
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (properties.getShards().isEmpty()) {
+            throw new IllegalStateException("settlement.sharding.shards 가 비어 있습니다");
+        }
+        if (!"range".equals(mapping) && !"modulo".equals(mapping)) {
+            throw new IllegalStateException("알 수 없는 settlement.sharding.mapping: " + mapping);
+        }
+
+        for (ShardProperties.Shard shard : properties.getShards()) {
+            if ("range".equals(mapping) && (shard.getMinSellerId() == null || shard.getMaxSellerId() == null)) {
+                throw new IllegalStateException("range 매핑 샤드에는 min-seller-id / max-seller-id 가 필요합니다: "
+                        + shard.getId());
+            }
+            HikariDataSource pool = createDataSource(shard);
+            DataSource dataSource = pool;
+            for (DataSourceDecorator decorator : decorators) {
+                dataSource = decorator.decorate("shard-" + shard.getId(), dataSource);
+            }
+            targets.put(shard.getId(), new ShardTarget(shard.getId(), shard.getMinSellerId(), shard.getMaxSellerId(),
+                    pool, dataSource, new JdbcTemplate(dataSource), new DataSourceTransactionManager(dataSource)));
+        }
+        log.info("판매자 샤드 초기화 - mapping: {}, shards: {}", mapping, targets.keySet());
+    }
+
+    public boolean isEnabled() {
+        return !targets.isEmpty();
+    }
+
+    public List<ShardTarget> all() {
+        return List.copyOf(targets.values());
+    }
+
+    public ShardTarget get(String shardId) {
+        ShardTarget target = targets.get(shardId);
+        if (target == null) {
+            throw new IllegalArgumentException("알 수 없는 샤드: " + shardId);
+        }
+        return target;
+    }
+
+    /**
+     * seller_id 를 가진 샤드
+     */
+    public ShardTarget forSeller(long sellerId) {
+        if ("modulo".equals(mapping)) {
+            return all().get((int) Math.floorMod(sellerId, (long) targets.size()));
+        }
+        return targets.values().stream()
+                .filter(target -> target.contains(sellerId))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("매핑된 샤드가 없는 seller_id: " + sellerId));
+    }
+
+    @Override
+    public void close() {
+        targets.values().forEach(target -> target.pool().close());
+    }
+
+    private static HikariDataSource createDataSource(ShardProperties.Shard shard) {
+        HikariConfig config = shard.getDatasource();
+        if (config.getPoolName() == null) {
+            config.setPoolName("SettlementShardHikariCP-" + shard.getId());
+        }
+        return new HikariDataSource(config);
+    }
+
+    /**
+     * 샤드 하나의 커넥션 풀 / JdbcTemplate / 트랜잭션 매니저
+     * range 매핑이면 minSellerId ~ maxSellerId 를 가지고, modulo 매핑이면 null
+     * dataSource 는 pool 에 데코레이터를 적용한 것이며 JdbcTemplate / 트랜잭션 매니저도 이를 사용한다
+     */
+    public record ShardTarget(String id, Long minSellerId, Long maxSellerId, HikariDataSource pool, DataSource dataSource,
+                              JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+
+        public boolean contains(long sellerId) {
+            return minSellerId != null && maxSellerId != null
+                    && sellerId >= minSellerId && sellerId <= maxSellerId;
+        }
+    }
+}
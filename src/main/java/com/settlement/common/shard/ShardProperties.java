@@ -0,0 +1,42 @@
+package com.settlement.common.shard;
+
+import com.zaxxer.hikari.HikariConfig;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 판매자 샤드 설정 (settlement.sharding.*)
+ *
+ * mapping:
+ * - range  : 샤드별 min-seller-id ~ max-seller-id 구간 (양 끝 포함)
+ * - modulo : seller_id % 샤드 수 번째 샤드 (shards 목록 순서)
+ */
+@Getter
+@Setter
+@ConfigurationProperties("settlement.sharding")
+public class ShardProperties {
+
+    private boolean enabled = false;
+
+    private String mapping = "range";
+
+    private List<Shard> shards = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Shard {
+
+        private String id;
+
+        private Long minSellerId;
+
+        private Long maxSellerId;
+
+        /** 커넥션 풀 설정 (jdbc-url, username, password, maximum-pool-size ...) */
+        private HikariConfig datasource = new HikariConfig();
+    }
+}
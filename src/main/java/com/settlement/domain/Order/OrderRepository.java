@@ -1,6 +1,17 @@
 package com.settlement.domain.Order;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+
+import java.util.Optional;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
+
+    /**
+     * 상태 변경용 조회 (SELECT ... FOR UPDATE)
+     * 같은 주문의 상태 변경이 동시에 들어와도 롤업 증감이 중복 반영되지 않도록 직렬화한다
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Order> findWithLockById(Long id);
 }
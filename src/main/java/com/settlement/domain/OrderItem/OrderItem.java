@@ -37,18 +37,23 @@ public class OrderItem {
     @Column(name = "total_price", nullable = false, precision = 12, scale = 2)
     private BigDecimal totalPrice;
 
+    /** orders.ordered_at 복사본 (판매자별 매출일 범위 조회용, 주문 시각은 바뀌지 않는다. V8 이전 행은 백필 전까지 NULL) */
+    @Column(name = "ordered_at", nullable = false, updatable = false)
+    private LocalDateTime orderedAt;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     @Builder
     public OrderItem(Long orderId, Long productId, Long sellerId,
-                     Integer quantity, BigDecimal unitPrice) {
+                     Integer quantity, BigDecimal unitPrice, LocalDateTime orderedAt) {
         this.orderId = orderId;
         this.productId = productId;
         this.sellerId = sellerId;
         this.quantity = quantity;
         this.unitPrice = unitPrice;
         this.totalPrice = unitPrice.multiply(BigDecimal.valueOf(quantity));
+        this.orderedAt = orderedAt;
         this.createdAt = LocalDateTime.now();
     }
 }
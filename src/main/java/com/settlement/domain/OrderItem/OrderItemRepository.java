@@ -1,6 +1,22 @@
 package com.settlement.domain.OrderItem;
 
+import com.settlement.order.dto.SellerOrderLine;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+
+    /**
+     * 주문 1건의 판매자별 합계
+     */
+    @Query("""
+            SELECT new com.settlement.order.dto.SellerOrderLine(oi.sellerId, SUM(oi.totalPrice), COUNT(oi))
+            FROM OrderItem oi
+            WHERE oi.orderId = :orderId
+            GROUP BY oi.sellerId
+            """)
+    List<SellerOrderLine> sumBySellerForOrder(@Param("orderId") Long orderId);
 }
@@ -1,5 +1,8 @@
 package com.settlement.domain.Settlement;
 
+import com.settlement.common.money.BasisPointsConverter;
+import com.settlement.common.money.Money;
+import com.settlement.common.money.MoneyConverter;
 import com.settlement.enums.SettlementStatus;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
@@ -7,10 +10,15 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
+/**
+ * 판매자별 일 정산
+ *
+ * 금액은 최소 화폐 단위(1/100) long, 수수료율은 basis point(1/10000) int 로 보관하고
+ * DECIMAL 컬럼과는 컨버터에서만 변환한다. 수수료는 Money.applyRate 의 HALF_UP 규칙으로 계산한다.
+ */
 @Entity
 @Table(name = "settlements")
 @Getter
@@ -27,23 +35,27 @@ public class Settlement {
     @Column(name = "settlement_date", nullable = false)
     private LocalDate settlementDate;
 
+    @Convert(converter = MoneyConverter.class)
     @Column(name = "total_sales", nullable = false, precision = 15, scale = 2)
-    private BigDecimal totalSales;
+    private long totalSales;
 
+    @Convert(converter = BasisPointsConverter.class)
     @Column(name = "commission_rate", nullable = false, precision = 5, scale = 4)
-    private BigDecimal commissionRate;
+    private int commissionRate;
 
+    @Convert(converter = MoneyConverter.class)
     @Column(nullable = false, precision = 15, scale = 2)
-    private BigDecimal commission;
+    private long commission;
 
+    @Convert(converter = MoneyConverter.class)
     @Column(name = "net_amount", nullable = false, precision = 15, scale = 2)
-    private BigDecimal netAmount;
+    private long netAmount;
 
     @Column(name = "order_count", nullable = false)
-    private Integer orderCount;
+    private int orderCount;
 
     @Column(name = "item_count", nullable = false)
-    private Integer itemCount;
+    private int itemCount;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
@@ -56,14 +68,14 @@ public class Settlement {
     private LocalDateTime updatedAt;
 
     @Builder
-    public Settlement(Long sellerId, LocalDate settlementDate, BigDecimal totalSales,
-                      BigDecimal commissionRate, Integer orderCount, Integer itemCount) {
+    public Settlement(Long sellerId, LocalDate settlementDate, long totalSales,
+                      int commissionRate, int orderCount, int itemCount) {
         this.sellerId = sellerId;
         this.settlementDate = settlementDate;
         this.totalSales = totalSales;
         this.commissionRate = commissionRate;
-        this.commission = totalSales.multiply(commissionRate);
-        this.netAmount = totalSales.subtract(this.commission);
+        this.commission = Money.applyRate(totalSales, commissionRate);
+        this.netAmount = totalSales - this.commission;
         this.orderCount = orderCount;
         this.itemCount = itemCount;
         this.status = SettlementStatus.PENDING;
@@ -73,16 +85,20 @@ public class Settlement {
 
     /**
      * 정산 데이터 업데이트 (재정산 시 사용)
+     * 확정(CONFIRMED / PAID) 정산은 덮어쓰지 않고 settlement_adjustments 원장에 변경분을 추가한다
      */
-    public void update(BigDecimal totalSales, BigDecimal commissionRate,
-                       Integer orderCount, Integer itemCount) {
+    public void update(long totalSales, int commissionRate,
+                       int orderCount, int itemCount) {
+        if (status != SettlementStatus.PENDING) {
+            throw new IllegalStateException("확정된 정산은 수정할 수 없습니다 - sellerId: " + sellerId
+                    + ", settlementDate: " + settlementDate + ", status: " + status);
+        }
         this.totalSales = totalSales;
         this.commissionRate = commissionRate;
-        this.commission = totalSales.multiply(commissionRate);
-        this.netAmount = totalSales.subtract(this.commission);
+        this.commission = Money.applyRate(totalSales, commissionRate);
+        this.netAmount = totalSales - this.commission;
         this.orderCount = orderCount;
         this.itemCount = itemCount;
-        this.status = SettlementStatus.PENDING;
         this.updatedAt = LocalDateTime.now();
     }
 }
@@ -0,0 +1,8 @@
+package com.settlement.enums;
+
+public enum BackfillDayStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
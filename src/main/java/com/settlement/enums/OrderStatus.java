@@ -6,5 +6,12 @@ public enum OrderStatus {
     SHIPPED,
     DELIVERED,
     REFUNDED,
-    CANCELLED
+    CANCELLED;
+
+    /**
+     * 정산 대상 상태 여부 (PAID, SHIPPED, DELIVERED)
+     */
+    public boolean isSettlementTarget() {
+        return this == PAID || this == SHIPPED || this == DELIVERED;
+    }
 }
@@ -1,20 +1,35 @@
 package com.settlement.enums;
 
-import java.math.BigDecimal;
-
 public enum SellerGrade {
-    BRONZE(new BigDecimal("0.15")),   // 15% 수수료
-    SILVER(new BigDecimal("0.12")),   // 12% 수수료
-    GOLD(new BigDecimal("0.10")),     // 10% 수수료
-    PLATINUM(new BigDecimal("0.08")); // 8% 수수료
+    BRONZE(1_500),   // 15% 수수료
+    SILVER(1_200),   // 12% 수수료
+    GOLD(1_000),     // 10% 수수료
+    PLATINUM(800);   // 8% 수수료
+
+    private final int commissionRateBasisPoints;
 
-    private final BigDecimal commissionRate;
+    SellerGrade(int commissionRateBasisPoints) {
+        this.commissionRateBasisPoints = commissionRateBasisPoints;
+    }
 
-    SellerGrade(BigDecimal commissionRate) {
-        this.commissionRate = commissionRate;
+    /**
+     * sellers.grade 값으로 등급 조회 (NULL / 알 수 없는 값이면 정산을 멈춘다)
+     */
+    public static SellerGrade of(String grade) {
+        if (grade != null) {
+            for (SellerGrade value : values()) {
+                if (value.name().equals(grade)) {
+                    return value;
+                }
+            }
+        }
+        throw new IllegalStateException("알 수 없는 판매자 등급: " + grade);
     }
 
-    public BigDecimal getCommissionRate() {
-        return commissionRate;
+    /**
+     * 수수료율 (basis point, 1/10000)
+     */
+    public int getCommissionRateBasisPoints() {
+        return commissionRateBasisPoints;
     }
 }
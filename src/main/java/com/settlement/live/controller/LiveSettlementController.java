@@ -0,0 +1,89 @@
+package com.settlement.live.controller;
+
+import com.settlement.common.money.Money;
+import com.settlement.domain.Seller.Seller;
+import com.settlement.domain.Seller.SellerRepository;
+import com.settlement.live.dto.LiveSellerTotals;
+import com.settlement.live.dto.LiveSettlementSummary;
+import com.settlement.live.service.LiveSettlementAggregator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 당일 실시간 정산 조회 API
+ *
+ * API:
+ * - GET /api/settlements/live                     : 당일 전체 누적 매출
+ * - GET /api/settlements/live/sellers/{sellerId}  : 판매자 당일 누적 매출과 예상 수수료 / 정산금
+ *
+ * 메모리 누적값만 읽으므로 order_items 를 집계하지 않는다. 확정 금액은 다음 날 정산 배치 결과를 따른다.
+ */
+@RestController
+@RequestMapping("/api/settlements/live")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "settlement.live.enabled", havingValue = "true", matchIfMissing = false)
+public class LiveSettlementController {
+
+    private final LiveSettlementAggregator liveSettlementAggregator;
+    private final SellerRepository sellerRepository;
+
+    /**
+     * 당일 전체 누적 매출
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> summary() {
+        LiveSettlementSummary summary = liveSettlementAggregator.summary();
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("salesDate", summary.salesDate().toString());
+        response.put("sellerCount", summary.sellerCount());
+        response.put("totalSales", Money.toDecimal(summary.totalSales()));
+        response.put("orderCount", summary.orderCount());
+        response.put("itemCount", summary.itemCount());
+        response.put("lastEventId", summary.lastEventId());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 판매자 당일 누적 매출
+     *
+     * @param sellerId 판매자 ID
+     * @return 누적 매출과 판매자 등급 수수료율로 계산한 예상 수수료 / 정산금
+     */
+    @GetMapping("/sellers/{sellerId}")
+    public ResponseEntity<Map<String, Object>> seller(@PathVariable Long sellerId) {
+        Optional<Seller> seller = sellerRepository.findById(sellerId);
+        if (seller.isEmpty()) {
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("status", "ERROR");
+            response.put("message", "존재하지 않는 sellerId 입니다: " + sellerId);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+
+        LiveSellerTotals totals = liveSettlementAggregator.find(sellerId)
+                .orElseGet(() -> new LiveSellerTotals(liveSettlementAggregator.summary().salesDate(), sellerId,
+                        0, 0, 0));
+        int commissionRate = seller.get().getGrade().getCommissionRateBasisPoints();
+        long commission = Money.applyRate(totals.totalSales(), commissionRate);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("sellerId", sellerId);
+        response.put("salesDate", totals.salesDate().toString());
+        response.put("totalSales", Money.toDecimal(totals.totalSales()));
+        response.put("orderCount", totals.orderCount());
+        response.put("itemCount", totals.itemCount());
+        response.put("commissionRate", Money.basisPointsToDecimal(commissionRate));
+        response.put("expectedCommission", Money.toDecimal(commission));
+        response.put("expectedNetAmount", Money.toDecimal(totals.totalSales() - commission));
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,12 @@
+package com.settlement.live.dto;
+
+import java.time.LocalDate;
+
+/**
+ * 판매자 당일 실시간 누적값
+ *
+ * 금액은 최소 화폐 단위(1/100) long 으로 보관한다 (Money 참고)
+ */
+public record LiveSellerTotals(LocalDate salesDate, long sellerId, long totalSales, long orderCount,
+                               long itemCount) {
+}
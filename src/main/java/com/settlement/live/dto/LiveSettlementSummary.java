@@ -0,0 +1,12 @@
+package com.settlement.live.dto;
+
+import java.time.LocalDate;
+
+/**
+ * 당일 실시간 정산 전체 누적값
+ *
+ * 금액은 최소 화폐 단위(1/100) long, lastEventId 는 반영을 마친 마지막 outbox 이벤트 id
+ */
+public record LiveSettlementSummary(LocalDate salesDate, int sellerCount, long totalSales, long orderCount,
+                                    long itemCount, long lastEventId) {
+}
@@ -0,0 +1,451 @@
+package com.settlement.live.service;
+
+import com.settlement.common.money.Money;
+import com.settlement.live.dto.LiveSellerTotals;
+import com.settlement.live.dto.LiveSettlementSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 당일 판매자별 실시간 정산 누적 집계기
+ *
+ * order_status_events outbox 를 id 순으로 폴링하여 오늘 매출일 이벤트를 판매자별 LongAdder 에 반영한다.
+ * 조회는 메모리 카운터만 읽으므로 order_items 를 집계하지 않는다.
+ *
+ * 반영 위치:
+ * - 지금까지 본 가장 큰 id(maxSeenEventId) 이하 이벤트는 열린 빈 id 를 빼면 모두 반영되었거나 버려진(롤백된) 것이다.
+ * - AUTO_INCREMENT id 는 커밋 순서와 다를 수 있으므로 건너뛴 id 는 빈 id 로 열어 두고 id 로 다시 확인하다가
+ *   gap-timeout-ms 가 지나면 롤백된 것으로 보고 닫는다.
+ * - 열린 빈 id 는 max-open-gaps 개로 제한한다. 한 번에 그보다 많이 건너뛰면 (대량 롤백, AUTO_INCREMENT 점프)
+ *   하나씩 열지 않고 바로 롤백된 것으로 본다.
+ * - 새 이벤트는 maxSeenEventId 이후부터 읽으므로 빈 id 가 있어도 같은 이벤트를 반복해서 읽지 않는다.
+ *
+ * 체크포인트:
+ * checkpoint-interval-ms 마다 바뀐 판매자 누적값과 maxSeenEventId / 열린 빈 id 를 한 트랜잭션으로 저장한다.
+ * 재시작 시 오늘 체크포인트를 읽고 그 이후 이벤트만 다시 반영하므로 당일 주문을 다시 집계하지 않는다.
+ * 체크포인트는 consumer-id 별로 저장되며, 인스턴스마다 outbox 전체를 읽어 자기 메모리 누적값을 만들므로
+ * consumer-id 는 인스턴스마다 달라야 한다 (비우면 호스트명으로 정함).
+ * retention-hours 동안 체크포인트를 남기지 않은 다른 consumer 의 체크포인트는 지운다.
+ *
+ * 폴링 / 체크포인트는 전용 스레드 하나에서 실행되어 정산 배치 스케줄러와 겹치지 않는다.
+ *
+ * 활성화: settlement.live.enabled=true
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "settlement.live.enabled", havingValue = "true", matchIfMissing = false)
+public class LiveSettlementAggregator {
+
+    private static final String POLL_SQL = """
+            SELECT id, seller_id, sales_date, sign, total_sales, item_count
+            FROM order_status_events
+            WHERE id > ?
+            ORDER BY id
+            LIMIT ?
+            """;
+
+    private static final String RECHECK_SQL_PREFIX = """
+            SELECT id, seller_id, sales_date, sign, total_sales, item_count
+            FROM order_status_events
+            WHERE id IN (
+            """;
+
+    private static final String UPSERT_TOTALS_SQL = """
+            INSERT INTO live_seller_totals (consumer_id, sales_date, seller_id, total_sales, order_count, item_count)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                total_sales = VALUES(total_sales),
+                order_count = VALUES(order_count),
+                item_count = VALUES(item_count)
+            """;
+
+    private static final String UPSERT_CHECKPOINT_SQL = """
+            INSERT INTO live_settlement_checkpoints (consumer_id, sales_date, max_seen_event_id, open_gap_ids,
+                                                     checkpointed_at)
+            VALUES (?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                sales_date = VALUES(sales_date),
+                max_seen_event_id = VALUES(max_seen_event_id),
+                open_gap_ids = VALUES(open_gap_ids),
+                checkpointed_at = VALUES(checkpointed_at)
+            """;
+
+    private static final String DELETE_STALE_TOTALS_SQL = """
+            DELETE t FROM live_seller_totals t
+            JOIN live_settlement_checkpoints c ON c.consumer_id = t.consumer_id
+            WHERE c.consumer_id <> ? AND c.checkpointed_at < ?
+            """;
+
+    private static final RowMapper<Event> EVENT_ROW_MAPPER = (rs, rowNum) -> new Event(
+            rs.getLong("id"),
+            rs.getLong("seller_id"),
+            rs.getObject("sales_date", LocalDate.class),
+            rs.getInt("sign"),
+            Money.toMinor(rs.getBigDecimal("total_sales")),
+            rs.getLong("item_count"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${settlement.live.consumer-id:}")
+    private String consumerId;
+
+    @Value("${settlement.live.poll-interval-ms:200}")
+    private long pollIntervalMs;
+
+    @Value("${settlement.live.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${settlement.live.checkpoint-interval-ms:30000}")
+    private long checkpointIntervalMs;
+
+    @Value("${settlement.live.gap-timeout-ms:60000}")
+    private long gapTimeoutMs;
+
+    @Value("${settlement.live.max-open-gaps:1000}")
+    private int maxOpenGaps;
+
+    @Value("${settlement.live.retention-hours:48}")
+    private long retentionHours;
+
+    /** 조회 스레드와 공유 (일자 변경 시 통째로 교체) */
+    private volatile DayTotals day;
+
+    // 이하 폴링 스레드 전용
+    private volatile long lastEventId;
+    private long maxSeenEventId;
+    private boolean positioned;
+    private final TreeMap<Long, Long> gapFirstSeenNanos = new TreeMap<>();
+    private final Set<Long> dirtySellers = new HashSet<>();
+    private long lastCheckpointNanos;
+    private boolean restored;
+
+    private ThreadPoolTaskScheduler scheduler;
+
+    @PostConstruct
+    void start() {
+        if (consumerId == null || consumerId.isBlank()) {
+            consumerId = "settlement-live-" + hostName();
+        }
+        log.info("실시간 정산 집계기 시작 - consumer: {}", consumerId);
+        day = new DayTotals(LocalDate.now());
+        Gauge.builder("settlement.live.sellers", this, aggregator -> aggregator.day.sellers.size())
+                .description("실시간 집계 중인 당일 판매자 수")
+                .register(meterRegistry);
+        Gauge.builder("settlement.live.last.event.id", this, aggregator -> aggregator.lastEventId)
+                .description("실시간 집계기가 반영을 마친 마지막 이벤트 id")
+                .register(meterRegistry);
+
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("settlement-live-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(30);
+        scheduler.initialize();
+        scheduler.scheduleWithFixedDelay(this::tick, Duration.ofMillis(pollIntervalMs));
+    }
+
+    @PreDestroy
+    void stop() {
+        // 진행 중인 tick 이 끝난 뒤 마지막 체크포인트를 남긴다
+        scheduler.shutdown();
+        if (restored) {
+            checkpoint();
+        }
+    }
+
+    /**
+     * 판매자 당일 누적값 (이벤트가 없었으면 empty)
+     */
+    public Optional<LiveSellerTotals> find(long sellerId) {
+        DayTotals current = day;
+        SellerCounters counters = current.sellers.get(sellerId);
+        return Optional.ofNullable(counters).map(c -> c.toTotals(current.date, sellerId));
+    }
+
+    /**
+     * 당일 전체 누적값
+     */
+    public LiveSettlementSummary summary() {
+        DayTotals current = day;
+        return new LiveSettlementSummary(current.date, current.sellers.size(), current.all.totalSales.sum(),
+                current.all.orderCount.sum(), current.all.itemCount.sum(), lastEventId);
+    }
+
+    private void tick() {
+        try {
+            if (!restored) {
+                restore();
+                restored = true;
+            }
+            LocalDate today = LocalDate.now();
+            if (!today.equals(day.date)) {
+                rollover(today);
+            }
+            while (poll() == batchSize) {
+                // 밀린 이벤트는 한 번에 따라잡는다
+            }
+            if (System.nanoTime() - lastCheckpointNanos >= checkpointIntervalMs * 1_000_000L) {
+                checkpoint();
+            }
+        } catch (Exception e) {
+            log.error("실시간 정산 집계 실패 - lastEventId: {}", lastEventId, e);
+        }
+    }
+
+    /**
+     * 빈 id 를 다시 확인하고 새 이벤트 한 batch 를 반영
+     *
+     * @return 읽은 새 이벤트 수
+     */
+    private int poll() {
+        if (!gapFirstSeenNanos.isEmpty()) {
+            List<Long> gapIds = gapFirstSeenNanos.keySet().stream().limit(batchSize).toList();
+            String sql = RECHECK_SQL_PREFIX
+                    + gapIds.stream().map(id -> "?").collect(Collectors.joining(", ")) + ")";
+            jdbcTemplate.query(sql, EVENT_ROW_MAPPER, gapIds.toArray()).forEach(this::apply);
+        }
+
+        List<Event> events = jdbcTemplate.query(POLL_SQL, EVENT_ROW_MAPPER, maxSeenEventId, batchSize);
+        long now = System.nanoTime();
+        for (Event event : events) {
+            if (!positioned) {
+                // 체크포인트가 없으면 outbox 에 남아 있는 가장 오래된 이벤트부터 시작한다
+                lastEventId = maxSeenEventId = event.id() - 1;
+                positioned = true;
+            }
+            apply(event);
+            openGaps(event.id(), now);
+            maxSeenEventId = event.id();
+        }
+        expireGaps(now);
+        return events.size();
+    }
+
+    /**
+     * 새 이벤트 반영 또는 열린 빈 id 에 늦게 커밋된 이벤트 반영
+     */
+    private void apply(Event event) {
+        if (event.id() <= maxSeenEventId && !gapFirstSeenNanos.containsKey(event.id())) {
+            return;
+        }
+        if (event.salesDate().isAfter(day.date)) {
+            // 자정 직후 이벤트가 일자 변경 확인보다 먼저 도착한 경우 (이 이벤트 반영 전에 체크포인트)
+            rollover(event.salesDate());
+        }
+        gapFirstSeenNanos.remove(event.id());
+        if (event.salesDate().equals(day.date)) {
+            day.apply(event);
+            dirtySellers.add(event.sellerId());
+        }
+    }
+
+    /**
+     * maxSeenEventId 와 다음 이벤트 사이 id 를 빈 id 로 연다 (max-open-gaps 를 넘으면 바로 롤백된 것으로 본다)
+     */
+    private void openGaps(long nextEventId, long now) {
+        long missing = nextEventId - maxSeenEventId - 1;
+        if (missing <= 0) {
+            return;
+        }
+        if (gapFirstSeenNanos.size() + missing > maxOpenGaps) {
+            log.warn("실시간 정산 이벤트 id 가 크게 건너뜀 - 빈 id {} 개({} ~ {})를 롤백된 것으로 보고 건너뜀",
+                    missing, maxSeenEventId + 1, nextEventId - 1);
+            return;
+        }
+        for (long gapId = maxSeenEventId + 1; gapId < nextEventId; gapId++) {
+            gapFirstSeenNanos.put(gapId, now);
+        }
+    }
+
+    /**
+     * gap-timeout-ms 동안 채워지지 않은 빈 id 를 롤백된 것으로 보고 닫는다
+     */
+    private void expireGaps(long now) {
+        gapFirstSeenNanos.entrySet().removeIf(gap -> {
+            boolean expired = now - gap.getValue() >= gapTimeoutMs * 1_000_000L;
+            if (expired) {
+                log.debug("실시간 정산 이벤트 id 건너뜀 (롤백으로 판단) - id: {}", gap.getKey());
+            }
+            return expired;
+        });
+        lastEventId = gapFirstSeenNanos.isEmpty() ? maxSeenEventId : gapFirstSeenNanos.firstKey() - 1;
+    }
+
+    private void rollover(LocalDate today) {
+        log.info("실시간 정산 집계 일자 변경 - {} → {}", day.date, today);
+        day = new DayTotals(today);
+        dirtySellers.clear();
+        checkpoint();
+    }
+
+    private void restore() {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT sales_date, max_seen_event_id, open_gap_ids FROM live_settlement_checkpoints "
+                        + "WHERE consumer_id = ?", consumerId);
+        if (rows.isEmpty()) {
+            log.info("실시간 정산 체크포인트 없음 - outbox 처음부터 반영 (consumer: {})", consumerId);
+            return;
+        }
+
+        Map<String, Object> checkpoint = rows.get(0);
+        maxSeenEventId = ((Number) checkpoint.get("max_seen_event_id")).longValue();
+        String openGapIds = (String) checkpoint.get("open_gap_ids");
+        if (openGapIds != null && !openGapIds.isEmpty()) {
+            // 재시작 후 gap-timeout-ms 동안 다시 기다린다
+            long now = System.nanoTime();
+            Arrays.stream(openGapIds.split(",")).map(Long::valueOf).forEach(id -> gapFirstSeenNanos.put(id, now));
+        }
+        lastEventId = gapFirstSeenNanos.isEmpty() ? maxSeenEventId : gapFirstSeenNanos.firstKey() - 1;
+        positioned = true;
+
+        LocalDate checkpointDate = ((Date) checkpoint.get("sales_date")).toLocalDate();
+        if (checkpointDate.equals(day.date)) {
+            DayTotals restoredDay = new DayTotals(checkpointDate);
+            jdbcTemplate.query("SELECT seller_id, total_sales, order_count, item_count FROM live_seller_totals "
+                            + "WHERE consumer_id = ? AND sales_date = ?",
+                    rs -> {
+                        restoredDay.restore(rs.getLong("seller_id"),
+                                Money.toMinor(rs.getBigDecimal("total_sales")),
+                                rs.getLong("order_count"),
+                                rs.getLong("item_count"));
+                    }, consumerId, checkpointDate);
+            day = restoredDay;
+        }
+        lastCheckpointNanos = System.nanoTime();
+        log.info("실시간 정산 체크포인트 복구 - salesDate: {}, 판매자: {} 명, maxSeenEventId: {}, 열린 빈 id: {} 개",
+                checkpointDate, day.sellers.size(), maxSeenEventId, gapFirstSeenNanos.size());
+    }
+
+    /**
+     * 바뀐 판매자 누적값과 반영 위치를 한 트랜잭션으로 저장하고, 보관 기간이 지난 이벤트를 지운다
+     */
+    private void checkpoint() {
+        DayTotals current = day;
+        List<Long> sellerIds = new ArrayList<>(dirtySellers);
+        String openGapIds = gapFirstSeenNanos.keySet().stream().map(String::valueOf).collect(Collectors.joining(","));
+        long checkpointEventId = maxSeenEventId;
+        Date salesDate = Date.valueOf(current.date);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM live_seller_totals WHERE consumer_id = ? AND sales_date <> ?",
+                    consumerId, salesDate);
+            jdbcTemplate.batchUpdate(UPSERT_TOTALS_SQL, sellerIds, batchSize, (ps, sellerId) -> {
+                LiveSellerTotals totals = current.sellers.get(sellerId).toTotals(current.date, sellerId);
+                ps.setString(1, consumerId);
+                ps.setDate(2, salesDate);
+                ps.setLong(3, sellerId);
+                ps.setBigDecimal(4, Money.toDecimal(totals.totalSales()));
+                ps.setLong(5, totals.orderCount());
+                ps.setLong(6, totals.itemCount());
+            });
+            jdbcTemplate.update(UPSERT_CHECKPOINT_SQL, consumerId, salesDate, checkpointEventId,
+                    openGapIds.isEmpty() ? null : openGapIds, Timestamp.valueOf(LocalDateTime.now()));
+        });
+        dirtySellers.clear();
+        lastCheckpointNanos = System.nanoTime();
+
+        Timestamp expiredBefore = Timestamp.valueOf(LocalDateTime.now().minusHours(retentionHours));
+        int purged = jdbcTemplate.update("DELETE FROM order_status_events WHERE created_at < ? LIMIT 10000",
+                expiredBefore);
+        // 내려간 인스턴스(이전 호스트명)의 체크포인트
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update(DELETE_STALE_TOTALS_SQL, consumerId, expiredBefore);
+            jdbcTemplate.update("DELETE FROM live_settlement_checkpoints WHERE consumer_id <> ? AND checkpointed_at < ?",
+                    consumerId, expiredBefore);
+        });
+        log.debug("실시간 정산 체크포인트 - salesDate: {}, 판매자: {} 명, maxSeenEventId: {}, 열린 빈 id: {} 개, "
+                        + "만료 이벤트 삭제: {} 건",
+                current.date, sellerIds.size(), checkpointEventId, gapFirstSeenNanos.size(), purged);
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException("호스트명을 확인할 수 없습니다 - settlement.live.consumer-id 를 지정하세요", e);
+        }
+    }
+
+    private record Event(long id, long sellerId, LocalDate salesDate, int sign, long totalSales, long itemCount) {
+    }
+
+    /**
+     * 판매자 누적값 (LongAdder 로 조회 스레드와 경합 없이 갱신)
+     */
+    private static final class SellerCounters {
+
+        private final LongAdder totalSales = new LongAdder();
+        private final LongAdder orderCount = new LongAdder();
+        private final LongAdder itemCount = new LongAdder();
+
+        private void add(long sales, long orders, long items) {
+            totalSales.add(sales);
+            orderCount.add(orders);
+            itemCount.add(items);
+        }
+
+        private LiveSellerTotals toTotals(LocalDate date, long sellerId) {
+            return new LiveSellerTotals(date, sellerId, totalSales.sum(), orderCount.sum(), itemCount.sum());
+        }
+    }
+
+    /**
+     * 하루치 판매자별 / 전체 누적값
+     */
+    private static final class DayTotals {
+
+        private final LocalDate date;
+        private final ConcurrentHashMap<Long, SellerCounters> sellers = new ConcurrentHashMap<>();
+        private final SellerCounters all = new SellerCounters();
+
+        private DayTotals(LocalDate date) {
+            this.date = date;
+        }
+
+        private void apply(Event event) {
+            long sales = event.sign() * event.totalSales();
+            long items = event.sign() * event.itemCount();
+            sellers.computeIfAbsent(event.sellerId(), id -> new SellerCounters()).add(sales, event.sign(), items);
+            all.add(sales, event.sign(), items);
+        }
+
+        private void restore(long sellerId, long sales, long orders, long items) {
+            sellers.computeIfAbsent(sellerId, id -> new SellerCounters()).add(sales, orders, items);
+            all.add(sales, orders, items);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.settlement.order.controller;
+
+import com.settlement.enums.OrderStatus;
+import com.settlement.order.service.OrderStatusService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 주문 REST API 컨트롤러
+ *
+ * API:
+ * - PATCH /api/orders/{orderId}/status?status=REFUNDED : 주문 상태 변경
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/orders")
+@RequiredArgsConstructor
+public class OrderController {
+
+    private final OrderStatusService orderStatusService;
+
+    @PatchMapping("/{orderId}/status")
+    public ResponseEntity<Map<String, Object>> changeStatus(
+            @PathVariable Long orderId,
+            @RequestParam OrderStatus status) {
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("orderId", orderId);
+
+        try {
+            OrderStatus previousStatus = orderStatusService.changeStatus(orderId, status);
+            response.put("status", "SUCCESS");
+            response.put("previousStatus", previousStatus.toString());
+            response.put("newStatus", status.toString());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            log.warn("주문 상태 변경 불가 - {}", e.getMessage());
+            response.put("status", "ERROR");
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.settlement.order.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * 주문 1건 내 판매자별 합계
+ */
+public record SellerOrderLine(Long sellerId, BigDecimal totalSales, Long itemCount) {
+}
@@ -0,0 +1,44 @@
+package com.settlement.order.event;
+
+import com.settlement.enums.OrderStatus;
+import com.settlement.order.dto.SellerOrderLine;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 주문 상태 변경 이벤트
+ * 주문 상태 변경 트랜잭션 안에서 발행된다
+ *
+ * @param sellerLines 주문에 포함된 판매자별 합계
+ */
+public record OrderStatusChangedEvent(
+        Long orderId,
+        LocalDateTime orderedAt,
+        OrderStatus previousStatus,
+        OrderStatus newStatus,
+        List<SellerOrderLine> sellerLines
+) {
+
+    public LocalDate salesDate() {
+        return orderedAt.toLocalDate();
+    }
+
+    /**
+     * 정산 대상 여부가 바뀌었는지 (예: PENDING → PAID, DELIVERED → REFUNDED)
+     */
+    public boolean isSettlementTargetChanged() {
+        return previousStatus.isSettlementTarget() != newStatus.isSettlementTarget();
+    }
+
+    /**
+     * 정산 대상 금액에 반영할 부호 (+1: 편입, -1: 제외, 0: 변화 없음)
+     */
+    public int settlementSign() {
+        if (!isSettlementTargetChanged()) {
+            return 0;
+        }
+        return newStatus.isSettlementTarget() ? 1 : -1;
+    }
+}
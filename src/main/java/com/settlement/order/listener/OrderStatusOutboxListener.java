@@ -0,0 +1,58 @@
+package com.settlement.order.listener;
+
+import com.settlement.order.dto.SellerOrderLine;
+import com.settlement.order.event.OrderStatusChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.util.List;
+
+/**
+ * 주문 상태 변경 이벤트 outbox 기록
+ *
+ * 정산 대상 여부가 바뀐 주문을 판매자별 행으로 order_status_events 에 기록한다.
+ * 주문 상태 변경과 같은 트랜잭션에서 실행되므로 커밋된 변경만 실시간 집계기에 전달된다.
+ *
+ * 활성화: settlement.live.enabled=true
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "settlement.live.enabled", havingValue = "true", matchIfMissing = false)
+public class OrderStatusOutboxListener {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO order_status_events (order_id, seller_id, sales_date, sign, total_sales, item_count)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        int sign = event.settlementSign();
+        if (sign == 0) {
+            return;
+        }
+
+        List<SellerOrderLine> lines = event.sellerLines();
+        Date salesDate = Date.valueOf(event.salesDate());
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, lines, lines.size(), (ps, line) -> {
+            ps.setLong(1, event.orderId());
+            ps.setLong(2, line.sellerId());
+            ps.setDate(3, salesDate);
+            ps.setInt(4, sign);
+            ps.setBigDecimal(5, line.totalSales());
+            ps.setLong(6, line.itemCount());
+        });
+
+        log.debug("주문 상태 이벤트 기록 - orderId: {}, salesDate: {}, 판매자: {} 명, 부호: {}",
+                event.orderId(), salesDate, lines.size(), sign);
+    }
+}
@@ -0,0 +1,60 @@
+package com.settlement.order.listener;
+
+import com.settlement.order.dto.SellerOrderLine;
+import com.settlement.order.event.OrderStatusChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.util.List;
+
+/**
+ * seller_daily_sales 롤업 증분 갱신
+ *
+ * 주문이 정산 대상 상태로 들어오면 판매자별 금액/건수를 더하고, 빠지면 뺀다.
+ * 주문 상태 변경과 같은 트랜잭션에서 실행되므로 롤백 시 함께 취소된다.
+ *
+ * OrderStatusService 를 거치지 않고 정산 대상 상태로 직접 INSERT 된 주문은 여기에 도달하지 않는다.
+ * 테스트 데이터 생성기는 생성 후 롤업에 직접 더하고, 그 밖의 적재는 sellerDailySalesRebuildJob 으로 해당 날짜를 재구축해야 한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SellerDailySalesListener {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO seller_daily_sales (seller_id, sales_date, total_sales, order_count, item_count)
+            VALUES (?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                total_sales = total_sales + VALUES(total_sales),
+                order_count = order_count + VALUES(order_count),
+                item_count = item_count + VALUES(item_count)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        int sign = event.settlementSign();
+        if (sign == 0) {
+            return;
+        }
+
+        List<SellerOrderLine> lines = event.sellerLines();
+        Date salesDate = Date.valueOf(event.salesDate());
+
+        jdbcTemplate.batchUpdate(UPSERT_SQL, lines, lines.size(), (ps, line) -> {
+            ps.setLong(1, line.sellerId());
+            ps.setDate(2, salesDate);
+            ps.setBigDecimal(3, sign > 0 ? line.totalSales() : line.totalSales().negate());
+            ps.setInt(4, sign);
+            ps.setLong(5, sign * line.itemCount());
+        });
+
+        log.debug("롤업 갱신 - orderId: {}, salesDate: {}, 판매자: {} 명, 부호: {}",
+                event.orderId(), salesDate, lines.size(), sign);
+    }
+}
@@ -0,0 +1,53 @@
+package com.settlement.order.listener;
+
+import com.settlement.order.dto.SellerOrderLine;
+import com.settlement.order.event.OrderStatusChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.util.List;
+
+/**
+ * 재정산 대상 (판매자, 매출일) 기록
+ *
+ * 주문이 정산 대상 상태로 들어오거나 빠지면 주문의 판매자들을 settlement_dirty_sellers 에 기록한다.
+ * 주문 상태 변경과 같은 트랜잭션에서 실행되므로 커밋된 변경은 반드시 기록되고, 롤백 시 함께 취소된다.
+ * 이미 기록된 쌍은 version 을 올려 증분 정산 도중 들어온 변경이 삭제되지 않게 한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SettlementDirtySellerListener {
+
+    private static final String MARK_SQL = """
+            INSERT INTO settlement_dirty_sellers (sales_date, seller_id, version, marked_at)
+            VALUES (?, ?, 1, NOW())
+            ON DUPLICATE KEY UPDATE
+                version = version + 1,
+                marked_at = NOW()
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (!event.isSettlementTargetChanged()) {
+            return;
+        }
+
+        List<SellerOrderLine> lines = event.sellerLines();
+        Date salesDate = Date.valueOf(event.salesDate());
+
+        jdbcTemplate.batchUpdate(MARK_SQL, lines, lines.size(), (ps, line) -> {
+            ps.setDate(1, salesDate);
+            ps.setLong(2, line.sellerId());
+        });
+
+        log.debug("재정산 대상 기록 - orderId: {}, salesDate: {}, 판매자: {} 명",
+                event.orderId(), salesDate, lines.size());
+    }
+}
@@ -0,0 +1,58 @@
+package com.settlement.order.service;
+
+import com.settlement.domain.Order.Order;
+import com.settlement.domain.Order.OrderRepository;
+import com.settlement.domain.OrderItem.OrderItemRepository;
+import com.settlement.enums.OrderStatus;
+import com.settlement.order.dto.SellerOrderLine;
+import com.settlement.order.event.OrderStatusChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * 주문 상태 변경 서비스
+ *
+ * 상태를 변경하고 같은 트랜잭션 안에서 OrderStatusChangedEvent 를 발행한다.
+ * 롤업 테이블 등 파생 데이터는 이벤트 리스너에서 함께 갱신된다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderStatusService {
+
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 주문 상태 변경
+     *
+     * @param orderId   주문 ID
+     * @param newStatus 변경할 상태
+     * @return 변경 전 상태
+     */
+    @Transactional
+    public OrderStatus changeStatus(Long orderId, OrderStatus newStatus) {
+        Order order = orderRepository.findWithLockById(orderId)
+                .orElseThrow(() -> new IllegalArgumentException("주문을 찾을 수 없습니다: " + orderId));
+
+        OrderStatus previousStatus = order.getStatus();
+        if (previousStatus == newStatus) {
+            return previousStatus;
+        }
+
+        order.changeStatus(newStatus);
+
+        List<SellerOrderLine> sellerLines = orderItemRepository.sumBySellerForOrder(orderId);
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(
+                orderId, order.getOrderedAt(), previousStatus, newStatus, sellerLines));
+
+        log.debug("주문 상태 변경 - orderId: {}, {} → {}", orderId, previousStatus, newStatus);
+        return previousStatus;
+    }
+}
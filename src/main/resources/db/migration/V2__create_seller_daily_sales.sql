@@ -0,0 +1,14 @@
+-- 판매자 일별 매출 롤업 테이블
+-- 주문 상태가 정산 대상(PAID/SHIPPED/DELIVERED)으로 들어오거나 빠질 때 증분 갱신된다
+CREATE TABLE seller_daily_sales (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    seller_id BIGINT NOT NULL,
+    sales_date DATE NOT NULL,
+    total_sales DECIMAL(15, 2) NOT NULL DEFAULT 0,
+    order_count INT NOT NULL DEFAULT 0,
+    item_count INT NOT NULL DEFAULT 0,
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    UNIQUE INDEX idx_sales_date_seller (sales_date, seller_id),
+    FOREIGN KEY (seller_id) REFERENCES sellers(id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,16 @@
+-- 정산 벌크 적재 스테이징 테이블
+-- settlement.writer.mode=bulk 일 때 chunk 마다 LOAD DATA LOCAL INFILE 로 적재하고,
+-- 정산 Step 종료 후 INSERT ... SELECT ... ON DUPLICATE KEY UPDATE 로 settlements 에 병합한 뒤 삭제한다
+CREATE TABLE settlements_staging (
+    job_instance_id BIGINT NOT NULL,
+    seller_id BIGINT NOT NULL,
+    settlement_date DATE NOT NULL,
+    total_sales DECIMAL(15, 2) NOT NULL,
+    commission_rate DECIMAL(5, 4) NOT NULL,
+    commission DECIMAL(15, 2) NOT NULL,
+    net_amount DECIMAL(15, 2) NOT NULL,
+    order_count INT NOT NULL,
+    item_count INT NOT NULL,
+    status ENUM('PENDING', 'CONFIRMED', 'PAID') NOT NULL DEFAULT 'PENDING',
+    PRIMARY KEY (job_instance_id, seller_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
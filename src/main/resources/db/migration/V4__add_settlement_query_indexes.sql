@@ -0,0 +1,8 @@
+-- 정산 조회 API keyset 페이지네이션 인덱스
+-- (settlement_date, seller_id) 순서 조회가 인덱스 순서 그대로 읽히도록 기존 단일 컬럼 인덱스를 복합 인덱스로 바꾼다.
+-- 판매자 조회는 기존 idx_seller_date 를 사용한다.
+ALTER TABLE settlements
+    DROP INDEX idx_settlement_date,
+    ADD INDEX idx_date_seller (settlement_date, seller_id),
+    DROP INDEX idx_status,
+    ADD INDEX idx_status_date_seller (status, settlement_date, seller_id);
@@ -0,0 +1,10 @@
+-- 재정산 대상 (판매자, 매출일) outbox
+-- 주문이 정산 대상 상태로 들어오거나 빠질 때 주문 상태 변경과 같은 트랜잭션에서 기록되고,
+-- incrementalSettlementJob 이 해당 쌍만 재집계 / UPSERT 한 뒤 읽었을 때의 version 그대로인 행만 삭제한다
+CREATE TABLE settlement_dirty_sellers (
+    sales_date DATE NOT NULL,
+    seller_id BIGINT NOT NULL,
+    version BIGINT NOT NULL DEFAULT 1,
+    marked_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (sales_date, seller_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,33 @@
+-- 확정 이후 정산 조정 원장
+-- CONFIRMED / PAID 정산을 재정산한 결과가 현재 유효 금액(settlements + 기존 조정 합계)과 다르면 그 차이만 추가한다.
+-- 금액 컬럼은 추가 후 바뀌지 않으며, compacted_at 은 압축 Job 이 잔액에 반영했음을 표시할 때만 설정한다.
+CREATE TABLE settlement_adjustments (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    settlement_date DATE NOT NULL,
+    seller_id BIGINT NOT NULL,
+    total_sales DECIMAL(15, 2) NOT NULL,
+    commission DECIMAL(15, 2) NOT NULL,
+    net_amount DECIMAL(15, 2) NOT NULL,
+    order_count INT NOT NULL,
+    item_count INT NOT NULL,
+    source VARCHAR(100) NOT NULL,
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    compacted_at DATETIME NULL,
+    INDEX idx_date_seller (settlement_date, seller_id),
+    INDEX idx_compacted (compacted_at, id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- 판매자 / 월별 조정 잔액
+-- settlementAdjustmentCompactionJob 이 원장을 접어 누적한다. net_amount 는 정산 이후 추가 지급(+) / 회수(-)할 금액
+CREATE TABLE settlement_adjustment_balances (
+    seller_id BIGINT NOT NULL,
+    period_start DATE NOT NULL,
+    total_sales DECIMAL(15, 2) NOT NULL DEFAULT 0,
+    commission DECIMAL(15, 2) NOT NULL DEFAULT 0,
+    net_amount DECIMAL(15, 2) NOT NULL DEFAULT 0,
+    order_count INT NOT NULL DEFAULT 0,
+    item_count INT NOT NULL DEFAULT 0,
+    adjustment_count INT NOT NULL DEFAULT 0,
+    updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (seller_id, period_start)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,35 @@
+-- 주문 상태 변경 이벤트 outbox
+-- 주문이 정산 대상 상태로 들어오거나 빠질 때 주문 상태 변경과 같은 트랜잭션에서 판매자별로 기록되고,
+-- 실시간 집계기(LiveSettlementAggregator)가 id 순으로 읽어 당일 판매자별 누적값에 반영한다
+CREATE TABLE order_status_events (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    order_id BIGINT NOT NULL,
+    seller_id BIGINT NOT NULL,
+    sales_date DATE NOT NULL,
+    sign TINYINT NOT NULL,
+    total_sales DECIMAL(15, 2) NOT NULL,
+    item_count INT NOT NULL,
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_created_at (created_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- 실시간 집계기 체크포인트 (consumer 별 지금까지 본 가장 큰 id + 아직 열린 빈 id 목록)
+-- 열린 빈 id 는 settlement.live.max-open-gaps 개로 제한되므로 TEXT 크기를 넘지 않는다
+CREATE TABLE live_settlement_checkpoints (
+    consumer_id VARCHAR(100) PRIMARY KEY,
+    sales_date DATE NOT NULL,
+    max_seen_event_id BIGINT NOT NULL,
+    open_gap_ids TEXT NULL,
+    checkpointed_at DATETIME NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- 실시간 집계기 판매자별 당일 누적값 체크포인트
+CREATE TABLE live_seller_totals (
+    consumer_id VARCHAR(100) NOT NULL,
+    sales_date DATE NOT NULL,
+    seller_id BIGINT NOT NULL,
+    total_sales DECIMAL(15, 2) NOT NULL,
+    order_count INT NOT NULL,
+    item_count INT NOT NULL,
+    PRIMARY KEY (consumer_id, sales_date, seller_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,14 @@
+-- 판매자별 매출일 범위 조회용 주문 시각 복사본
+-- 증분 정산 / 사라진 판매자 확인은 (판매자, 매출일) 단위로 order_items 를 읽는데, 주문 시각이 orders 에만 있으면
+-- idx_seller_id 로 판매자의 전체 기간 주문상품을 읽은 뒤 orders 와 조인해야 날짜를 거를 수 있다.
+-- 주문 시각은 주문 생성 후 바뀌지 않으므로 order_items 에 복사해 두고,
+-- (seller_id, ordered_at) 으로 시작하는 커버링 인덱스로 그 날 주문상품만 읽는다 (orders 는 상태 확인용 PK 조회만).
+--
+-- 대용량 order_items 의 쓰기를 막지 않도록 NULL 허용 컬럼과 인덱스를 온라인 DDL 로 추가만 한다.
+-- 기존 행은 Flyway 밖에서 orderItemsOrderedAtBackfillJob(--job=backfill-ordered-at)이 id 범위 배치로 채우며,
+-- 그 전까지 조회는 settlement.reader.ordered-at-backfilled=false 로 orders.ordered_at 을 사용한다.
+-- NOT NULL 제약은 백필이 끝난 뒤 이후 마이그레이션에서 추가한다.
+ALTER TABLE order_items
+    ADD COLUMN ordered_at DATETIME NULL AFTER total_price,
+    ADD INDEX idx_seller_ordered (seller_id, ordered_at, order_id, total_price),
+    ALGORITHM=INPLACE, LOCK=NONE;
@@ -0,0 +1,72 @@
+package com.settlement.batch.job;
+
+import com.settlement.batch.service.SettlementJobService;
+import com.settlement.support.MySqlIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IncrementalSettlementIntegrationTest extends MySqlIntegrationTest {
+
+    @Autowired
+    private SettlementJobService settlementJobService;
+
+    @Test
+    void 주문이_모두_빠진_판매자를_증분_정산한_뒤_전체_정산도_통과한다() {
+        // 증분 정산은 오늘 이전 매출일만 처리한다
+        LocalDate salesDate = LocalDate.now().minusDays(2);
+        long pendingSellerId = insertSeller("incremental-pending@test.com");
+        long confirmedSellerId = insertSeller("incremental-confirmed@test.com");
+        long neverSettledSellerId = insertSeller("incremental-never-settled@test.com");
+        long pendingOrderId = insertOrder(pendingSellerId, "DELIVERED", salesDate.atTime(9, 0), 3_000);
+        long confirmedOrderId = insertOrder(confirmedSellerId, "SHIPPED", salesDate.atTime(11, 0), 7_000);
+
+        assertThat(settlementJobService.runSettlementJob(salesDate).getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        jdbcTemplate.update("UPDATE settlements SET status = 'CONFIRMED' WHERE seller_id = ?", confirmedSellerId);
+        jdbcTemplate.update("UPDATE orders SET status = 'CANCELLED' WHERE id IN (?, ?)",
+                pendingOrderId, confirmedOrderId);
+        for (long sellerId : new long[]{pendingSellerId, confirmedSellerId, neverSettledSellerId}) {
+            jdbcTemplate.update("INSERT INTO settlement_dirty_sellers (sales_date, seller_id) VALUES (?, ?)",
+                    salesDate, sellerId);
+        }
+
+        assertThat(settlementJobService.runIncrementalSettlementJob().getStatus()).isEqualTo(BatchStatus.COMPLETED);
+
+        // PENDING 정산은 삭제하고 0 정산을 새로 만들지 않는다
+        assertThat(settlementCount(pendingSellerId, salesDate)).isZero();
+        assertThat(settlementCount(neverSettledSellerId, salesDate)).isZero();
+        // 확정 정산은 원장으로 0 으로 맞춘다
+        assertThat(effectiveTotalSales(confirmedSellerId, salesDate)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM settlement_dirty_sellers WHERE sales_date = ?",
+                Integer.class, salesDate)).isZero();
+
+        // 같은 날짜 전체 정산의 검증이 남은 0 정산 때문에 실패하지 않고, 조정을 다시 기록하지 않는다
+        assertThat(settlementJobService.runSettlementJob(salesDate).getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(settlementCount(pendingSellerId, salesDate)).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM settlement_adjustments WHERE seller_id = ?", Integer.class, confirmedSellerId))
+                .isEqualTo(1);
+    }
+
+    private int settlementCount(long sellerId, LocalDate settlementDate) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM settlements WHERE seller_id = ? AND settlement_date = ?",
+                Integer.class, sellerId, settlementDate);
+    }
+
+    private BigDecimal effectiveTotalSales(long sellerId, LocalDate settlementDate) {
+        return jdbcTemplate.queryForObject("""
+                SELECT s.total_sales + COALESCE(SUM(a.total_sales), 0)
+                FROM settlements s
+                LEFT JOIN settlement_adjustments a
+                       ON a.settlement_date = s.settlement_date AND a.seller_id = s.seller_id
+                WHERE s.seller_id = ? AND s.settlement_date = ?
+                GROUP BY s.id
+                """, BigDecimal.class, sellerId, settlementDate);
+    }
+}
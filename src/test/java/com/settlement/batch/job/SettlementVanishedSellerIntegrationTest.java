@@ -0,0 +1,63 @@
+package com.settlement.batch.job;
+
+import com.settlement.batch.service.SettlementJobService;
+import com.settlement.support.MySqlIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SettlementVanishedSellerIntegrationTest extends MySqlIntegrationTest {
+
+    @Autowired
+    private SettlementJobService settlementJobService;
+
+    @Test
+    void 주문이_모두_취소된_확정_판매자는_0_으로_조정하고_검증을_통과한다() {
+        LocalDate targetDate = LocalDate.of(2024, 3, 1);
+        long sellerId = insertSeller("vanished-confirmed@test.com");
+        long orderId = insertOrder(sellerId, "DELIVERED", targetDate.atTime(10, 0), 10_000);
+
+        assertThat(settlementJobService.runSettlementJob(targetDate).getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        jdbcTemplate.update("UPDATE settlements SET status = 'CONFIRMED' WHERE seller_id = ?", sellerId);
+        jdbcTemplate.update("UPDATE orders SET status = 'CANCELLED' WHERE id = ?", orderId);
+
+        JobExecution rerun = settlementJobService.runSettlementJob(targetDate);
+
+        assertThat(rerun.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT s.total_sales + COALESCE(SUM(a.total_sales), 0)
+                FROM settlements s
+                LEFT JOIN settlement_adjustments a
+                       ON a.settlement_date = s.settlement_date AND a.seller_id = s.seller_id
+                WHERE s.seller_id = ? AND s.settlement_date = ?
+                GROUP BY s.id
+                """, BigDecimal.class, sellerId, targetDate)).isZero();
+
+        // 이미 0 이 된 정산은 다시 조정하지 않는다
+        assertThat(settlementJobService.runSettlementJob(targetDate).getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM settlement_adjustments WHERE seller_id = ?", Integer.class, sellerId))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void 주문이_모두_취소된_PENDING_판매자의_정산은_삭제한다() {
+        LocalDate targetDate = LocalDate.of(2024, 3, 2);
+        long sellerId = insertSeller("vanished-pending@test.com");
+        long orderId = insertOrder(sellerId, "PAID", targetDate.atTime(10, 0), 5_000);
+
+        assertThat(settlementJobService.runSettlementJob(targetDate).getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        jdbcTemplate.update("UPDATE orders SET status = 'REFUNDED' WHERE id = ?", orderId);
+
+        assertThat(settlementJobService.runSettlementJob(targetDate).getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM settlements WHERE seller_id = ? AND settlement_date = ?",
+                Integer.class, sellerId, targetDate)).isZero();
+    }
+}
@@ -0,0 +1,149 @@
+package com.settlement.batch.reader;
+
+import com.settlement.batch.dto.SellerAggregation;
+import com.settlement.domain.Settlement.Settlement;
+import com.settlement.enums.SellerGrade;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.database.support.AbstractSqlPagingQueryProvider;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class KeysetSellerAggregationReaderTest {
+
+    private static final String COMPLETED_RANGES_KEY = "keysetSellerAggregationReader.completedRanges";
+    private static final long MIN = Long.MIN_VALUE;
+
+    @Test
+    void 페이지의_모든_항목이_저장되면_같은_chunk_에서_완료_범위로_기록한다() {
+        KeysetSellerAggregationReader reader = open(2, new ExecutionContext(), 1, 2, 3, 4);
+        read(reader, 2);
+
+        assertThat(commit(reader, 1, 2)).isEqualTo(MIN + ":2");
+    }
+
+    @Test
+    void 일부만_저장된_페이지는_기록하지_않는다() {
+        KeysetSellerAggregationReader reader = open(2, new ExecutionContext(), 1, 2, 3, 4);
+        read(reader, 2);
+
+        assertThat(commit(reader, 1)).isEmpty();
+        assertThat(commit(reader, 2)).isEqualTo(MIN + ":2");
+    }
+
+    @Test
+    void 순서와_관계없이_인접한_완료_페이지를_하나의_범위로_병합한다() {
+        KeysetSellerAggregationReader reader = open(2, new ExecutionContext(), 1, 2, 3, 4, 5, 6);
+        read(reader, 6);
+
+        assertThat(commit(reader, 3, 4)).isEqualTo("2:4");
+        assertThat(commit(reader, 5, 6)).isEqualTo("2:6");
+        assertThat(commit(reader, 1, 2)).isEqualTo(MIN + ":6");
+    }
+
+    @Test
+    void 롤백된_chunk_는_완료_범위에_반영하지_않는다() {
+        KeysetSellerAggregationReader reader = open(2, new ExecutionContext(), 1, 2, 3, 4);
+        read(reader, 2);
+
+        reader.afterWrite(settlements(1, 2));
+        reader.update(new ExecutionContext());
+        reader.afterChunkError(null);
+
+        assertThat(update(reader)).isEmpty();
+    }
+
+    @Test
+    void 재시작하면_완료_범위는_건너뛰고_나머지만_읽는다() {
+        ExecutionContext context = new ExecutionContext();
+        context.putString(COMPLETED_RANGES_KEY, MIN + ":2,4:6");
+        KeysetSellerAggregationReader reader = open(2, context, 1, 2, 3, 4, 5, 6, 7, 8);
+
+        assertThat(read(reader, 5)).containsExactly(3L, 4L, 7L, 8L);
+        assertThat(update(reader)).isEqualTo(MIN + ":2,4:6");
+    }
+
+    @Test
+    void 재시작_시_겹치거나_인접한_범위는_병합한다() {
+        ExecutionContext context = new ExecutionContext();
+        context.putString(COMPLETED_RANGES_KEY, "20:30,1:3,3:5,4:9");
+        KeysetSellerAggregationReader reader = open(2, context);
+
+        assertThat(update(reader)).isEqualTo("1:9,20:30");
+    }
+
+    @Test
+    void 재시작_후_완료된_페이지는_기존_범위와_병합한다() {
+        ExecutionContext context = new ExecutionContext();
+        context.putString(COMPLETED_RANGES_KEY, MIN + ":2");
+        KeysetSellerAggregationReader reader = open(2, context, 1, 2, 3, 4, 5, 6);
+        read(reader, 2);
+
+        assertThat(commit(reader, 3, 4)).isEqualTo(MIN + ":4");
+    }
+
+    private static KeysetSellerAggregationReader open(int pageSize, ExecutionContext context, long... sellerIds) {
+        KeysetSellerAggregationReader reader = new KeysetSellerAggregationReader(mock(DataSource.class),
+                mock(AbstractSqlPagingQueryProvider.class), Map.of(), (rs, rowNum) -> null, () -> pageSize) {
+            @Override
+            List<SellerAggregation> queryPage(Long afterKey, int size) {
+                return LongStream.of(sellerIds)
+                        .filter(sellerId -> afterKey == null || sellerId > afterKey)
+                        .limit(size)
+                        .mapToObj(sellerId -> new SellerAggregation(sellerId, SellerGrade.BRONZE, 0, 0, 0))
+                        .toList();
+            }
+        };
+        reader.open(context);
+        return reader;
+    }
+
+    private static List<Long> read(KeysetSellerAggregationReader reader, int count) {
+        List<Long> sellerIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            SellerAggregation item = reader.read();
+            if (item == null) {
+                break;
+            }
+            sellerIds.add(item.getSellerId());
+        }
+        return sellerIds;
+    }
+
+    /**
+     * 한 chunk 저장 → 같은 트랜잭션의 update → 커밋 후 afterChunk
+     *
+     * @return update 가 기록한 완료 범위
+     */
+    private static String commit(KeysetSellerAggregationReader reader, long... sellerIds) {
+        reader.afterWrite(settlements(sellerIds));
+        String ranges = update(reader);
+        reader.afterChunk(null);
+        return ranges;
+    }
+
+    private static String update(KeysetSellerAggregationReader reader) {
+        ExecutionContext context = new ExecutionContext();
+        reader.update(context);
+        return context.getString(COMPLETED_RANGES_KEY);
+    }
+
+    private static Chunk<Settlement> settlements(long... sellerIds) {
+        return new Chunk<>(Arrays.stream(sellerIds)
+                .mapToObj(sellerId -> Settlement.builder()
+                        .sellerId(sellerId)
+                        .settlementDate(LocalDate.of(2024, 1, 1))
+                        .build())
+                .toList());
+    }
+}
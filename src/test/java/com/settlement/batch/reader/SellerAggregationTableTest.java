@@ -0,0 +1,60 @@
+package com.settlement.batch.reader;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SellerAggregationTableTest {
+
+    @Test
+    void 주문별로_이어서_들어온_주문상품은_판매자별_주문_수를_한_번씩_센다() {
+        SellerAggregationTable table = new SellerAggregationTable(4);
+        // 주문 10: 판매자 1, 2, 1 / 주문 11: 판매자 1 / 주문 12: 판매자 2, 2
+        table.add(1, 10, 100);
+        table.add(2, 10, 200);
+        table.add(1, 10, 300);
+        table.add(1, 11, 400);
+        table.add(2, 12, 500);
+        table.add(2, 12, 600);
+
+        int seller1 = table.slotOf(1);
+        assertThat(table.orderCount(seller1)).isEqualTo(2);
+        assertThat(table.itemCount(seller1)).isEqualTo(3);
+        assertThat(table.totalSales(seller1)).isEqualTo(800);
+
+        int seller2 = table.slotOf(2);
+        assertThat(table.orderCount(seller2)).isEqualTo(2);
+        assertThat(table.itemCount(seller2)).isEqualTo(3);
+        assertThat(table.totalSales(seller2)).isEqualTo(1_300);
+    }
+
+    @Test
+    void 테이블이_커져도_누적값과_마지막_주문을_유지한다() {
+        SellerAggregationTable table = new SellerAggregationTable(1);
+        for (long orderId = 1; orderId <= 3; orderId++) {
+            for (long sellerId = 1; sellerId <= 1_000; sellerId++) {
+                table.add(sellerId, orderId, sellerId);
+                table.add(sellerId, orderId, sellerId);
+            }
+        }
+
+        assertThat(table.size()).isEqualTo(1_000);
+        assertThat(table.sortedSellerIds()).startsWith(1L, 2L, 3L).endsWith(1_000L);
+        int slot = table.slotOf(777);
+        assertThat(table.orderCount(slot)).isEqualTo(3);
+        assertThat(table.itemCount(slot)).isEqualTo(6);
+        assertThat(table.totalSales(slot)).isEqualTo(777 * 6);
+        assertThat(table.slotOf(1_001)).isEqualTo(-1);
+    }
+
+    @Test
+    void 등급은_집계된_판매자에만_설정한다() {
+        SellerAggregationTable table = new SellerAggregationTable(4);
+        table.add(1, 10, 100);
+        table.setGrade(1, 2);
+        table.setGrade(99, 3);
+
+        assertThat(table.gradeOrdinal(table.slotOf(1))).isEqualTo(2);
+        assertThat(table.slotOf(99)).isEqualTo(-1);
+    }
+}
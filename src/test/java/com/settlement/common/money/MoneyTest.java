@@ -0,0 +1,81 @@
+package com.settlement.common.money;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    @Test
+    void 수수료_0_5_단위는_HALF_EVEN_이_아닌_HALF_UP_으로_올린다() {
+        // 0.5 / 2.5 / 3.5 : HALF_EVEN 이면 0 / 2 / 4
+        assertThat(Money.applyRate(1, 5_000)).isEqualTo(1);
+        assertThat(Money.applyRate(5, 5_000)).isEqualTo(3);
+        assertThat(Money.applyRate(7, 5_000)).isEqualTo(4);
+    }
+
+    @Test
+    void 수수료_0_5_직전과_직후() {
+        // 0.4999 → 0, 0.5001 → 1
+        assertThat(Money.applyRate(1, 4_999)).isZero();
+        assertThat(Money.applyRate(1, 5_001)).isEqualTo(1);
+        // 12345 * 15% = 1851.75 → 1852, 10001 * 12.5% = 1250.125 → 1250
+        assertThat(Money.applyRate(12_345, 1_500)).isEqualTo(1_852);
+        assertThat(Money.applyRate(10_001, 1_250)).isEqualTo(1_250);
+    }
+
+    @Test
+    void 음수_금액은_0_에서_먼_쪽으로_반올림한다() {
+        assertThat(Money.applyRate(-1, 5_000)).isEqualTo(-1);
+        assertThat(Money.applyRate(-5, 5_000)).isEqualTo(-3);
+        assertThat(Money.applyRate(-1, 4_999)).isZero();
+    }
+
+    @Test
+    void 수수료는_BigDecimal_HALF_UP_계산과_같다() {
+        int[] rates = {800, 1_000, 1_200, 1_500, 1, 9_999};
+        for (long minor = -20_000; minor <= 20_000; minor += 7) {
+            for (int rate : rates) {
+                long expected = BigDecimal.valueOf(minor)
+                        .multiply(BigDecimal.valueOf(rate, Money.RATE_SCALE))
+                        .setScale(0, RoundingMode.HALF_UP)
+                        .longValueExact();
+                assertThat(Money.applyRate(minor, rate)).as("minor=%d, rate=%d", minor, rate).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void 수수료_계산_중_overflow_는_예외() {
+        assertThatThrownBy(() -> Money.applyRate(Long.MAX_VALUE / 2, 1_500))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void DECIMAL_금액은_소수_둘째_자리에서_HALF_UP_으로_맞춘다() {
+        assertThat(Money.toMinor(new BigDecimal("0.005"))).isEqualTo(1);
+        assertThat(Money.toMinor(new BigDecimal("0.015"))).isEqualTo(2);
+        assertThat(Money.toMinor(new BigDecimal("0.025"))).isEqualTo(3);
+        assertThat(Money.toMinor(new BigDecimal("0.0049"))).isZero();
+        assertThat(Money.toMinor(new BigDecimal("-0.005"))).isEqualTo(-1);
+        assertThat(Money.toMinor(new BigDecimal("1234.56"))).isEqualTo(123_456);
+    }
+
+    @Test
+    void 최소_화폐_단위와_DECIMAL_은_서로_변환된다() {
+        assertThat(Money.toDecimal(123_456)).isEqualByComparingTo("1234.56");
+        assertThat(Money.toDecimal(-1)).isEqualByComparingTo("-0.01");
+        assertThat(Money.toBasisPoints(new BigDecimal("0.15"))).isEqualTo(1_500);
+        assertThat(Money.basisPointsToDecimal(1_500)).isEqualByComparingTo("0.1500");
+    }
+
+    @Test
+    void 소수_넷째_자리를_넘는_수수료율은_거부한다() {
+        assertThatThrownBy(() -> Money.toBasisPoints(new BigDecimal("0.15005")))
+                .isInstanceOf(ArithmeticException.class);
+    }
+}
@@ -0,0 +1,82 @@
+package com.settlement.support;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * MySQL 컨테이너에 Flyway 스키마를 올려 배치 Job 을 실제로 실행하는 통합 테스트 기반 클래스
+ * Docker 가 없으면 테스트를 건너뛴다
+ */
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.show-sql=false",
+        "spring.batch.job.enabled=false"
+})
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class MySqlIntegrationTest {
+
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0.36")
+            .withDatabaseName("settlement_test");
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void mysqlProperties(DynamicPropertyRegistry registry) {
+        MYSQL.start();
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+    }
+
+    protected long insertSeller(String email) {
+        return insert("""
+                INSERT INTO sellers (name, email, grade, business_number)
+                VALUES (?, ?, 'BRONZE', '000-00-00000')
+                """, email, email);
+    }
+
+    /**
+     * 판매자 상품 하나로 주문 한 건 (수량 1) 을 만든다
+     *
+     * @return 주문 id
+     */
+    protected long insertOrder(long sellerId, String status, LocalDateTime orderedAt, long price) {
+        long productId = insert("INSERT INTO products (seller_id, name, price) VALUES (?, 'test', ?)",
+                sellerId, price);
+        long orderId = insert("""
+                INSERT INTO orders (buyer_id, status, total_amount, ordered_at)
+                VALUES (1, ?, ?, ?)
+                """, status, price, Timestamp.valueOf(orderedAt));
+        jdbcTemplate.update("""
+                INSERT INTO order_items (order_id, product_id, seller_id, quantity, unit_price, total_price, ordered_at)
+                VALUES (?, ?, ?, 1, ?, ?, ?)
+                """, orderId, productId, sellerId, price, price, Timestamp.valueOf(orderedAt));
+        return orderId;
+    }
+
+    private long insert(String sql, Object... args) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            for (int i = 0; i < args.length; i++) {
+                ps.setObject(i + 1, args[i]);
+            }
+            return ps;
+        }, keyHolder);
+        return keyHolder.getKey().longValue();
+    }
+}